@@ -0,0 +1,30 @@
+package com.devricks.civilwargeneral.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line, but writes results as
+ * JSON (to {@code jmh-result.json} unless {@code -rff} is given) when no {@code -rf} format is chosen.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the selected benchmarks through JMH's own command-line entry point.
+     *
+     * @param args JMH command-line options
+     * @throws Exception if JMH fails
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(List.of(args));
+        if (!jmhArgs.contains("-rf")) {
+            jmhArgs.addAll(0, List.of("-rf", "json"));
+        }
+        Main.main(jmhArgs.toArray(String[]::new));
+    }
+}
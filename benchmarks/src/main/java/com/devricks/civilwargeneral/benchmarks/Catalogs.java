@@ -0,0 +1,29 @@
+package com.devricks.civilwargeneral.benchmarks;
+
+import com.devricks.civilwargeneral.orders.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generated order catalogs shared by the benchmarks.
+ */
+final class Catalogs {
+
+    private Catalogs() {
+    }
+
+    /**
+     * Generates {@code size} valid orders with IDs 1 to {@code size}.
+     *
+     * @param size the number of orders
+     * @return the generated orders
+     */
+    static List<Order> generate(int size) {
+        List<Order> orders = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            orders.add(new Order("Order " + id, "Generated benchmark order number " + id, id));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,45 @@
+package com.devricks.civilwargeneral.benchmarks;
+
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersLoadException;
+import com.devricks.civilwargeneral.orders.OrdersLoaderImplementation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading the bundled default catalog from the classpath, as the application does at startup:
+ * parsed every time, and through the shared catalog cache as every window after the first does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DefaultCatalogBenchmark {
+
+    private static final String DEFAULTS_PATH = "/com/devricks/civilwargeneral/default-orders.json";
+
+    @Benchmark
+    public Orders loadFromFile() {
+        Orders orders = new Orders();
+        orders.loadFromFile(DEFAULTS_PATH);
+        return orders;
+    }
+
+    @Benchmark
+    public Orders loaderLoadDefaults() throws OrdersLoadException {
+        return new OrdersLoaderImplementation(DEFAULTS_PATH, Orders::new).loadDefaults();
+    }
+
+    @Benchmark
+    public Orders loaderLoadDefaultsCached() throws OrdersLoadException {
+        return new OrdersLoaderImplementation().loadDefaults();
+    }
+}
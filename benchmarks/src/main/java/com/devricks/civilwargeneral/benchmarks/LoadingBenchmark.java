@@ -0,0 +1,77 @@
+package com.devricks.civilwargeneral.benchmarks;
+
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersLoadException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loading and saving catalogs.
+ * <p>
+ * {@link Orders#loadFromFile(String)} only reads classpath resources, so generated catalogs are
+ * read from disk with {@link Orders#loadFromPath(Path)}, which shares the same streaming reader;
+ * see {@link DefaultCatalogBenchmark} for the bundled defaults.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadingBenchmark {
+
+    @Param({"4", "1000", "100000"})
+    int size;
+
+    Path dir;
+    Path catalog;
+    Path saveTarget;
+    Orders generated;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("cwg-bench");
+        catalog = dir.resolve("catalog.json");
+        saveTarget = dir.resolve("saved.json");
+        generated = new Orders(Catalogs.generate(size));
+        generated.saveToFile(catalog.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Orders loadFromPath() throws OrdersLoadException {
+        Orders orders = new Orders();
+        orders.loadFromPath(catalog);
+        return orders;
+    }
+
+    @Benchmark
+    public Path saveToFile() {
+        generated.saveToFile(saveTarget.toString());
+        return saveTarget;
+    }
+}
@@ -0,0 +1,67 @@
+package com.devricks.civilwargeneral.benchmarks;
+
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup, removal and copy operations on {@link Orders}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrdersBenchmark {
+
+    @Param({"4", "1000", "100000", "1000000"})
+    int size;
+
+    Orders orders;
+    List<Order> generated;
+    SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        generated = Catalogs.generate(size);
+        orders = new Orders(generated);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public Optional<Order> getOrderById() {
+        return orders.getOrderById(1 + random.nextInt(size));
+    }
+
+    /**
+     * Removes a random order and adds it back, so the catalog keeps its size across invocations.
+     * The result is the cost of one removal plus one append.
+     */
+    @Benchmark
+    public boolean removeOrderById() {
+        Order order = generated.get(random.nextInt(size));
+        orders.removeOrderById(order.getId());
+        return orders.addOrder(order);
+    }
+
+    @Benchmark
+    public List<Order> getAllOrders() {
+        return orders.getAllOrders();
+    }
+}
@@ -0,0 +1,81 @@
+package com.devricks.civilwargeneral.benchmarks;
+
+import com.devricks.civilwargeneral.ai.SuitabilityScorer;
+import com.devricks.civilwargeneral.ai.SuitabilityWeights;
+import com.devricks.civilwargeneral.ai.TacticalContext;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring every order of a catalog for one {@link TacticalContext}: the compiled
+ * {@link SuitabilityScorer} with the Vector API and scalar kernels, against per-order
+ * {@link SuitabilityWeights#score(int, TacticalContext)} lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ScoringBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"vector", "scalar"})
+    String kernel;
+
+    SuitabilityWeights weights;
+    List<Order> orders;
+    SuitabilityScorer scorer;
+    TacticalContext context;
+    int[] scores;
+
+    @Setup
+    public void setUp() {
+        // Read once when the scorer class initializes, which is first done below; each parameter set forks.
+        System.setProperty("civilwargeneral.scoring.scalar", String.valueOf(kernel.equals("scalar")));
+        orders = Catalogs.generate(size);
+        weights = new SuitabilityWeights();
+        SplittableRandom random = new SplittableRandom(1);
+        for (Order order : orders) {
+            for (int i = 0; i < 6; i++) {
+                TacticalContext sample = TacticalContext.fromOrdinal(random.nextInt(TacticalContext.CONTEXT_COUNT));
+                weights.setWeight(order.getId(), sample.getWeather(), random.nextInt(-10, 11));
+                weights.setWeight(order.getId(), sample.getSupply(), random.nextInt(-10, 11));
+            }
+        }
+        scorer = SuitabilityScorer.compile(new OrdersSnapshot(orders, 0), weights);
+        context = TacticalContext.fromOrdinal(TacticalContext.CONTEXT_COUNT / 3);
+        scores = new int[size];
+    }
+
+    @Benchmark
+    public int[] compiledScorer() {
+        scorer.score(context, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public int[] perOrderLookup() {
+        for (int i = 0; i < orders.size(); i++) {
+            scores[i] = weights.score(orders.get(i).getId(), context);
+        }
+        return scores;
+    }
+}
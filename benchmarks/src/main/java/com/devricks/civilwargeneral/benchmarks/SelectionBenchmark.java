@@ -0,0 +1,47 @@
+package com.devricks.civilwargeneral.benchmarks;
+
+import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CommandSelector#randomOrderSelector(Orders)} across catalog sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SelectionBenchmark {
+
+    @Param({"4", "1000", "100000", "1000000"})
+    int size;
+
+    Orders orders;
+    CommandSelector selector;
+
+    @Setup
+    public void setUp() {
+        orders = new Orders(Catalogs.generate(size));
+        selector = new CommandSelector();
+    }
+
+    @Benchmark
+    public Order randomOrderSelector() {
+        return selector.randomOrderSelector(orders);
+    }
+}
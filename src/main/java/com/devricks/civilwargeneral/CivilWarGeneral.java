@@ -1,16 +1,33 @@
 package com.devricks.civilwargeneral;
 
 import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.ai.ShuffledDeckSelector;
 import com.devricks.civilwargeneral.controllers.MainView;
 import com.devricks.civilwargeneral.controllers.MainViewPresenter;
+import com.devricks.civilwargeneral.history.CommandHistory;
+import com.devricks.civilwargeneral.history.CommandJournal;
+import com.devricks.civilwargeneral.history.CommandRecorder;
+import com.devricks.civilwargeneral.history.HistoryIndex;
+import com.devricks.civilwargeneral.metrics.Metrics;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersDiff;
+import com.devricks.civilwargeneral.orders.OrdersLoadException;
+import com.devricks.civilwargeneral.orders.OrdersLoader;
 import com.devricks.civilwargeneral.orders.OrdersLoaderImplementation;
+import com.devricks.civilwargeneral.orders.WatchingOrdersLoader;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * The main entry point for the Civil War General application.
@@ -19,6 +36,56 @@ import java.io.IOException;
  */
 public class CivilWarGeneral extends Application {
 
+    /**
+     * Runs each load on its own daemon thread so a slow catalog never holds up the first frame
+     * or application exit.
+     */
+    private static final Executor ORDERS_LOADING =
+            task -> Thread.ofPlatform().daemon().name("orders-loader").start(task);
+
+    /**
+     * When {@code true}, the startup report is printed to standard error once startup completes.
+     */
+    public static final String PRINT_STARTUP_REPORT_PROPERTY = "civilwargeneral.startup.report";
+
+    /**
+     * When {@code true}, the application exits as soon as startup completes; used for the AppCDS training run.
+     */
+    public static final String EXIT_AFTER_STARTUP_PROPERTY = "civilwargeneral.startup.exitAfterFirstFrame";
+
+    /**
+     * Number of generated commands kept in memory; defaults to {@link MainView#DEFAULT_HISTORY_CAPACITY}.
+     */
+    public static final String HISTORY_CAPACITY_PROPERTY = "civilwargeneral.history.capacity";
+
+    /**
+     * Optional file that commands evicted from the in-memory history are appended to.
+     */
+    public static final String HISTORY_SPILL_PROPERTY = "civilwargeneral.history.spill";
+
+    /**
+     * Optional JSON catalog on the filesystem that is loaded instead of the bundled defaults and
+     * reloaded whenever it changes.
+     */
+    public static final String WATCHED_CATALOG_PROPERTY = "civilwargeneral.catalog.watch";
+
+    /**
+     * Optional directory of the journal every generated command is recorded in; the end of the
+     * journal is restored into the command list on startup.
+     */
+    public static final String JOURNAL_PROPERTY = "civilwargeneral.journal";
+
+    /**
+     * When {@code true}, commands are dealt like a shuffled deck with no repeats until every
+     * order has been dealt, instead of drawn independently.
+     */
+    public static final String DECK_SELECTION_PROPERTY = "civilwargeneral.selection.deck";
+
+    private final StartupReport startupReport = StartupReport.begin();
+    private CommandHistory history;
+    private CommandRecorder recorder;
+    private WatchingOrdersLoader watchingLoader;
+
     /**
      * Default constructor for CivilWarGeneral.
      */
@@ -33,14 +100,31 @@ public class CivilWarGeneral extends Application {
      */
     @Override
     public void start(Stage primaryWindow) throws IOException {
+        Metrics.global().publish();
+        history = createHistory();
+        String journal = System.getProperty(JOURNAL_PROPERTY);
+        if (journal != null) {
+            recorder = new CommandRecorder(CommandJournal.open(Path.of(journal)), CommandSelector.VERSION);
+        }
+        if (Boolean.getBoolean(PRINT_STARTUP_REPORT_PROPERTY)) {
+            startupReport.onComplete(report -> System.err.println(report));
+        }
+        if (Boolean.getBoolean(EXIT_AFTER_STARTUP_PROPERTY)) {
+            startupReport.onComplete(report -> Platform.exit());
+        }
         FXMLLoader fxmlLoader = new FXMLLoader(CivilWarGeneral.class.getResource(
                 "main-view.fxml"));
+        long[] controllerStart = new long[1];
         fxmlLoader.setControllerFactory(type -> {
             if (type == MainView.class) {
+                controllerStart[0] = System.nanoTime();
                 MainView view = new MainView();
-                var ordersLoader = new OrdersLoaderImplementation();
-                var selector = new CommandSelector();
-                var presenter = new MainViewPresenter(view, ordersLoader, selector);
+                view.setHistory(history);
+                view.setRecorder(recorder);
+                var ordersLoader = restoring(timed(createOrdersLoader(view)), view);
+                var selector = Boolean.getBoolean(DECK_SELECTION_PROPERTY)
+                        ? new ShuffledDeckSelector() : new CommandSelector();
+                var presenter = new MainViewPresenter(view, ordersLoader, selector, ORDERS_LOADING, Platform::runLater);
                 view.setPresenter(presenter);
                 return view;
             }
@@ -50,9 +134,29 @@ public class CivilWarGeneral extends Application {
                 throw new RuntimeException("Failed to construct controller: " + type, e);
             }
         });
-        Parent root = fxmlLoader.load();
-        primaryWindow.setScene(new Scene(root));
+        Parent root;
+        long loadStart = System.nanoTime();
+        try {
+            root = fxmlLoader.load();
+        } finally {
+            // The controller is initialized last, so both phases end when the load returns.
+            long loaded = System.nanoTime();
+            startupReport.record(StartupReport.Phase.FXML_LOAD, loadStart, loaded);
+            if (controllerStart[0] != 0) {
+                startupReport.record(StartupReport.Phase.PRESENTER_INIT, controllerStart[0], loaded);
+            }
+        }
+        Scene scene = new Scene(root);
+        primaryWindow.setScene(scene);
         primaryWindow.setTitle("Civil War General");
+        StartupReport.Timer firstFrame = startupReport.time(StartupReport.Phase.FIRST_FRAME);
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                firstFrame.close();
+            }
+        });
         primaryWindow.show();
         /* keeping temp to compare with new approach
         Scene sceneContainer = new Scene(fxmlLoader.load(), 800, 600);
@@ -62,6 +166,102 @@ public class CivilWarGeneral extends Application {
         */
     }
 
+    /**
+     * Returns the timings recorded while this application started.
+     *
+     * @return the startup report
+     */
+    public StartupReport getStartupReport() {
+        return startupReport;
+    }
+
+    /**
+     * Flushes and closes the command journal and the history's spill file, and stops watching the catalog.
+     *
+     * @throws IOException if the spill file cannot be written
+     */
+    @Override
+    public void stop() throws IOException {
+        if (watchingLoader != null) {
+            watchingLoader.close();
+        }
+        if (recorder != null) {
+            recorder.close();
+        }
+        if (history != null) {
+            history.close();
+        }
+    }
+
+    private OrdersLoader createOrdersLoader(MainView view) {
+        String watched = System.getProperty(WATCHED_CATALOG_PROPERTY);
+        if (watched == null) {
+            return new OrdersLoaderImplementation();
+        }
+        watchingLoader = new WatchingOrdersLoader(Path.of(watched));
+        watchingLoader.setListener(new WatchingOrdersLoader.ReloadListener() {
+            @Override
+            public void reloaded(OrdersDiff diff) {
+                Platform.runLater(() -> view.showStatus("Catalog reloaded (" + diff + ")"));
+            }
+
+            @Override
+            public void failed(OrdersLoadException failure) {
+                Platform.runLater(() -> view.showStatus("Catalog reload failed: " + failure.getMessage()));
+            }
+        });
+        return watchingLoader;
+    }
+
+    private static CommandHistory createHistory() throws IOException {
+        int capacity = Integer.getInteger(HISTORY_CAPACITY_PROPERTY, MainView.DEFAULT_HISTORY_CAPACITY);
+        String spill = System.getProperty(HISTORY_SPILL_PROPERTY);
+        return spill == null ? new CommandHistory(capacity) : new CommandHistory(capacity, Path.of(spill));
+    }
+
+    /**
+     * Indexes the journal and restores its end into the view once the catalog it refers to has
+     * loaded. The journal is read on the loading thread; only the index and the resolved orders
+     * are handed to the UI, ahead of the presenter applying the catalog. Without a journal no
+     * index is kept, so the session holds only the bounded history.
+     */
+    private OrdersLoader restoring(OrdersLoader loader, MainView view) {
+        String journal = System.getProperty(JOURNAL_PROPERTY);
+        if (journal == null) {
+            return loader;
+        }
+        return () -> {
+            Orders orders = loader.loadDefaults();
+            HistoryIndex index;
+            try {
+                index = HistoryIndex.fromJournal(Path.of(journal), orders);
+            } catch (IOException e) {
+                Platform.runLater(() -> view.showStatus("Failed to restore history: " + e.getMessage()));
+                return orders;
+            }
+            List<Order> restored = new ArrayList<>();
+            for (int i = Math.max(0, index.size() - history.capacity()); i < index.size(); i++) {
+                restored.add(index.get(i));
+            }
+            Platform.runLater(() -> {
+                view.setHistoryIndex(index);
+                view.restoreHistory(restored);
+            });
+            return orders;
+        };
+    }
+
+    private OrdersLoader timed(OrdersLoader loader) {
+        return () -> {
+            StartupReport.Timer phase = startupReport.time(StartupReport.Phase.CATALOG_LOAD);
+            try {
+                return loader.loadDefaults();
+            } finally {
+                phase.close();
+            }
+        };
+    }
+
     /**
      * The main method that serves as the entry point for the application.
      *
@@ -0,0 +1,253 @@
+package com.devricks.civilwargeneral;
+
+import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.orders.BinaryOrdersLoader;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersLoadException;
+import com.devricks.civilwargeneral.orders.OrdersLoader;
+import com.devricks.civilwargeneral.orders.OrdersLoaderImplementation;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless entry point that generates a deck of commands straight to a file.
+ * <p>
+ * Orders are loaded with an {@link OrdersLoader} and drawn with one {@link CommandSelector} per
+ * worker thread, each with its own split of a {@link SplittableRandom}. Every valid catalog entry
+ * is encoded once up front into a table indexed by snapshot position; workers draw positions and
+ * copy the encoded bytes into their own buffer and, whenever it
+ * fills, reserve a region of the output file and write the buffer there with a positional
+ * write. Nothing but the per-worker buffers is held in memory, however many orders are
+ * generated. Lines from different workers are interleaved in chunks, so the file order is not
+ * the draw order.
+ * <pre>
+ * java -m com.devricks.civilwargeneral/com.devricks.civilwargeneral.CommandDeckCli \
+ *      --count 1000000 --format csv --output deck.csv [--catalog orders.json|orders.cwgc] [--threads 8]
+ * </pre>
+ */
+public final class CommandDeckCli {
+
+    /**
+     * Output formats for generated decks.
+     */
+    public enum Format {
+        /** One JSON object per line. */
+        JSONL,
+        /** Comma-separated {@code id,name,description} with a header row. */
+        CSV
+    }
+
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final int DRAW_BATCH = 4096;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private CommandDeckCli() {
+    }
+
+    /**
+     * Runs the generator and exits with its status code.
+     *
+     * @param args the command-line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the generator.
+     *
+     * @param args the command-line arguments
+     * @param out where the throughput report is printed
+     * @param err where usage and errors are printed
+     * @return 0 on success, 1 if loading or writing failed, 2 for invalid arguments
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        long count = -1;
+        Format format = Format.JSONL;
+        Path output = null;
+        Path catalog = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--count" -> count = Long.parseLong(required(args[i], value));
+                    case "--format" -> format = Format.valueOf(required(args[i], value).toUpperCase(Locale.ROOT));
+                    case "--output" -> output = Path.of(required(args[i], value));
+                    case "--catalog" -> catalog = Path.of(required(args[i], value));
+                    case "--threads" -> threads = Integer.parseInt(required(args[i], value));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+                i++;
+            }
+            if (count < 0 || output == null || threads <= 0) {
+                throw new IllegalArgumentException("--count and --output are required; --threads must be positive");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("Usage: CommandDeckCli --count N --output FILE [--format jsonl|csv]"
+                    + " [--catalog FILE.json|FILE.cwgc] [--threads N]");
+            return 2;
+        }
+        try {
+            Orders orders = loaderFor(catalog).loadDefaults();
+            long start = System.nanoTime();
+            generate(orders, count, format, output, threads);
+            double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+            out.printf(Locale.ROOT, "Generated %d orders in %.3f s (%.0f orders/s) -> %s%n",
+                    count, seconds, count / seconds, output);
+            return 0;
+        } catch (OrdersLoadException | IOException e) {
+            err.println("Failed to generate commands: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Generates {@code count} random valid orders into a file, using all given threads.
+     *
+     * @param orders the catalog to draw from
+     * @param count the number of orders to write
+     * @param format the output format
+     * @param output the file to create or replace
+     * @param threads the number of worker threads
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the catalog has no valid orders and {@code count} is positive
+     */
+    public static void generate(Orders orders, long count, Format format, Path output, int threads)
+            throws IOException {
+        OrdersSnapshot snapshot = orders.snapshot();
+        byte[][] encoded = encode(snapshot, format);
+        if (snapshot.validCount() == 0 && count > 0) {
+            throw new IllegalArgumentException("The catalog has no valid orders to draw from");
+        }
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            AtomicLong nextPosition = new AtomicLong();
+            if (format == Format.CSV) {
+                writeAt(channel, nextPosition, ByteBuffer.wrap("id,name,description\n".getBytes(StandardCharsets.UTF_8)));
+            }
+            SplittableRandom root = new SplittableRandom(new SecureRandom().nextLong());
+            ExecutorService workers = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    long quota = count / threads + (t < count % threads ? 1 : 0);
+                    CommandSelector selector = new CommandSelector(root.split());
+                    results.add(workers.submit(() -> {
+                        writeDeck(snapshot, selector, encoded, quota, channel, nextPosition);
+                        return null;
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while generating commands", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) {
+                    throw io;
+                }
+                throw new IOException("Failed to generate commands", e.getCause());
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    private static void writeDeck(OrdersSnapshot snapshot, CommandSelector selector, byte[][] encoded,
+                                  long quota, FileChannel channel, AtomicLong nextPosition) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        long remaining = quota;
+        while (remaining > 0) {
+            for (int position : selector.selectPositions(snapshot, (int) Math.min(remaining, DRAW_BATCH))) {
+                byte[] bytes = encoded[position];
+                if (buffer.remaining() < bytes.length) {
+                    writeAt(channel, nextPosition, buffer.flip());
+                    buffer.clear();
+                    if (bytes.length > buffer.capacity()) {
+                        writeAt(channel, nextPosition, ByteBuffer.wrap(bytes));
+                        remaining--;
+                        continue;
+                    }
+                }
+                buffer.put(bytes);
+                remaining--;
+            }
+        }
+        writeAt(channel, nextPosition, buffer.flip());
+    }
+
+    private static void writeAt(FileChannel channel, AtomicLong nextPosition, ByteBuffer bytes) throws IOException {
+        long position = nextPosition.getAndAdd(bytes.remaining());
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+    }
+
+    /**
+     * Encodes every valid order once, indexed by its position in the snapshot.
+     */
+    private static byte[][] encode(OrdersSnapshot snapshot, Format format) throws JsonProcessingException {
+        byte[][] encoded = new byte[snapshot.size()][];
+        for (int i = 0; i < snapshot.validCount(); i++) {
+            int position = snapshot.validPosition(i);
+            Order order = snapshot.get(position);
+            String line = switch (format) {
+                case JSONL -> OBJECT_MAPPER.writeValueAsString(order);
+                case CSV -> order.getId() + "," + csv(order.getName()) + "," + csv(order.getDescription());
+            };
+            encoded[position] = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    static OrdersLoader loaderFor(Path catalog) {
+        if (catalog == null) {
+            return new OrdersLoaderImplementation();
+        }
+        if (catalog.getFileName().toString().endsWith(".cwgc")) {
+            return new BinaryOrdersLoader(catalog);
+        }
+        return () -> {
+            Orders orders = Orders.createDefault();
+            orders.loadFromPath(catalog);
+            return orders;
+        };
+    }
+
+    private static String required(String option, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return value;
+    }
+}
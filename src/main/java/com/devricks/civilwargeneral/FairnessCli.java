@@ -0,0 +1,115 @@
+package com.devricks.civilwargeneral;
+
+import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.ai.FairnessReport;
+import com.devricks.civilwargeneral.ai.FairnessVerifier;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersLoadException;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Locale;
+
+/**
+ * Headless entry point that certifies a selection strategy against the uniform distribution.
+ * <p>
+ * Runs a {@link FairnessVerifier} over the catalog and prints the per-order counts with the
+ * chi-square and Kolmogorov-Smirnov results. The seed is printed so a run can be repeated.
+ * <pre>
+ * java -m com.devricks.civilwargeneral/com.devricks.civilwargeneral.FairnessCli \
+ *      --draws 10000000000 [--strategy single|batch] [--catalog orders.json|orders.cwgc]
+ *      [--threads 8] [--seed 42] [--alpha 0.001]
+ * </pre>
+ */
+public final class FairnessCli {
+
+    private FairnessCli() {
+    }
+
+    /**
+     * Runs the verification and exits with its status code.
+     *
+     * @param args the command-line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the verification.
+     *
+     * @param args the command-line arguments
+     * @param out where the report is printed
+     * @param err where usage and errors are printed
+     * @return 0 if the draws pass both tests, 1 if loading failed, 2 for invalid arguments,
+     *         3 if either test rejects the uniform distribution
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        long draws = -1;
+        String strategy = "batch";
+        Path catalog = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = new SecureRandom().nextLong();
+        double alpha = 0.001;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--draws" -> draws = Long.parseLong(required(args[i], value));
+                    case "--strategy" -> strategy = required(args[i], value).toLowerCase(Locale.ROOT);
+                    case "--catalog" -> catalog = Path.of(required(args[i], value));
+                    case "--threads" -> threads = Integer.parseInt(required(args[i], value));
+                    case "--seed" -> seed = Long.parseLong(required(args[i], value));
+                    case "--alpha" -> alpha = Double.parseDouble(required(args[i], value));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+                i++;
+            }
+            if (draws <= 0 || threads <= 0 || !(alpha > 0.0 && alpha < 1.0)) {
+                throw new IllegalArgumentException(
+                        "--draws is required and must be positive; --threads must be positive; --alpha must be in (0, 1)");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("Usage: FairnessCli --draws N [--strategy single|batch] [--catalog FILE.json|FILE.cwgc]"
+                    + " [--threads N] [--seed N] [--alpha P]");
+            return 2;
+        }
+        FairnessVerifier.Strategy drawing = switch (strategy) {
+            case "single" -> FairnessVerifier.Strategy.single();
+            case "batch" -> FairnessVerifier.Strategy.batch();
+            default -> null;
+        };
+        if (drawing == null) {
+            err.println("Unknown strategy: " + strategy);
+            return 2;
+        }
+        Orders orders;
+        try {
+            orders = CommandDeckCli.loaderFor(catalog).loadDefaults();
+        } catch (OrdersLoadException e) {
+            err.println("Failed to load orders: " + e.getMessage());
+            return 1;
+        }
+        if (orders.snapshot().isEmpty()) {
+            err.println("The catalog is empty");
+            return 1;
+        }
+        long start = System.nanoTime();
+        FairnessReport report = new FairnessVerifier(drawing, CommandSelector::new, threads).verify(orders, draws, seed);
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        out.println(report);
+        boolean passed = report.passes(alpha);
+        out.printf(Locale.ROOT, "%s at alpha=%s (strategy=%s, seed=%d, %.3f s, %.0f draws/s)%n",
+                passed ? "PASS" : "FAIL", alpha, strategy, seed, seconds, draws / seconds);
+        return passed ? 0 : 3;
+    }
+
+    private static String required(String option, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return value;
+    }
+}
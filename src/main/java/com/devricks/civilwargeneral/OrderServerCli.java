@@ -0,0 +1,117 @@
+package com.devricks.civilwargeneral;
+
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersLoadException;
+import com.devricks.civilwargeneral.server.OrderServer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
+/**
+ * Headless entry point that serves the catalog to networked clients with an {@link OrderServer}.
+ * <p>
+ * The catalog is loaded once and shared by every request. The server runs until the process is
+ * stopped; a shutdown hook lets the requests in progress finish. {@link #main} turns off Nagle's
+ * algorithm for the process's HTTP servers, as described in {@link OrderServer}, unless
+ * {@code sun.net.httpserver.nodelay} is set on the command line.
+ * <pre>
+ * java -m com.devricks.civilwargeneral/com.devricks.civilwargeneral.OrderServerCli \
+ *      [--port 8080] [--bind 0.0.0.0] [--catalog orders.json|orders.cwgc]
+ * </pre>
+ */
+public final class OrderServerCli {
+
+    /**
+     * Port the server listens on unless {@code --port} is given.
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private OrderServerCli() {
+    }
+
+    /**
+     * Runs the server and exits with its status code once it stops.
+     *
+     * @param args the command-line arguments
+     */
+    public static void main(String[] args) {
+        // Read when the first HttpServer starts; this process runs no other server.
+        System.getProperties().putIfAbsent(NO_DELAY_PROPERTY, "true");
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Loads the catalog and serves it until the server is closed or the thread is interrupted.
+     *
+     * @param args the command-line arguments
+     * @param out where the server address is printed
+     * @param err where usage and errors are printed
+     * @return 0 once the server has stopped, 1 if loading or binding failed, 2 for invalid arguments
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        int port = DEFAULT_PORT;
+        String bind = "0.0.0.0";
+        Path catalog = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(required(args[i], value));
+                    case "--bind" -> bind = required(args[i], value);
+                    case "--catalog" -> catalog = Path.of(required(args[i], value));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+                i++;
+            }
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("--port must be between 0 and 65535");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("Usage: OrderServerCli [--port N] [--bind ADDRESS] [--catalog FILE.json|FILE.cwgc]");
+            return 2;
+        }
+        Orders orders;
+        try {
+            orders = CommandDeckCli.loaderFor(catalog).loadDefaults();
+        } catch (OrdersLoadException e) {
+            err.println("Failed to load orders: " + e.getMessage());
+            return 1;
+        }
+        OrderServer server;
+        try {
+            server = OrderServer.start(orders, new InetSocketAddress(bind, port));
+        } catch (IOException e) {
+            err.println("Failed to start server on " + bind + ":" + port + ": " + e.getMessage());
+            return 1;
+        }
+        Thread hook = Thread.ofPlatform().unstarted(server::close);
+        Runtime.getRuntime().addShutdownHook(hook);
+        out.printf("Serving %d orders (%d valid) on %s%n", orders.snapshot().size(),
+                orders.snapshot().validCount(), server.getUri());
+        try {
+            server.awaitClose();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            server.close();
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // Already shutting down; the hook closes the server.
+            }
+        }
+        return 0;
+    }
+
+    private static String required(String option, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return value;
+    }
+}
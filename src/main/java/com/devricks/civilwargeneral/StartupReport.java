@@ -0,0 +1,211 @@
+package com.devricks.civilwargeneral;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Records how long each phase of application startup takes, from process launch to the first
+ * rendered frame.
+ * <p>
+ * Phases are timed independently as intervals on the {@link System#nanoTime()} clock, because
+ * some of them overlap: the catalog is loaded on a background thread while the window is being
+ * built. Offsets are measured from process start when the platform reports it, otherwise from
+ * the moment the report was created. Each phase is recorded at most once; the report is
+ * complete once both the first frame and the catalog load have been recorded, at which point
+ * the completion listeners run.
+ */
+public final class StartupReport {
+
+    /**
+     * The measured startup phases, in the order they normally begin.
+     */
+    public enum Phase {
+        /** Process launch until {@code Application.start}: JVM boot, module resolution, class loading, toolkit start. */
+        JVM_STARTUP,
+        /** Loading and parsing {@code main-view.fxml}, including {@link #PRESENTER_INIT}. */
+        FXML_LOAD,
+        /**
+         * From the controller factory creating the view and presenter until {@code presenter.initialize()} has run,
+         * which is the last step of {@link #FXML_LOAD}; both phases end together.
+         */
+        PRESENTER_INIT,
+        /** Loading the order catalog, which may run in the background. */
+        CATALOG_LOAD,
+        /** Showing the stage until the first layout pulse has run. */
+        FIRST_FRAME
+    }
+
+    private final long originNanos;
+    private final Map<Phase, long[]> intervals = new EnumMap<>(Phase.class);
+    private final List<Consumer<StartupReport>> listeners = new ArrayList<>();
+    private boolean complete;
+
+    private StartupReport(long originNanos) {
+        this.originNanos = originNanos;
+    }
+
+    /**
+     * Creates a report whose clock starts at process launch, and records
+     * {@link Phase#JVM_STARTUP} up to now if the launch time is known.
+     *
+     * @return a new report
+     */
+    public static StartupReport begin() {
+        long now = System.nanoTime();
+        Optional<Instant> launched = ProcessHandle.current().info().startInstant();
+        if (launched.isEmpty()) {
+            return new StartupReport(now);
+        }
+        long sinceLaunch = Math.max(0, Duration.between(launched.get(), Instant.now()).toNanos());
+        StartupReport report = new StartupReport(now - sinceLaunch);
+        report.record(Phase.JVM_STARTUP, now - sinceLaunch, now);
+        return report;
+    }
+
+    /**
+     * Creates a report whose clock starts at the given {@link System#nanoTime()} value.
+     *
+     * @param originNanos the origin of all offsets
+     * @return a new report
+     */
+    public static StartupReport startingAt(long originNanos) {
+        return new StartupReport(originNanos);
+    }
+
+    /**
+     * Starts timing a phase. Closing the returned timer records the phase.
+     *
+     * @param phase the phase to time
+     * @return a timer to close when the phase ends
+     */
+    public Timer time(Phase phase) {
+        return new Timer(phase, System.nanoTime());
+    }
+
+    /**
+     * Records a phase as an interval on the {@link System#nanoTime()} clock.
+     * Later recordings of an already recorded phase are ignored.
+     *
+     * @param phase the phase
+     * @param startNanos when the phase began
+     * @param endNanos when the phase ended
+     */
+    public void record(Phase phase, long startNanos, long endNanos) {
+        List<Consumer<StartupReport>> toNotify;
+        synchronized (this) {
+            if (intervals.containsKey(phase)) {
+                return;
+            }
+            intervals.put(phase, new long[] {startNanos - originNanos, endNanos - startNanos});
+            if (complete || !intervals.containsKey(Phase.FIRST_FRAME) || !intervals.containsKey(Phase.CATALOG_LOAD)) {
+                return;
+            }
+            complete = true;
+            toNotify = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        toNotify.forEach(listener -> listener.accept(this));
+    }
+
+    /**
+     * Registers a listener run once the report is complete. If it already is, the listener runs immediately.
+     *
+     * @param listener the listener, called on the thread that completes the report
+     */
+    public void onComplete(Consumer<StartupReport> listener) {
+        synchronized (this) {
+            if (!complete) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.accept(this);
+    }
+
+    /**
+     * Returns whether both the first frame and the catalog load have been recorded.
+     *
+     * @return true if the report is complete
+     */
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns how long a phase took.
+     *
+     * @param phase the phase
+     * @return the duration, or empty if the phase has not been recorded
+     */
+    public synchronized Optional<Duration> getDuration(Phase phase) {
+        long[] interval = intervals.get(phase);
+        return interval == null ? Optional.empty() : Optional.of(Duration.ofNanos(interval[1]));
+    }
+
+    /**
+     * Returns when a phase ended, measured from the report's origin.
+     *
+     * @param phase the phase
+     * @return the offset of the end of the phase, or empty if the phase has not been recorded
+     */
+    public synchronized Optional<Duration> getEndOffset(Phase phase) {
+        long[] interval = intervals.get(phase);
+        return interval == null ? Optional.empty() : Optional.of(Duration.ofNanos(interval[0] + interval[1]));
+    }
+
+    /**
+     * Returns the time from the report's origin to the first frame.
+     *
+     * @return the time to first frame, or empty if no frame has been recorded yet
+     */
+    public Optional<Duration> getTimeToFirstFrame() {
+        return getEndOffset(Phase.FIRST_FRAME);
+    }
+
+    /**
+     * Formats the recorded phases as one line per phase with its start offset and duration in milliseconds.
+     *
+     * @return a human-readable report
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder out = new StringBuilder("Startup report");
+        for (Map.Entry<Phase, long[]> entry : intervals.entrySet()) {
+            long[] interval = entry.getValue();
+            out.append(String.format("%n  %-15s starts at %8.1f ms, took %8.1f ms",
+                    entry.getKey(), interval[0] / 1e6, interval[1] / 1e6));
+        }
+        long[] frame = intervals.get(Phase.FIRST_FRAME);
+        if (frame != null) {
+            out.append(String.format("%n  time to first frame: %.1f ms", (frame[0] + frame[1]) / 1e6));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Times a single phase; see {@link #time(Phase)}.
+     */
+    public final class Timer implements AutoCloseable {
+        private final Phase phase;
+        private final long startNanos;
+
+        private Timer(Phase phase, long startNanos) {
+            this.phase = phase;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Records the phase as ending now.
+         */
+        @Override
+        public void close() {
+            record(phase, startNanos, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.devricks.civilwargeneral.ai;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted sampler over the indices {@code 0..n-1} using Walker's alias method
+ * (Vose's numerically stable construction).
+ * <p>
+ * The alias tables are built once per weight set in O(n). Every draw afterwards costs O(1)
+ * regardless of the number of weights: one uniform column pick plus one biased coin flip,
+ * with no cumulative-sum scan. Instances are immutable and may be shared between threads;
+ * thread safety of a draw depends only on the {@link RandomGenerator} passed in.
+ */
+public final class AliasSampler {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Builds the alias tables for the given weights.
+     *
+     * @param weights the non-negative weight of each index; at least one must be positive
+     * @throws IllegalArgumentException if the weights are empty, negative, non-finite, or all zero
+     */
+    public AliasSampler(double[] weights) {
+        Objects.requireNonNull(weights, "weights");
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("weights must not be empty");
+        }
+        double total = 0.0;
+        for (double weight : weights) {
+            if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weights must be finite and non-negative: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0.0) {
+            throw new IllegalArgumentException("at least one weight must be positive");
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // Scaled weights average to 1.0; "small" columns are under-full and borrow from "large" ones.
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is full up to floating-point error.
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+    }
+
+    /**
+     * Returns the number of indices this sampler draws from.
+     *
+     * @return the number of weights the sampler was built with
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * Draws one index with probability proportional to its weight.
+     *
+     * @param random the generator supplying randomness for this draw
+     * @return an index in {@code [0, size())}
+     */
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
@@ -1,42 +1,300 @@
 package com.devricks.civilwargeneral.ai;
 
+import com.devricks.civilwargeneral.events.OrderSelectionEvent;
+import com.devricks.civilwargeneral.metrics.Counter;
+import com.devricks.civilwargeneral.metrics.LatencyHistogram;
+import com.devricks.civilwargeneral.metrics.Metrics;
 import com.devricks.civilwargeneral.orders.Order;
 import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
 
 /**
  * Engine for selecting tactical orders from a collection.
  * Uses cryptographically secure random number generation to ensure fair distribution.
+ * <p>
+ * The selector owns a single long-lived {@link RandomGenerator} that is created (and seeded)
+ * once, rather than per selection. The default generator is a {@link SecureRandom}, which is
+ * safe to share between threads; custom generators are only as thread-safe as their implementation.
+ * <p>
+ * Uniform selection draws from the snapshot's compiled index of valid orders (see
+ * {@link OrdersSnapshot#getValidationReport()}), so every pick is a single bounded random index
+ * that always yields a valid order and invalid entries are never validated again per draw.
+ * {@link #selectPosition(OrdersSnapshot)} and {@link #selectPositions(OrdersSnapshot, int)} draw
+ * the same way but return positions in the snapshot, for callers that count or encode draws by
+ * position. Subclasses change how positions are picked by overriding
+ * {@link #nextPosition(OrdersSnapshot)} and {@link #nextPositions(OrdersSnapshot, int[])}; every
+ * uniform selection method goes through them, and keeps its metrics and events.
+ * <p>
+ * Selection latency and the number of empty and invalid selections are recorded in
+ * {@link Metrics#global()}, and every call emits an {@link OrderSelectionEvent} when Flight
+ * Recorder has it enabled.
  */
 public class CommandSelector {
 
+    /**
+     * Version of the selection algorithm, stored with journaled commands so that a replayed
+     * history can tell which algorithm generated each command.
+     */
+    public static final int VERSION = 1;
+
+    private static final LatencyHistogram SELECTION_LATENCY = Metrics.global().histogram(Metrics.SELECTION_LATENCY);
+    private static final LatencyHistogram BATCH_LATENCY = Metrics.global().histogram(Metrics.SELECTION_BATCH_LATENCY);
+    private static final Counter EMPTY_SELECTIONS = Metrics.global().counter(Metrics.SELECTION_EMPTY);
+    private static final Counter INVALID_SELECTIONS = Metrics.global().counter(Metrics.SELECTION_INVALID);
+
+    private final RandomGenerator random;
+
     /**
      * Default constructor for CommandSelector.
+     * Uses a {@link SecureRandom} as the source of randomness.
      */
     public CommandSelector() {
+        this(new SecureRandom());
+    }
+
+    /**
+     * Constructs a CommandSelector that draws from the given generator.
+     *
+     * @param random the random number generator to use for every selection
+     */
+    public CommandSelector(RandomGenerator random) {
+        this.random = Objects.requireNonNull(random, "random");
     }
 
     /**
      * Randomly selects a valid order from the provided collection.
      *
      * @param orders the collection of orders to select from
-     * @return a randomly selected valid Order, or null if the collection is empty or invalid
+     * @return a randomly selected valid Order, or null if the collection is null or has no valid orders
      */
     // Maybe this should be static if state is not a property needed for commandselector, will evaluate later on
     public Order randomOrderSelector(Orders orders) {
-        if (orders == null || orders.getAllOrders().isEmpty()) {
-            return null;
+        OrderSelectionEvent event = new OrderSelectionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        if (orders == null) {
+            return empty(event, start, 0);
+        }
+        OrdersSnapshot snapshot = orders.snapshot();
+        int valid = snapshot.validCount();
+        if (valid == 0) {
+            return empty(event, start, snapshot.size());
+        }
+        Order order = snapshot.get(nextPosition(snapshot));
+        SELECTION_LATENCY.recordSince(start);
+        event.complete(snapshot.size(), order.getId(), 1);
+        return order;
+    }
+
+    /**
+     * Randomly selects a valid order from the snapshot, like {@link #randomOrderSelector(Orders)},
+     * and returns its position instead of the order.
+     *
+     * @param snapshot the snapshot to select from
+     * @return the position of the selected order in the snapshot, or -1 if it has no valid orders
+     */
+    public int selectPosition(OrdersSnapshot snapshot) {
+        OrderSelectionEvent event = new OrderSelectionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        if (snapshot.validCount() == 0) {
+            empty(event, start, snapshot.size());
+            return -1;
+        }
+        int position = nextPosition(snapshot);
+        SELECTION_LATENCY.recordSince(start);
+        event.complete(snapshot.size(), snapshot.getId(position), 1);
+        return position;
+    }
+
+    /**
+     * Randomly selects {@code count} orders from the provided collection in a single pass.
+     * The collection's snapshot is read once and each draw is a single bounded random pick from
+     * its valid orders, so no allocation or validation happens per draw.
+     *
+     * @param orders the collection of orders to select from
+     * @param count the number of orders to draw
+     * @return a fixed-size list of {@code count} valid orders, or an empty list if the collection
+     *         is null or has no valid orders
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public List<Order> selectMany(Orders orders, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if (orders == null || count == 0) {
+            return List.of();
+        }
+        OrderSelectionEvent event = new OrderSelectionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        OrdersSnapshot snapshot = orders.snapshot();
+        int[] positions = drawPositions(event, start, snapshot, count);
+        Order[] drawn = new Order[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            drawn[i] = snapshot.get(positions[i]);
+        }
+        return Arrays.asList(drawn);
+    }
+
+    /**
+     * Randomly selects {@code count} valid orders from the snapshot, like
+     * {@link #selectMany(Orders, int)}, and returns their positions instead of the orders.
+     *
+     * @param snapshot the snapshot to select from
+     * @param count the number of orders to draw
+     * @return the {@code count} positions in the snapshot, or an empty array if it has no valid orders
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public int[] selectPositions(OrdersSnapshot snapshot, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if (count == 0) {
+            return new int[0];
+        }
+        OrderSelectionEvent event = new OrderSelectionEvent();
+        event.begin();
+        return drawPositions(event, System.nanoTime(), snapshot, count);
+    }
+
+    /**
+     * Selects an order with probability proportional to its weight.
+     * The sampler's indices correspond to positions in {@link Orders#snapshot()}, so the
+     * sampler must be rebuilt whenever the collection changes.
+     *
+     * @param orders the collection of orders to select from
+     * @param sampler the alias sampler built from the per-order weights
+     * @return the selected valid Order, or null if the collection is empty, mismatched, or the pick is invalid
+     */
+    public Order weightedOrderSelector(Orders orders, AliasSampler sampler) {
+        OrderSelectionEvent event = new OrderSelectionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        if (orders == null || sampler == null) {
+            return empty(event, start, 0);
+        }
+        OrdersSnapshot snapshot = orders.snapshot();
+        if (snapshot.size() != sampler.size()) {
+            return empty(event, start, snapshot.size());
         }
-        int randomIndex = randomNumber(orders.getAllOrders().size() - 1);
-        Order selectedOrder = orders.getAllOrders().get(randomIndex);
-        if (selectedOrder == null || !selectedOrder.isValid()) {
+        return selected(event, start, snapshot.size(), snapshot.get(sampler.sample(random)));
+    }
+
+    /**
+     * Returns the generator this selector draws from.
+     *
+     * @return the random number generator
+     */
+    protected RandomGenerator random() {
+        return random;
+    }
+
+    /**
+     * Picks the position of the next valid order to select. Every uniform selection method calls
+     * this, or {@link #nextPositions}, once it has checked that the snapshot has a valid order.
+     * The default picks uniformly from {@link OrdersSnapshot#validPosition(int)}.
+     *
+     * @param snapshot the snapshot to pick from, with at least one valid order
+     * @return the position in the snapshot of a valid order
+     */
+    protected int nextPosition(OrdersSnapshot snapshot) {
+        return snapshot.validPosition(randomNumber(snapshot.validCount() - 1));
+    }
+
+    /**
+     * Fills the array with the positions of the next valid orders to select, as by repeated calls
+     * to {@link #nextPosition(OrdersSnapshot)}.
+     *
+     * @param snapshot the snapshot to pick from, with at least one valid order
+     * @param positions the array to fill
+     */
+    protected void nextPositions(OrdersSnapshot snapshot, int[] positions) {
+        int valid = snapshot.validCount();
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = snapshot.validPosition(random.nextInt(valid));
+        }
+    }
+
+    /**
+     * Uniform pick behind {@link #selectPosition(OrdersSnapshot)}, without its metrics and events,
+     * for callers that draw many times from one thread.
+     *
+     * @return the picked position, or -1 if the snapshot has no valid orders
+     */
+    int pickPosition(OrdersSnapshot snapshot) {
+        return snapshot.validCount() == 0 ? -1 : nextPosition(snapshot);
+    }
+
+    /**
+     * Uniform picks behind {@link #selectPositions(OrdersSnapshot, int)}, without its metrics and
+     * events, for callers that draw many times from one thread.
+     *
+     * @return the picked positions, or an empty array if the snapshot has no valid orders
+     */
+    int[] pickPositions(OrdersSnapshot snapshot, int count) {
+        if (snapshot.validCount() == 0) {
+            return new int[0];
+        }
+        int[] positions = new int[count];
+        nextPositions(snapshot, positions);
+        return positions;
+    }
+
+    /**
+     * Weighted pick behind {@link #weightedOrderSelector}, for callers that count by position.
+     *
+     * @return the picked position, or -1 if the picked entry is not a valid order
+     */
+    int weightedPosition(OrdersSnapshot snapshot, AliasSampler sampler) {
+        int position = sampler.sample(random);
+        return validOrNull(snapshot.get(position)) == null ? -1 : position;
+    }
+
+    private int[] drawPositions(OrderSelectionEvent event, long start, OrdersSnapshot snapshot, int count) {
+        if (snapshot.validCount() == 0) {
+            EMPTY_SELECTIONS.increment();
+            BATCH_LATENCY.recordSince(start);
+            event.complete(snapshot.size(), 0, 0);
+            return new int[0];
+        }
+        int[] positions = new int[count];
+        nextPositions(snapshot, positions);
+        BATCH_LATENCY.recordSince(start);
+        event.complete(snapshot.size(), 0, count);
+        return positions;
+    }
+
+    private static Order empty(OrderSelectionEvent event, long startNanos, int catalogSize) {
+        EMPTY_SELECTIONS.increment();
+        SELECTION_LATENCY.recordSince(startNanos);
+        event.complete(catalogSize, 0, 0);
+        return null;
+    }
+
+    private static Order selected(OrderSelectionEvent event, long startNanos, int catalogSize, Order picked) {
+        Order order = validOrNull(picked);
+        if (order == null) {
+            INVALID_SELECTIONS.increment();
+        }
+        SELECTION_LATENCY.recordSince(startNanos);
+        event.complete(catalogSize, order == null ? 0 : order.getId(), 1);
+        return order;
+    }
+
+    private static Order validOrNull(Order order) {
+        if (order == null || !order.isValid()) {
             return null;
         }
-        return selectedOrder;
+        return order;
     }
 
     private int randomNumber(int max) {
-        SecureRandom secureRandom = new SecureRandom();
-        return secureRandom.nextInt(max + 1);
+        return random.nextInt(max + 1);
     }
 }
@@ -0,0 +1,180 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.orders.Order;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Dense table of the best orders for every {@link TacticalContext}, indexed by
+ * {@link TacticalContext#ordinal()}.
+ * <p>
+ * Compiling scores every valid order against all contexts once with a {@link SuitabilityScorer};
+ * afterwards a selection is a single array lookup plus a uniform pick within the cell's tie-set
+ * (REQ-038, REQ-039).
+ * Orders without any configured weight score zero everywhere, so they are kept as one shared
+ * range at the end of the slot array instead of being repeated in each cell's tie-set. Cells
+ * whose tie-sets are equal share one copy, so a catalog where many orders tie everywhere costs
+ * one tie-set rather than one per context.
+ */
+final class DecisionTable {
+    private static final int MAX_TIES = Integer.MAX_VALUE - 8;
+
+    private final Order[] slots;
+    private final int weightedCount;
+    private final int[] cellStart;
+    private final int[] cellLength;
+    private final boolean[] cellIncludesUnweighted;
+    private final int[] ties;
+
+    private DecisionTable(Order[] slots, int weightedCount, int[] cellStart, int[] cellLength,
+                          boolean[] cellIncludesUnweighted, int[] ties) {
+        this.slots = slots;
+        this.weightedCount = weightedCount;
+        this.cellStart = cellStart;
+        this.cellLength = cellLength;
+        this.cellIncludesUnweighted = cellIncludesUnweighted;
+        this.ties = ties;
+    }
+
+    /**
+     * Scores the valid orders of a catalog against every context and records each cell's tie-set.
+     *
+     * @param orders the catalog to compile
+     * @param weights the suitability weights to score with
+     * @return the compiled table
+     */
+    static DecisionTable compile(List<Order> orders, SuitabilityWeights weights) {
+        return compile(orders, weights, SuitabilityScorer.KERNEL);
+    }
+
+    static DecisionTable compile(List<Order> orders, SuitabilityWeights weights, ScoringKernel kernel) {
+        Order[] weighted = new Order[orders.size()];
+        Order[] unweighted = new Order[orders.size()];
+        int[][] featureWeights = new int[orders.size()][];
+        int weightedCount = 0;
+        int unweightedCount = 0;
+        for (Order order : orders) {
+            if (order == null || !order.isValid()) {
+                continue;
+            }
+            int[] orderWeights = weights.getFeatureWeights(order.getId());
+            if (Arrays.stream(orderWeights).allMatch(weight -> weight == 0)) {
+                unweighted[unweightedCount++] = order;
+            } else {
+                featureWeights[weightedCount] = orderWeights;
+                weighted[weightedCount++] = order;
+            }
+        }
+
+        Order[] slots = new Order[weightedCount + unweightedCount];
+        System.arraycopy(weighted, 0, slots, 0, weightedCount);
+        System.arraycopy(unweighted, 0, slots, weightedCount, unweightedCount);
+
+        int cells = TacticalContext.CONTEXT_COUNT;
+        int[] cellStart = new int[cells];
+        int[] cellLength = new int[cells];
+        boolean[] cellIncludesUnweighted = new boolean[cells];
+        int[] ties = new int[Math.max(16, weightedCount)];
+        int tieCount = 0;
+        Map<Integer, Integer> cellByTieHash = new HashMap<>();
+        int[] cellTies = new int[weightedCount];
+        int[] scores = new int[weightedCount];
+        SuitabilityScorer scorer = new SuitabilityScorer(weighted, featureWeights, weightedCount, kernel);
+        for (int cell = 0; cell < cells; cell++) {
+            scorer.score(TacticalContext.fromOrdinal(cell).featureIndices(), scores);
+            int best = Integer.MIN_VALUE;
+            int count = 0;
+            for (int slot = 0; slot < weightedCount; slot++) {
+                int score = scores[slot];
+                if (score > best) {
+                    best = score;
+                    count = 0;
+                }
+                if (score == best) {
+                    cellTies[count++] = slot;
+                }
+            }
+            if (unweightedCount > 0 && best <= 0) {
+                cellIncludesUnweighted[cell] = true;
+                if (best < 0) {
+                    count = 0;
+                }
+            }
+            cellLength[cell] = count;
+            int hash = hashTies(cellTies, count);
+            Integer same = cellByTieHash.get(hash);
+            if (same != null && cellLength[same] == count
+                    && Arrays.equals(ties, cellStart[same], cellStart[same] + count, cellTies, 0, count)) {
+                cellStart[cell] = cellStart[same];
+                continue;
+            }
+            long end = (long) tieCount + count;
+            if (end > MAX_TIES) {
+                throw new IllegalArgumentException("Too many tied orders to compile a decision table: " + end);
+            }
+            if (end > ties.length) {
+                ties = Arrays.copyOf(ties, (int) Math.min(MAX_TIES, Math.max(ties.length * 2L, end)));
+            }
+            System.arraycopy(cellTies, 0, ties, tieCount, count);
+            cellStart[cell] = tieCount;
+            cellByTieHash.put(hash, cell);
+            tieCount = (int) end;
+        }
+        return new DecisionTable(slots, weightedCount, cellStart, cellLength, cellIncludesUnweighted,
+                Arrays.copyOf(ties, tieCount));
+    }
+
+    private static int hashTies(int[] cellTies, int count) {
+        int hash = count;
+        for (int i = 0; i < count; i++) {
+            hash = 31 * hash + cellTies[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Picks one of the best orders for the given context.
+     *
+     * @param context the current tactical context
+     * @param random the generator used to break ties
+     * @return a best-scoring valid order, or null if the catalog had no valid orders
+     */
+    Order select(TacticalContext context, RandomGenerator random) {
+        int cell = context.ordinal();
+        int weightedTies = cellLength[cell];
+        int unweightedTies = cellIncludesUnweighted[cell] ? slots.length - weightedCount : 0;
+        int candidates = weightedTies + unweightedTies;
+        if (candidates == 0) {
+            return null;
+        }
+        int pick = candidates == 1 ? 0 : random.nextInt(candidates);
+        if (pick < weightedTies) {
+            return slots[ties[cellStart[cell] + pick]];
+        }
+        return slots[weightedCount + (pick - weightedTies)];
+    }
+
+    /**
+     * Returns the number of orders tied for best in the given context.
+     *
+     * @param context the tactical context
+     * @return the size of the context's tie-set
+     */
+    int tieCount(TacticalContext context) {
+        int cell = context.ordinal();
+        return cellLength[cell] + (cellIncludesUnweighted[cell] ? slots.length - weightedCount : 0);
+    }
+
+    /**
+     * Returns the number of tie-set entries stored for all contexts together.
+     *
+     * @return the length of the shared tie array
+     */
+    int storedTies() {
+        return ties.length;
+    }
+}
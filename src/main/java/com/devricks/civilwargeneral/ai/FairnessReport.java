@@ -0,0 +1,390 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.orders.Order;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a {@link FairnessVerifier} run: how often each order was drawn against how often it
+ * was expected to be, with a chi-square goodness-of-fit test and a Kolmogorov-Smirnov test over
+ * the cumulative distribution in catalog order.
+ * <p>
+ * Draws that yielded no order form one more category after the last order. Categories expected
+ * to be empty are left out of the chi-square sum; a draw in one makes the statistic infinite.
+ * The KS p-value uses the asymptotic Kolmogorov distribution, which is conservative for a
+ * discrete distribution like this one.
+ */
+public final class FairnessReport {
+
+    /**
+     * The draws of one order.
+     */
+    public static final class Entry {
+        private final Order order;
+        private final long observed;
+        private final double expected;
+        private final double chiSquare;
+        private final double zScore;
+        private final double cumulativeDeviation;
+
+        Entry(Order order, long observed, double expected, double chiSquare, double zScore,
+              double cumulativeDeviation) {
+            this.order = order;
+            this.observed = observed;
+            this.expected = expected;
+            this.chiSquare = chiSquare;
+            this.zScore = zScore;
+            this.cumulativeDeviation = cumulativeDeviation;
+        }
+
+        /**
+         * Returns the order.
+         *
+         * @return the order
+         */
+        public Order getOrder() {
+            return order;
+        }
+
+        /**
+         * Returns how many draws yielded the order.
+         *
+         * @return the observed count
+         */
+        public long getObserved() {
+            return observed;
+        }
+
+        /**
+         * Returns how many draws were expected to yield the order.
+         *
+         * @return the expected count
+         */
+        public double getExpected() {
+            return expected;
+        }
+
+        /**
+         * Returns the order's contribution {@code (O - E)^2 / E} to the chi-square statistic.
+         *
+         * @return the chi-square contribution
+         */
+        public double getChiSquare() {
+            return chiSquare;
+        }
+
+        /**
+         * Returns the deviation of the observed count in binomial standard deviations.
+         *
+         * @return the z-score
+         */
+        public double getZScore() {
+            return zScore;
+        }
+
+        /**
+         * Returns the absolute difference between the observed and expected cumulative
+         * distributions up to and including this order; the KS statistic is the largest of these.
+         *
+         * @return the cumulative deviation
+         */
+        public double getCumulativeDeviation() {
+            return cumulativeDeviation;
+        }
+    }
+
+    private final long draws;
+    private final List<Entry> entries;
+    private final long noOrderObserved;
+    private final double noOrderExpected;
+    private final double chiSquare;
+    private final int degreesOfFreedom;
+    private final double chiSquarePValue;
+    private final double ksStatistic;
+    private final double ksPValue;
+
+    /**
+     * Computes the statistics of a run.
+     *
+     * @param orders the catalog, by position
+     * @param counts the draws of each position, then the draws that yielded no order
+     * @param probabilities the probability of each position
+     * @param draws the total number of draws
+     */
+    FairnessReport(List<Order> orders, long[] counts, double[] probabilities, long draws) {
+        this.draws = draws;
+        double n = draws;
+        double chi = 0.0;
+        int categories = 0;
+        double cumulativeObserved = 0.0;
+        double cumulativeExpected = 0.0;
+        double maxDeviation = 0.0;
+        double totalProbability = 0.0;
+        List<Entry> list = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            double p = probabilities[i];
+            totalProbability += p;
+            cumulativeObserved += counts[i] / n;
+            cumulativeExpected += p;
+            double deviation = Math.abs(cumulativeObserved - cumulativeExpected);
+            maxDeviation = Math.max(maxDeviation, deviation);
+            if (p == 0.0 && counts[i] == 0) {
+                continue;
+            }
+            double contribution = contribution(counts[i], n * p);
+            if (p > 0.0) {
+                categories++;
+            }
+            chi += contribution;
+            list.add(new Entry(orders.get(i), counts[i], n * p, contribution, zScore(counts[i], n, p), deviation));
+        }
+        this.entries = Collections.unmodifiableList(list);
+        this.noOrderObserved = counts[orders.size()];
+        double noOrderProbability = Math.max(0.0, 1.0 - totalProbability);
+        this.noOrderExpected = n * noOrderProbability;
+        if (noOrderProbability > 0.0) {
+            categories++;
+        }
+        chi += contribution(noOrderObserved, noOrderExpected);
+        // The cumulative distributions both end at 1, so the last category adds no KS deviation.
+        this.chiSquare = chi;
+        this.degreesOfFreedom = Math.max(categories - 1, 0);
+        this.chiSquarePValue = chiSquarePValue(chi, degreesOfFreedom);
+        this.ksStatistic = maxDeviation;
+        this.ksPValue = kolmogorovPValue(maxDeviation, n);
+    }
+
+    /**
+     * Returns the total number of draws.
+     *
+     * @return the draws
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the orders that were expected or observed, in catalog order.
+     *
+     * @return the per-order results
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns how many draws yielded no order.
+     *
+     * @return the observed count
+     */
+    public long getNoOrderObserved() {
+        return noOrderObserved;
+    }
+
+    /**
+     * Returns how many draws were expected to yield no order, i.e. to land on an invalid entry.
+     *
+     * @return the expected count
+     */
+    public double getNoOrderExpected() {
+        return noOrderExpected;
+    }
+
+    /**
+     * Returns the chi-square statistic over all categories.
+     *
+     * @return the chi-square statistic
+     */
+    public double getChiSquare() {
+        return chiSquare;
+    }
+
+    /**
+     * Returns the degrees of freedom of the chi-square test.
+     *
+     * @return one less than the number of categories with a non-zero expectation
+     */
+    public int getDegreesOfFreedom() {
+        return degreesOfFreedom;
+    }
+
+    /**
+     * Returns the probability of a chi-square statistic at least this large if the draws follow
+     * the expected distribution.
+     *
+     * @return the chi-square p-value
+     */
+    public double getChiSquarePValue() {
+        return chiSquarePValue;
+    }
+
+    /**
+     * Returns the Kolmogorov-Smirnov statistic: the largest absolute difference between the
+     * observed and expected cumulative distributions.
+     *
+     * @return the KS statistic
+     */
+    public double getKsStatistic() {
+        return ksStatistic;
+    }
+
+    /**
+     * Returns the asymptotic probability of a KS statistic at least this large if the draws follow
+     * the expected distribution.
+     *
+     * @return the KS p-value
+     */
+    public double getKsPValue() {
+        return ksPValue;
+    }
+
+    /**
+     * Returns whether neither test rejects the expected distribution at the given significance level.
+     *
+     * @param alpha the significance level, for example {@code 0.001}
+     * @return {@code true} if both p-values are at least {@code alpha}
+     */
+    public boolean passes(double alpha) {
+        return chiSquarePValue >= alpha && ksPValue >= alpha;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "%8s  %-24s %14s %16s %12s %9s %12s%n",
+                "id", "name", "observed", "expected", "chi2", "z", "|dF|"));
+        for (Entry entry : entries) {
+            Order order = entry.order;
+            text.append(String.format(Locale.ROOT, "%8d  %-24.24s %14d %16.1f %12.4f %9.3f %12.3e%n",
+                    order == null ? 0 : order.getId(), order == null ? "" : order.getName(), entry.observed,
+                    entry.expected, entry.chiSquare, entry.zScore, entry.cumulativeDeviation));
+        }
+        if (noOrderObserved > 0 || noOrderExpected > 0) {
+            text.append(String.format(Locale.ROOT, "%8s  %-24s %14d %16.1f %12.4f%n", "-", "(no order)",
+                    noOrderObserved, noOrderExpected, contribution(noOrderObserved, noOrderExpected)));
+        }
+        text.append(String.format(Locale.ROOT, "draws=%d chi2=%.4f df=%d p=%.4f KS D=%.3e p=%.4f",
+                draws, chiSquare, degreesOfFreedom, chiSquarePValue, ksStatistic, ksPValue));
+        return text.toString();
+    }
+
+    private static double contribution(long observed, double expected) {
+        if (expected == 0.0) {
+            return observed == 0 ? 0.0 : Double.POSITIVE_INFINITY;
+        }
+        double difference = observed - expected;
+        return difference * difference / expected;
+    }
+
+    private static double zScore(long observed, double n, double p) {
+        double variance = n * p * (1.0 - p);
+        if (variance == 0.0) {
+            return observed == n * p ? 0.0 : Double.POSITIVE_INFINITY;
+        }
+        return (observed - n * p) / Math.sqrt(variance);
+    }
+
+    /**
+     * Upper tail of the chi-square distribution, {@code Q(df / 2, chi / 2)}.
+     */
+    static double chiSquarePValue(double chi, int degreesOfFreedom) {
+        if (Double.isInfinite(chi)) {
+            return 0.0;
+        }
+        if (degreesOfFreedom == 0) {
+            return chi == 0.0 ? 1.0 : 0.0;
+        }
+        return regularizedGammaQ(degreesOfFreedom / 2.0, chi / 2.0);
+    }
+
+    /**
+     * Upper tail of the Kolmogorov distribution at {@code D}, with Stephens' small-sample correction.
+     */
+    static double kolmogorovPValue(double d, double n) {
+        double sqrtN = Math.sqrt(n);
+        double lambda = (sqrtN + 0.12 + 0.11 / sqrtN) * d;
+        if (lambda < 0.2) {
+            return 1.0;
+        }
+        double sum = 0.0;
+        double sign = 1.0;
+        for (int j = 1; j <= 100; j++) {
+            double term = sign * Math.exp(-2.0 * j * j * lambda * lambda);
+            sum += term;
+            if (Math.abs(term) < 1e-12 * Math.abs(sum)) {
+                break;
+            }
+            sign = -sign;
+        }
+        return Math.min(1.0, Math.max(0.0, 2.0 * sum));
+    }
+
+    /**
+     * Regularized upper incomplete gamma function, by series below {@code a + 1} and by continued
+     * fraction above.
+     */
+    static double regularizedGammaQ(double a, double x) {
+        if (x <= 0.0) {
+            return 1.0;
+        }
+        double logPrefix = a * Math.log(x) - x - logGamma(a);
+        if (x < a + 1.0) {
+            double term = 1.0 / a;
+            double sum = term;
+            for (int k = 1; k < 10_000; k++) {
+                term *= x / (a + k);
+                sum += term;
+                if (Math.abs(term) < Math.abs(sum) * 1e-15) {
+                    break;
+                }
+            }
+            return Math.max(0.0, 1.0 - sum * Math.exp(logPrefix));
+        }
+        // Modified Lentz evaluation of the continued fraction.
+        double tiny = 1e-300;
+        double b = x + 1.0 - a;
+        double c = 1.0 / tiny;
+        double d = 1.0 / b;
+        double h = d;
+        for (int k = 1; k < 10_000; k++) {
+            double an = -k * (k - a);
+            b += 2.0;
+            d = an * d + b;
+            if (Math.abs(d) < tiny) {
+                d = tiny;
+            }
+            c = b + an / c;
+            if (Math.abs(c) < tiny) {
+                c = tiny;
+            }
+            d = 1.0 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1.0) < 1e-15) {
+                break;
+            }
+        }
+        return Math.exp(logPrefix) * h;
+    }
+
+    /**
+     * Lanczos approximation of {@code ln Γ(x)} for {@code x > 0}.
+     */
+    static double logGamma(double x) {
+        double[] coefficients = {
+                76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5
+        };
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+}
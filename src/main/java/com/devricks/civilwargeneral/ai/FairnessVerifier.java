@@ -0,0 +1,294 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Monte Carlo check that a selection strategy draws orders with the expected probabilities.
+ * <p>
+ * The draws are split recursively across a {@link ForkJoinPool}. Each leaf task owns a
+ * {@link CommandSelector} built around its own split of one seeded {@link SplittableRandom} and
+ * counts into a private array indexed by snapshot position; arrays are summed as tasks join, so
+ * the hot loop shares no mutable state between threads and never builds, hashes or compares an
+ * {@link Order}. The built-in strategies draw through the selector's position hooks rather than
+ * its public methods, so no selection metrics or Flight Recorder events are recorded per draw. The split tree depends only on the draw count, so a seed
+ * reproduces the same counts at any parallelism.
+ * <p>
+ * The catalog must not change while a verification runs.
+ */
+public final class FairnessVerifier {
+
+    /**
+     * Number of orders a strategy is asked to draw per call.
+     */
+    public static final int BATCH_SIZE = 4096;
+
+    private static final long LEAF_DRAWS = 1L << 22;
+
+    /**
+     * A way of drawing orders with a selector.
+     */
+    @FunctionalInterface
+    public interface Strategy {
+
+        /**
+         * Draws up to {@code count} orders and returns their positions.
+         *
+         * @param selector the selector owned by the calling task
+         * @param snapshot the catalog to draw from
+         * @param count the number of draws wanted, at least 1
+         * @return the position in {@code snapshot} of each draw, with -1 for a draw that yielded no order
+         */
+        int[] draw(CommandSelector selector, OrdersSnapshot snapshot, int count);
+
+        /**
+         * Draws one order at a time with the pick behind
+         * {@link CommandSelector#selectPosition(OrdersSnapshot)}, the position form of
+         * {@link CommandSelector#randomOrderSelector(Orders)}.
+         *
+         * @return the strategy
+         */
+        static Strategy single() {
+            return (selector, snapshot, count) -> {
+                int[] drawn = new int[count];
+                for (int i = 0; i < count; i++) {
+                    drawn[i] = selector.pickPosition(snapshot);
+                }
+                return drawn;
+            };
+        }
+
+        /**
+         * Draws a batch at a time with the pick behind
+         * {@link CommandSelector#selectPositions(OrdersSnapshot, int)}, the position form of
+         * {@link CommandSelector#selectMany(Orders, int)}.
+         *
+         * @return the strategy
+         */
+        static Strategy batch() {
+            return CommandSelector::pickPositions;
+        }
+
+        /**
+         * Draws with the pick behind {@link CommandSelector#weightedOrderSelector(Orders, AliasSampler)}.
+         *
+         * @param sampler the sampler built from the catalog's weights
+         * @return the strategy
+         */
+        static Strategy weighted(AliasSampler sampler) {
+            Objects.requireNonNull(sampler, "sampler");
+            return (selector, snapshot, count) -> {
+                if (snapshot.size() != sampler.size()) {
+                    int[] none = new int[count];
+                    Arrays.fill(none, -1);
+                    return none;
+                }
+                int[] drawn = new int[count];
+                for (int i = 0; i < count; i++) {
+                    drawn[i] = selector.weightedPosition(snapshot, sampler);
+                }
+                return drawn;
+            };
+        }
+    }
+
+    private final Strategy strategy;
+    private final Function<? super RandomGenerator, ? extends CommandSelector> selectors;
+    private final int parallelism;
+
+    /**
+     * Constructs a verifier that draws with plain {@link CommandSelector}s on every core.
+     *
+     * @param strategy how orders are drawn
+     */
+    public FairnessVerifier(Strategy strategy) {
+        this(strategy, CommandSelector::new, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a verifier.
+     *
+     * @param strategy how orders are drawn
+     * @param selectors creates the selector of each task from the task's generator
+     * @param parallelism the number of worker threads
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public FairnessVerifier(Strategy strategy, Function<? super RandomGenerator, ? extends CommandSelector> selectors,
+                            int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.strategy = Objects.requireNonNull(strategy, "strategy");
+        this.selectors = Objects.requireNonNull(selectors, "selectors");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the probabilities of a uniform draw over the snapshot: every valid order is equally
+     * likely and invalid orders are never drawn.
+     *
+     * @param snapshot the catalog
+     * @return the probability of each position
+     */
+    public static double[] uniform(OrdersSnapshot snapshot) {
+        double[] expected = new double[snapshot.size()];
+        int valid = snapshot.validCount();
+        for (int i = 0; i < valid; i++) {
+            expected[snapshot.validPosition(i)] = 1.0 / valid;
+        }
+        return expected;
+    }
+
+    /**
+     * Returns the probabilities of a draw proportional to the given weights, as made by
+     * {@link Strategy#weighted(AliasSampler)}.
+     *
+     * @param snapshot the catalog
+     * @param weights the weight of each position
+     * @return the probability of each position
+     * @throws IllegalArgumentException if the weights do not match the snapshot or are all zero
+     */
+    public static double[] proportional(OrdersSnapshot snapshot, double[] weights) {
+        if (weights.length != snapshot.size()) {
+            throw new IllegalArgumentException("Expected " + snapshot.size() + " weights, got " + weights.length);
+        }
+        double total = 0.0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        if (!(total > 0.0)) {
+            throw new IllegalArgumentException("at least one weight must be positive");
+        }
+        double[] expected = new double[weights.length];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = isValid(snapshot.get(i)) ? weights[i] / total : 0.0;
+        }
+        return expected;
+    }
+
+    /**
+     * Verifies that the strategy draws uniformly from the catalog.
+     *
+     * @param orders the catalog
+     * @param draws the number of draws
+     * @param seed the seed all task generators are split from
+     * @return the observed distribution and its test statistics
+     */
+    public FairnessReport verify(Orders orders, long draws, long seed) {
+        return verify(orders, uniform(orders.snapshot()), draws, seed);
+    }
+
+    /**
+     * Verifies that the strategy draws from the catalog with the given probabilities. Whatever
+     * probability is left over is expected to yield no order.
+     *
+     * @param orders the catalog
+     * @param expected the probability of each position in {@link Orders#snapshot()}
+     * @param draws the number of draws
+     * @param seed the seed all task generators are split from
+     * @return the observed distribution and its test statistics
+     * @throws IllegalArgumentException if the catalog is empty, {@code draws} is not positive, or
+     *                                  the probabilities do not match the catalog
+     * @throws IllegalStateException if the catalog changed during the run, or the strategy drew a
+     *                               position outside the catalog
+     */
+    public FairnessReport verify(Orders orders, double[] expected, long draws, long seed) {
+        OrdersSnapshot snapshot = orders.snapshot();
+        if (snapshot.isEmpty()) {
+            throw new IllegalArgumentException("The catalog is empty");
+        }
+        if (draws <= 0) {
+            throw new IllegalArgumentException("draws must be positive: " + draws);
+        }
+        if (expected.length != snapshot.size()) {
+            throw new IllegalArgumentException("Expected " + snapshot.size() + " probabilities, got " + expected.length);
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (!(expected[i] >= 0.0) || expected[i] > 1.0) {
+                throw new IllegalArgumentException("Invalid probability at " + i + ": " + expected[i]);
+            }
+        }
+
+        long[] counts;
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            counts = pool.invoke(new DrawTask(snapshot, new SplittableRandom(seed), draws));
+        }
+        if (orders.getVersion() != snapshot.getVersion()) {
+            throw new IllegalStateException("The catalog changed during verification");
+        }
+        return new FairnessReport(snapshot.getOrders(), counts, expected, draws);
+    }
+
+    private static boolean isValid(Order order) {
+        return order != null && order.isValid();
+    }
+
+    /**
+     * Counts {@code draws} draws into an array of one slot per position plus a final slot for draws
+     * that yielded no order.
+     */
+    private final class DrawTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        // ForkJoinTask is Serializable, but draw tasks only run in the pool and are never serialized.
+        private final transient OrdersSnapshot snapshot;
+        private final transient SplittableRandom random;
+        private final long draws;
+
+        DrawTask(OrdersSnapshot snapshot, SplittableRandom random, long draws) {
+            this.snapshot = snapshot;
+            this.random = random;
+            this.draws = draws;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (draws <= LEAF_DRAWS) {
+                return drawAll();
+            }
+            long half = draws / 2;
+            DrawTask left = new DrawTask(snapshot, random.split(), half);
+            DrawTask right = new DrawTask(snapshot, random, draws - half);
+            left.fork();
+            long[] counts = right.compute();
+            long[] other = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+
+        private long[] drawAll() {
+            int size = snapshot.size();
+            long[] counts = new long[size + 1];
+            CommandSelector selector = selectors.apply(random);
+            long remaining = draws;
+            while (remaining > 0) {
+                int[] drawn = strategy.draw(selector, snapshot, (int) Math.min(remaining, BATCH_SIZE));
+                if (drawn.length == 0 || drawn.length > remaining) {
+                    throw new IllegalStateException("The strategy returned " + drawn.length + " draws");
+                }
+                for (int position : drawn) {
+                    if (position == -1) {
+                        counts[size]++;
+                    } else if (position >= 0 && position < size) {
+                        counts[position]++;
+                    } else {
+                        throw new IllegalStateException("The strategy drew a position outside the catalog: " + position);
+                    }
+                }
+                remaining -= drawn.length;
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.devricks.civilwargeneral.ai;
+
+/**
+ * Column-at-a-time scalar kernel. Each pass adds one contiguous column, which keeps the loop
+ * simple enough for the JIT's own auto-vectorization.
+ */
+final class ScalarScoringKernel implements ScoringKernel {
+
+    static final ScalarScoringKernel INSTANCE = new ScalarScoringKernel();
+
+    private ScalarScoringKernel() {
+    }
+
+    @Override
+    public void score(int[][] columns, int[] features, int[] scores, int length) {
+        System.arraycopy(columns[features[0]], 0, scores, 0, length);
+        for (int f = 1; f < features.length; f++) {
+            int[] column = columns[features[f]];
+            for (int i = 0; i < length; i++) {
+                scores[i] += column[i];
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,50 @@
+package com.devricks.civilwargeneral.ai;
+
+/**
+ * Sums the weight columns of a context's active conditions into one score per order.
+ * <p>
+ * The Vector API kernel is used when the {@code jdk.incubator.vector} module is resolved
+ * (launch with {@code --add-modules jdk.incubator.vector}) and the
+ * {@value #SCALAR_PROPERTY} property is not set; otherwise the scalar loop is.
+ */
+interface ScoringKernel {
+
+    /**
+     * When {@code true}, scoring always uses the scalar kernel.
+     */
+    String SCALAR_PROPERTY = "civilwargeneral.scoring.scalar";
+
+    /**
+     * Writes {@code scores[i] = sum of columns[f][i] for f in features} for every {@code i < length}.
+     *
+     * @param columns one weight column per feature index
+     * @param features the feature indices of the active conditions, at least one
+     * @param scores where the scores are written
+     * @param length the number of orders to score
+     */
+    void score(int[][] columns, int[] features, int[] scores, int length);
+
+    /**
+     * Returns a short name of the kernel for reports.
+     *
+     * @return the kernel's name
+     */
+    String name();
+
+    /**
+     * Returns the fastest kernel available in this runtime.
+     *
+     * @return the kernel to score with
+     */
+    static ScoringKernel preferred() {
+        if (!Boolean.getBoolean(SCALAR_PROPERTY)
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new VectorScoringKernel();
+            } catch (LinkageError e) {
+                // The module is present but not readable from this one; score with plain loops.
+            }
+        }
+        return ScalarScoringKernel.INSTANCE;
+    }
+}
@@ -0,0 +1,120 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Selector that deals orders like a shuffled deck: every valid order is dealt once before any
+ * order is dealt again, and the deck then reshuffles itself.
+ * <p>
+ * The deck is one {@code int[]} of indices into the snapshot's valid orders. Each deal is a single
+ * step of an incremental Fisher-Yates shuffle: a uniformly random card among those not yet
+ * dealt is swapped to the end of the undealt range and dealt, so every deal is O(1) however
+ * large the catalog or however empty the deck. A reshuffle only resets the undealt range, since
+ * continuing Fisher-Yates from any permutation yields a uniform one; an order dealt last in
+ * one deck may therefore come first in the next.
+ * <p>
+ * The deck is rebuilt, and starts full, whenever it is dealt from a different snapshot, which
+ * happens whenever the orders change.
+ * <p>
+ * Only {@link #nextPosition} and {@link #nextPositions} are overridden, so deals made through
+ * {@link #randomOrderSelector}, {@link #selectMany} or the position methods are timed, counted and
+ * reported like any other selection.
+ */
+public class ShuffledDeckSelector extends CommandSelector {
+    private OrdersSnapshot snapshot;
+    private int[] deck = new int[0];
+    private int remaining;
+
+    /**
+     * Constructs a new ShuffledDeckSelector using a {@link SecureRandom}.
+     */
+    public ShuffledDeckSelector() {
+        this(new SecureRandom());
+    }
+
+    /**
+     * Constructs a new ShuffledDeckSelector that shuffles with the given generator.
+     *
+     * @param random the random number generator to use for every deal
+     */
+    public ShuffledDeckSelector(RandomGenerator random) {
+        super(random);
+    }
+
+    /**
+     * Deals the next order from the deck of the given snapshot.
+     *
+     * @param snapshot the snapshot to deal from, with at least one valid order
+     * @return the position of the dealt order in the snapshot
+     */
+    @Override
+    protected synchronized int nextPosition(OrdersSnapshot snapshot) {
+        prepare(snapshot);
+        return deal();
+    }
+
+    /**
+     * Deals the next orders from the deck of the given snapshot in a row.
+     *
+     * @param snapshot the snapshot to deal from, with at least one valid order
+     * @param positions the array to fill with the positions of the dealt orders
+     */
+    @Override
+    protected synchronized void nextPositions(OrdersSnapshot snapshot, int[] positions) {
+        prepare(snapshot);
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = deal();
+        }
+    }
+
+    /**
+     * Returns the number of orders left to deal before the deck reshuffles.
+     *
+     * @param orders the collection of orders being dealt from
+     * @return the number of valid orders not yet dealt from the current deck, which is the
+     *         number of valid orders right after a reshuffle, or 0 if there are none
+     */
+    public synchronized int remaining(Orders orders) {
+        return orders != null && prepare(orders.snapshot()) ? remaining : 0;
+    }
+
+    /**
+     * Puts every dealt order back into the deck.
+     */
+    public synchronized void reshuffle() {
+        remaining = deck.length;
+    }
+
+    private int deal() {
+        int pick = random().nextInt(remaining);
+        int card = deck[pick];
+        deck[pick] = deck[--remaining];
+        deck[remaining] = card;
+        if (remaining == 0) {
+            remaining = deck.length;
+        }
+        return snapshot.validPosition(card);
+    }
+
+    /**
+     * Rebuilds the deck if it was dealt from another snapshot.
+     *
+     * @return false if there are no valid orders to deal
+     */
+    private boolean prepare(OrdersSnapshot current) {
+        if (snapshot != current) {
+            int valid = current.validCount();
+            snapshot = current;
+            deck = new int[valid];
+            for (int i = 0; i < valid; i++) {
+                deck[i] = i;
+            }
+            remaining = valid;
+        }
+        return deck.length > 0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scores every valid order of a catalog for a {@link TacticalContext} at once (REQ-037).
+ * <p>
+ * Weights are compiled into struct-of-arrays form: one {@code int[]} column per condition value,
+ * indexed by order position. A context's scores are then the element-wise sum of its six active
+ * columns, computed with Vector API lanes when {@code jdk.incubator.vector} is available and with
+ * a scalar loop otherwise (see {@link #kernelName()}). Nothing is allocated per order or per
+ * lookup, so batch what-if runs can score thousands of contexts against large catalogs.
+ * <p>
+ * A scorer is an immutable compilation of one catalog snapshot and one weights version; compile
+ * a new one when {@link OrdersSnapshot#getVersion()} or {@link SuitabilityWeights#getVersion()}
+ * changes. It may be shared between threads.
+ */
+public final class SuitabilityScorer {
+    static final ScoringKernel KERNEL = ScoringKernel.preferred();
+
+    private final Order[] orders;
+    private final int[][] columns;
+    private final ScoringKernel kernel;
+
+    /**
+     * Transposes per-order weight rows into per-condition columns.
+     *
+     * @param orders the orders to score, by position
+     * @param rows the feature weights of each order, by position
+     * @param count the number of orders
+     * @param kernel the kernel to score with
+     */
+    SuitabilityScorer(Order[] orders, int[][] rows, int count, ScoringKernel kernel) {
+        this.orders = Arrays.copyOf(orders, count);
+        this.columns = new int[TacticalContext.FEATURE_COUNT][count];
+        for (int i = 0; i < count; i++) {
+            int[] row = rows[i];
+            for (int feature = 0; feature < row.length; feature++) {
+                columns[feature][i] = row[feature];
+            }
+        }
+        this.kernel = kernel;
+    }
+
+    /**
+     * Compiles the weights of a catalog's valid orders.
+     *
+     * @param snapshot the catalog
+     * @param weights the suitability weights to score with
+     * @return a scorer over the valid orders of the snapshot, in snapshot order
+     */
+    public static SuitabilityScorer compile(OrdersSnapshot snapshot, SuitabilityWeights weights) {
+        return compile(snapshot, weights, KERNEL);
+    }
+
+    static SuitabilityScorer compile(OrdersSnapshot snapshot, SuitabilityWeights weights, ScoringKernel kernel) {
+        Order[] valid = new Order[snapshot.size()];
+        int[][] rows = new int[snapshot.size()][];
+        int count = 0;
+        for (Order order : snapshot.getOrders()) {
+            if (order != null && order.isValid()) {
+                rows[count] = weights.getFeatureWeights(order.getId());
+                valid[count++] = order;
+            }
+        }
+        return new SuitabilityScorer(valid, rows, count, kernel);
+    }
+
+    /**
+     * Returns the name of the kernel scorers use in this runtime, for example {@code scalar} or
+     * {@code vector-8x32}.
+     *
+     * @return the kernel name
+     */
+    public static String kernelName() {
+        return KERNEL.name();
+    }
+
+    /**
+     * Returns the number of orders scored.
+     *
+     * @return the number of valid orders in the compiled catalog
+     */
+    public int size() {
+        return orders.length;
+    }
+
+    /**
+     * Returns the order whose score is at the given position.
+     *
+     * @param index a position in {@code [0, size())}
+     * @return the order
+     */
+    public Order getOrder(int index) {
+        return orders[index];
+    }
+
+    /**
+     * Scores every order for a context.
+     *
+     * @param context the tactical context
+     * @return a new array with the score of each order, by position
+     */
+    public int[] score(TacticalContext context) {
+        int[] scores = new int[orders.length];
+        score(context, scores);
+        return scores;
+    }
+
+    /**
+     * Scores every order for a context into an existing array.
+     *
+     * @param context the tactical context
+     * @param scores where the score of each order is written; must hold at least {@link #size()} values
+     * @throws IllegalArgumentException if {@code scores} is too short
+     */
+    public void score(TacticalContext context, int[] scores) {
+        if (scores.length < orders.length) {
+            throw new IllegalArgumentException("Need room for " + orders.length + " scores, got " + scores.length);
+        }
+        score(context.featureIndices(), scores);
+    }
+
+    /**
+     * Scores every order for each of the given contexts.
+     *
+     * @param contexts the contexts to evaluate
+     * @return one score array per context, in the given order
+     */
+    public int[][] scoreAll(List<TacticalContext> contexts) {
+        int[][] scores = new int[contexts.size()][orders.length];
+        for (int i = 0; i < scores.length; i++) {
+            score(contexts.get(i).featureIndices(), scores[i]);
+        }
+        return scores;
+    }
+
+    void score(int[] features, int[] scores) {
+        kernel.score(columns, features, scores, orders.length);
+    }
+}
@@ -0,0 +1,86 @@
+package com.devricks.civilwargeneral.ai;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-order suitability weights for each tactical condition (REQ-037).
+ * <p>
+ * An order's score for a {@link TacticalContext} is the sum of its weights for the six active
+ * conditions; orders without any configured weight score zero. Every change bumps
+ * {@link #getVersion()} so compiled selection structures know when to rebuild.
+ */
+public class SuitabilityWeights {
+    private final Map<Integer, int[]> weightsByOrderId = new HashMap<>();
+    private long version;
+
+    /**
+     * Constructs an empty set of weights where every order scores zero.
+     */
+    public SuitabilityWeights() {
+    }
+
+    /**
+     * Sets the weight an order receives when the given condition is active.
+     *
+     * @param orderId the ID of the order
+     * @param condition the condition value the weight applies to
+     * @param weight the weight to add to the order's score while the condition is active
+     */
+    public synchronized void setWeight(int orderId, TacticalContext.Condition condition, int weight) {
+        weightsByOrderId.computeIfAbsent(orderId, id -> new int[TacticalContext.FEATURE_COUNT])
+                [condition.featureIndex()] = weight;
+        version++;
+    }
+
+    /**
+     * Returns the weight an order receives when the given condition is active.
+     *
+     * @param orderId the ID of the order
+     * @param condition the condition value
+     * @return the configured weight, or 0 if none was set
+     */
+    public synchronized int getWeight(int orderId, TacticalContext.Condition condition) {
+        int[] weights = weightsByOrderId.get(orderId);
+        return weights == null ? 0 : weights[condition.featureIndex()];
+    }
+
+    /**
+     * Returns a copy of an order's weights indexed by {@link TacticalContext.Condition#featureIndex()}.
+     *
+     * @param orderId the ID of the order
+     * @return a new array of {@link TacticalContext#FEATURE_COUNT} weights (all zero if none were set)
+     */
+    public synchronized int[] getFeatureWeights(int orderId) {
+        int[] weights = weightsByOrderId.get(orderId);
+        return weights == null ? new int[TacticalContext.FEATURE_COUNT] : weights.clone();
+    }
+
+    /**
+     * Computes an order's suitability score for the given context.
+     *
+     * @param orderId the ID of the order
+     * @param context the current tactical context
+     * @return the sum of the order's weights for the active conditions
+     */
+    public synchronized int score(int orderId, TacticalContext context) {
+        int[] weights = weightsByOrderId.get(orderId);
+        if (weights == null) {
+            return 0;
+        }
+        int score = 0;
+        for (int feature : context.featureIndices()) {
+            score += weights[feature];
+        }
+        return score;
+    }
+
+    /**
+     * Returns a counter that increases every time a weight changes.
+     *
+     * @return the current version of these weights
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,84 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Stage 2 selector that picks the most suitable order for a {@link TacticalContext}.
+ * <p>
+ * The catalog and its {@link SuitabilityWeights} are compiled into a {@link DecisionTable}
+ * covering every context, so toggling conditions never rescores the catalog: a selection is a
+ * table lookup plus a random tie-break with the Stage 1 generator (REQ-038, REQ-039). The
+ * table is rebuilt only when the orders' snapshot or the weights report a new version.
+ */
+public class TacticalAISelector extends CommandSelector {
+    private final SuitabilityWeights weights;
+
+    private DecisionTable table;
+    private Orders compiledOrders;
+    private long compiledOrdersVersion;
+    private long compiledWeightsVersion;
+
+    /**
+     * Constructs a new TacticalAISelector using a {@link SecureRandom} for tie-breaks.
+     *
+     * @param weights the suitability weights to score orders with
+     */
+    public TacticalAISelector(SuitabilityWeights weights) {
+        this(weights, new SecureRandom());
+    }
+
+    /**
+     * Constructs a new TacticalAISelector with a custom generator for tie-breaks.
+     *
+     * @param weights the suitability weights to score orders with
+     * @param random the random number generator used to break ties
+     */
+    public TacticalAISelector(SuitabilityWeights weights, RandomGenerator random) {
+        super(random);
+        this.weights = Objects.requireNonNull(weights, "weights");
+    }
+
+    /**
+     * Selects the most suitable valid order for the given context, breaking ties randomly.
+     *
+     * @param orders the collection of orders to select from
+     * @param context the current tactical context
+     * @return a best-scoring valid Order, or null if there are no valid orders
+     */
+    public synchronized Order select(Orders orders, TacticalContext context) {
+        if (orders == null || context == null) {
+            return null;
+        }
+        return compiledTable(orders).select(context, random());
+    }
+
+    /**
+     * Returns the number of orders tied for the highest score in the given context.
+     *
+     * @param orders the collection of orders
+     * @param context the tactical context
+     * @return the number of equally suitable orders
+     */
+    public synchronized int tieCount(Orders orders, TacticalContext context) {
+        return compiledTable(orders).tieCount(context);
+    }
+
+    private DecisionTable compiledTable(Orders orders) {
+        OrdersSnapshot snapshot = orders.snapshot();
+        long weightsVersion = weights.getVersion();
+        if (table == null || compiledOrders != orders
+            || compiledOrdersVersion != snapshot.getVersion() || compiledWeightsVersion != weightsVersion) {
+            table = DecisionTable.compile(snapshot.getOrders(), weights);
+            compiledOrders = orders;
+            compiledOrdersVersion = snapshot.getVersion();
+            compiledWeightsVersion = weightsVersion;
+        }
+        return table;
+    }
+}
@@ -0,0 +1,240 @@
+package com.devricks.civilwargeneral.ai;
+
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the battlefield conditions and troop state that drive Stage 2 selection
+ * (REQ-034, REQ-035).
+ * <p>
+ * Every condition is a small enum, so the whole context space is finite
+ * (864 combinations). Each context packs into a dense ordinal in
+ * {@code [0, CONTEXT_COUNT)} that selectors can use as an array index, and each individual
+ * condition value maps to a dense feature index in {@code [0, FEATURE_COUNT)}.
+ */
+public final class TacticalContext {
+
+    /**
+     * Marker for the condition enums that make up a tactical context.
+     */
+    public sealed interface Condition permits Weather, Terrain, TimeOfDay, Morale, Fatigue, Supply {
+        /**
+         * Returns the enum ordinal of this condition value.
+         *
+         * @return the ordinal within its own enum
+         */
+        int ordinal();
+
+        /**
+         * Returns the dense feature index of this condition value across all condition enums.
+         *
+         * @return an index in {@code [0, FEATURE_COUNT)}
+         */
+        default int featureIndex() {
+            return switch (this) {
+                case Weather w -> WEATHER_OFFSET + w.ordinal();
+                case Terrain t -> TERRAIN_OFFSET + t.ordinal();
+                case TimeOfDay d -> TIME_OFFSET + d.ordinal();
+                case Morale m -> MORALE_OFFSET + m.ordinal();
+                case Fatigue f -> FATIGUE_OFFSET + f.ordinal();
+                case Supply s -> SUPPLY_OFFSET + s.ordinal();
+            };
+        }
+    }
+
+    /** Weather on the battlefield. */
+    public enum Weather implements Condition { CLEAR, RAIN, SNOW, FOG }
+
+    /** Terrain the unit occupies. */
+    public enum Terrain implements Condition { OPEN, FOREST, HILL, SWAMP }
+
+    /** Time of day. */
+    public enum TimeOfDay implements Condition { DAY, NIGHT }
+
+    /** Morale of the unit. */
+    public enum Morale implements Condition { HIGH, AVERAGE, LOW }
+
+    /** Fatigue of the unit. */
+    public enum Fatigue implements Condition { FRESH, WEARY, EXHAUSTED }
+
+    /** Supply level of the unit. */
+    public enum Supply implements Condition { PLENTIFUL, LIMITED, CRITICAL }
+
+    private static final Weather[] WEATHERS = Weather.values();
+    private static final Terrain[] TERRAINS = Terrain.values();
+    private static final TimeOfDay[] TIMES = TimeOfDay.values();
+    private static final Morale[] MORALES = Morale.values();
+    private static final Fatigue[] FATIGUES = Fatigue.values();
+    private static final Supply[] SUPPLIES = Supply.values();
+
+    private static final int WEATHER_OFFSET = 0;
+    private static final int TERRAIN_OFFSET = WEATHER_OFFSET + WEATHERS.length;
+    private static final int TIME_OFFSET = TERRAIN_OFFSET + TERRAINS.length;
+    private static final int MORALE_OFFSET = TIME_OFFSET + TIMES.length;
+    private static final int FATIGUE_OFFSET = MORALE_OFFSET + MORALES.length;
+    private static final int SUPPLY_OFFSET = FATIGUE_OFFSET + FATIGUES.length;
+
+    /** Number of distinct condition values across all condition enums. */
+    public static final int FEATURE_COUNT = SUPPLY_OFFSET + SUPPLIES.length;
+
+    /** Number of distinct tactical contexts. */
+    public static final int CONTEXT_COUNT = WEATHERS.length * TERRAINS.length * TIMES.length
+                                            * MORALES.length * FATIGUES.length * SUPPLIES.length;
+
+    private final Weather weather;
+    private final Terrain terrain;
+    private final TimeOfDay timeOfDay;
+    private final Morale morale;
+    private final Fatigue fatigue;
+    private final Supply supply;
+
+    /**
+     * Constructs a new TacticalContext.
+     *
+     * @param weather the current weather
+     * @param terrain the current terrain
+     * @param timeOfDay the current time of day
+     * @param morale the unit's morale
+     * @param fatigue the unit's fatigue
+     * @param supply the unit's supply level
+     */
+    public TacticalContext(Weather weather, Terrain terrain, TimeOfDay timeOfDay,
+                           Morale morale, Fatigue fatigue, Supply supply) {
+        this.weather = Objects.requireNonNull(weather, "weather");
+        this.terrain = Objects.requireNonNull(terrain, "terrain");
+        this.timeOfDay = Objects.requireNonNull(timeOfDay, "timeOfDay");
+        this.morale = Objects.requireNonNull(morale, "morale");
+        this.fatigue = Objects.requireNonNull(fatigue, "fatigue");
+        this.supply = Objects.requireNonNull(supply, "supply");
+    }
+
+    /**
+     * Rebuilds a context from its packed ordinal.
+     *
+     * @param ordinal a value previously returned by {@link #ordinal()}
+     * @return the matching context
+     * @throws IllegalArgumentException if the ordinal is out of range
+     */
+    public static TacticalContext fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= CONTEXT_COUNT) {
+            throw new IllegalArgumentException("Context ordinal out of range: " + ordinal);
+        }
+        int rest = ordinal;
+        Supply supply = SUPPLIES[rest % SUPPLIES.length];
+        rest /= SUPPLIES.length;
+        Fatigue fatigue = FATIGUES[rest % FATIGUES.length];
+        rest /= FATIGUES.length;
+        Morale morale = MORALES[rest % MORALES.length];
+        rest /= MORALES.length;
+        TimeOfDay timeOfDay = TIMES[rest % TIMES.length];
+        rest /= TIMES.length;
+        Terrain terrain = TERRAINS[rest % TERRAINS.length];
+        rest /= TERRAINS.length;
+        Weather weather = WEATHERS[rest];
+        return new TacticalContext(weather, terrain, timeOfDay, morale, fatigue, supply);
+    }
+
+    /**
+     * Packs this context into a dense ordinal (mixed-radix, weather most significant).
+     *
+     * @return an index in {@code [0, CONTEXT_COUNT)}
+     */
+    public int ordinal() {
+        int packed = weather.ordinal();
+        packed = packed * TERRAINS.length + terrain.ordinal();
+        packed = packed * TIMES.length + timeOfDay.ordinal();
+        packed = packed * MORALES.length + morale.ordinal();
+        packed = packed * FATIGUES.length + fatigue.ordinal();
+        packed = packed * SUPPLIES.length + supply.ordinal();
+        return packed;
+    }
+
+    /**
+     * Returns the feature indices of the six active conditions.
+     *
+     * @return a new array of six feature indices
+     */
+    public int[] featureIndices() {
+        return new int[]{
+                weather.featureIndex(), terrain.featureIndex(), timeOfDay.featureIndex(),
+                morale.featureIndex(), fatigue.featureIndex(), supply.featureIndex()
+        };
+    }
+
+    /**
+     * Returns the weather.
+     *
+     * @return the weather
+     */
+    public Weather getWeather() {
+        return weather;
+    }
+
+    /**
+     * Returns the terrain.
+     *
+     * @return the terrain
+     */
+    public Terrain getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Returns the time of day.
+     *
+     * @return the time of day
+     */
+    public TimeOfDay getTimeOfDay() {
+        return timeOfDay;
+    }
+
+    /**
+     * Returns the morale.
+     *
+     * @return the morale
+     */
+    public Morale getMorale() {
+        return morale;
+    }
+
+    /**
+     * Returns the fatigue.
+     *
+     * @return the fatigue
+     */
+    public Fatigue getFatigue() {
+        return fatigue;
+    }
+
+    /**
+     * Returns the supply level.
+     *
+     * @return the supply level
+     */
+    public Supply getSupply() {
+        return supply;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return ordinal() == ((TacticalContext) o).ordinal();
+    }
+
+    @Override
+    public int hashCode() {
+        return ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return "TacticalContext{" +
+               "weather=" + weather +
+               ", terrain=" + terrain +
+               ", timeOfDay=" + timeOfDay +
+               ", morale=" + morale +
+               ", fatigue=" + fatigue +
+               ", supply=" + supply +
+               '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.devricks.civilwargeneral.ai;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel on the incubating Vector API. Every lane-width stripe of orders is summed across
+ * all active columns in registers and stored once; the remainder that does not fill a vector is
+ * summed with scalar code.
+ * <p>
+ * Only {@link ScoringKernel#preferred()} constructs this class, after checking that
+ * {@code jdk.incubator.vector} is resolved; loading it without the module fails with a
+ * {@link LinkageError}.
+ */
+final class VectorScoringKernel implements ScoringKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void score(int[][] columns, int[] features, int[] scores, int length) {
+        int upper = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector sum = IntVector.fromArray(SPECIES, columns[features[0]], i);
+            for (int f = 1; f < features.length; f++) {
+                sum = sum.add(IntVector.fromArray(SPECIES, columns[features[f]], i));
+            }
+            sum.intoArray(scores, i);
+        }
+        for (; i < length; i++) {
+            int sum = 0;
+            for (int feature : features) {
+                sum += columns[feature][i];
+            }
+            scores[i] = sum;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x32";
+    }
+}
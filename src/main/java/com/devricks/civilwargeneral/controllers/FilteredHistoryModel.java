@@ -0,0 +1,129 @@
+package com.devricks.civilwargeneral.controllers;
+
+import com.devricks.civilwargeneral.ai.TacticalContext;
+import com.devricks.civilwargeneral.history.HistoryIndex;
+import com.devricks.civilwargeneral.orders.Order;
+import javafx.collections.ObservableListBase;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Read-only observable view of the commands in a {@link HistoryIndex} that match a filter.
+ * <p>
+ * Only the matching positions are held, and none at all while the view is unfiltered: list
+ * index {@code i} is then index position {@code i}. Orders are resolved from the index when a
+ * cell asks for them. Changing the filter answers it from the index's bitmaps and fires a single
+ * replacement, and appends through this model are added to the view when they match. Must be
+ * used on the JavaFX Application Thread.
+ */
+final class FilteredHistoryModel extends ObservableListBase<Order> {
+    private static final TacticalContext.Condition[] NO_CONDITIONS = new TacticalContext.Condition[0];
+
+    private final HistoryIndex index;
+    private int orderId = HistoryIndex.ANY_ORDER;
+    private TacticalContext.Condition[] conditions = NO_CONDITIONS;
+    /** The matching positions, or null while unfiltered. */
+    private int[] positions;
+    private int size;
+
+    /**
+     * Constructs an unfiltered view of the index.
+     *
+     * @param index the index to present
+     */
+    FilteredHistoryModel(HistoryIndex index) {
+        this.index = Objects.requireNonNull(index, "index");
+        this.size = index.size();
+    }
+
+    /**
+     * Shows only the commands issued for the given order in every given condition.
+     *
+     * @param orderId the order ID, or {@link HistoryIndex#ANY_ORDER}
+     * @param conditions the conditions that must all have held
+     */
+    void setFilter(int orderId, TacticalContext.Condition... conditions) {
+        int[] previous = positions;
+        int previousSize = size;
+        this.orderId = orderId;
+        this.conditions = conditions.clone();
+        if (orderId == HistoryIndex.ANY_ORDER && conditions.length == 0) {
+            this.positions = null;
+            this.size = index.size();
+        } else {
+            this.positions = index.find(orderId, this.conditions);
+            this.size = positions.length;
+        }
+        beginChange();
+        if (previousSize > 0) {
+            nextRemove(0, new AbstractList<Order>() {
+                @Override
+                public Order get(int i) {
+                    return index.get(previous == null ? i : previous[i]);
+                }
+
+                @Override
+                public int size() {
+                    return previousSize;
+                }
+            });
+        }
+        if (size > 0) {
+            nextAdd(0, size);
+        }
+        endChange();
+    }
+
+    /**
+     * Appends a command to the index, adding it to the view if it matches the filter.
+     *
+     * @param order the generated order; nulls are ignored
+     * @param context the packed context, or {@code CommandJournal.NO_CONTEXT}
+     */
+    void append(Order order, int context) {
+        appendAll(order == null ? List.of() : List.of(order), context);
+    }
+
+    /**
+     * Appends commands to the index, firing one change for those that match the filter.
+     *
+     * @param orders the generated orders, oldest first; null entries are ignored
+     * @param context the packed context they were generated in
+     */
+    void appendAll(List<Order> orders, int context) {
+        int before = size;
+        for (Order order : orders) {
+            if (order == null) {
+                continue;
+            }
+            int position = index.append(order, context);
+            if (positions == null) {
+                size++;
+            } else if (index.matches(position, orderId, conditions)) {
+                if (size == positions.length) {
+                    positions = Arrays.copyOf(positions, Math.max(16, size * 2));
+                }
+                positions[size++] = position;
+            }
+        }
+        if (size > before) {
+            beginChange();
+            nextAdd(before, size);
+            endChange();
+        }
+    }
+
+    @Override
+    public Order get(int i) {
+        Objects.checkIndex(i, size);
+        return index.get(positions == null ? i : positions[i]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
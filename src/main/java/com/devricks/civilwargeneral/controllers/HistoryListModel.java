@@ -0,0 +1,130 @@
+package com.devricks.civilwargeneral.controllers;
+
+import com.devricks.civilwargeneral.events.HistoryAppendEvent;
+import com.devricks.civilwargeneral.history.CommandHistory;
+import com.devricks.civilwargeneral.metrics.Gauge;
+import com.devricks.civilwargeneral.metrics.Metrics;
+import com.devricks.civilwargeneral.orders.Order;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Read-only observable view of a {@link CommandHistory} for the command {@code ListView}.
+ * <p>
+ * Items are resolved from the history only when a cell asks for them, so the list never copies
+ * the history into observable items. Changes must go through {@link #append(Order)} and
+ * {@link #clear()} so that the matching change events are fired; both must be called on the
+ * JavaFX Application Thread. Each append, including the listeners it notifies, is recorded as
+ * a {@link HistoryAppendEvent}.
+ */
+final class HistoryListModel extends ObservableListBase<Order> {
+    private static final Gauge HISTORY_LENGTH = Metrics.global().gauge(Metrics.HISTORY_LENGTH);
+
+    private final CommandHistory history;
+
+    /**
+     * Constructs a view over the given history.
+     *
+     * @param history the history to present
+     */
+    HistoryListModel(CommandHistory history) {
+        this.history = Objects.requireNonNull(history, "history");
+    }
+
+    /**
+     * Appends an order to the history, firing one change that covers both the eviction of the
+     * oldest entry (if the history was full) and the addition.
+     *
+     * @param order the order to append; nulls are ignored
+     */
+    void append(Order order) {
+        if (order == null) {
+            return;
+        }
+        HistoryAppendEvent event = new HistoryAppendEvent();
+        event.begin();
+        boolean full = history.size() == history.capacity();
+        Order evicted = full ? history.get(0) : null;
+        history.append(order);
+        beginChange();
+        if (full) {
+            nextRemove(0, evicted);
+        }
+        nextAdd(history.size() - 1, history.size());
+        endChange();
+        HISTORY_LENGTH.set(history.size());
+        event.complete(1, full ? 1 : 0, history.size());
+    }
+
+    /**
+     * Appends orders to the history, firing one change for the whole batch. Entries of the batch
+     * that are evicted by later entries of the same batch never appear in the change.
+     *
+     * @param orders the orders to append, oldest first; null entries are ignored
+     */
+    void appendAll(List<Order> orders) {
+        HistoryAppendEvent event = new HistoryAppendEvent();
+        event.begin();
+        int before = history.size();
+        int capacity = history.capacity();
+        int count = 0;
+        for (Order order : orders) {
+            if (order != null) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        int after = Math.min(before + count, capacity);
+        int keptFromBatch = Math.min(count, capacity);
+        int evicted = before - (after - keptFromBatch);
+        List<Order> removed = evicted == 0 ? List.of() : new ArrayList<>(subList(0, evicted));
+        for (Order order : orders) {
+            history.append(order);
+        }
+        beginChange();
+        if (evicted > 0) {
+            nextRemove(0, removed);
+        }
+        nextAdd(after - keptFromBatch, after);
+        endChange();
+        HISTORY_LENGTH.set(history.size());
+        event.complete(count, evicted, history.size());
+    }
+
+    /**
+     * Returns the history this list presents.
+     *
+     * @return the backing history
+     */
+    CommandHistory history() {
+        return history;
+    }
+
+    @Override
+    public void clear() {
+        if (history.size() == 0) {
+            return;
+        }
+        List<Order> removed = new ArrayList<>(this);
+        history.clear();
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+        HISTORY_LENGTH.set(0);
+    }
+
+    @Override
+    public Order get(int index) {
+        return history.get(index);
+    }
+
+    @Override
+    public int size() {
+        return history.size();
+    }
+}
@@ -1,25 +1,43 @@
 package com.devricks.civilwargeneral.controllers;
 
 import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.ai.TacticalContext;
+import com.devricks.civilwargeneral.history.CommandHistory;
+import com.devricks.civilwargeneral.history.CommandJournal;
+import com.devricks.civilwargeneral.history.CommandRecorder;
+import com.devricks.civilwargeneral.history.HistoryIndex;
 import com.devricks.civilwargeneral.orders.Order;
 import com.devricks.civilwargeneral.orders.OrdersLoaderImplementation;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 
+import java.util.List;
+
 
 /**
  * Controller implementation for the Main View.
  * This class serves as the View in the MVP architecture and is linked to the FXML.
  */
 public class MainView implements MainViewUI {
+    /**
+     * Number of generated commands shown when no history is supplied.
+     */
+    public static final int DEFAULT_HISTORY_CAPACITY = 1000;
+
     @FXML
     private Button btnGenerateCommand;
     @FXML
     private ListView<Order> commandList;
+    @FXML
+    private Label lblStatus;
 
     private MainViewPresenter presenter;
+    private HistoryListModel history = new HistoryListModel(new CommandHistory(DEFAULT_HISTORY_CAPACITY));
+    private CommandRecorder recorder;
+    private FilteredHistoryModel indexed;
 
     /**
      * Default constructor for MainView.
@@ -36,12 +54,78 @@ public class MainView implements MainViewUI {
         this.presenter = presenter;
     }
 
+    /**
+     * Sets the history backing the command list. Must be called before the FXML is loaded.
+     *
+     * @param history the bounded history to display
+     */
+    public void setHistory(CommandHistory history) {
+        this.history = new HistoryListModel(history);
+    }
+
+    /**
+     * Sets the recorder that journals every generated command. Restored history is not recorded again.
+     *
+     * @param recorder the recorder, or null to stop journaling
+     */
+    public void setRecorder(CommandRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Sets the index that every generated command is added to and that
+     * {@link #filterHistory(int, TacticalContext.Condition...)} queries. Without an index, only
+     * the bounded history is kept.
+     *
+     * @param index the index, typically built from the command journal
+     */
+    public void setHistoryIndex(HistoryIndex index) {
+        this.indexed = new FilteredHistoryModel(index);
+    }
+
+    /**
+     * Shows only the indexed commands issued for the given order in every given condition.
+     * The filtered list keeps growing as matching commands are generated. Commands generated
+     * from this view carry no context, so they only match order queries.
+     *
+     * @param orderId the order ID, or {@link HistoryIndex#ANY_ORDER}
+     * @param conditions the conditions that must all have held
+     * @throws IllegalStateException if no history index is set
+     */
+    public void filterHistory(int orderId, TacticalContext.Condition... conditions) {
+        if (indexed == null) {
+            throw new IllegalStateException("No history index set");
+        }
+        indexed.setFilter(orderId, conditions);
+        if (commandList != null) {
+            commandList.setItems(indexed);
+        }
+    }
+
+    /**
+     * Shows the recent history again after {@link #filterHistory}.
+     */
+    public void clearHistoryFilter() {
+        if (commandList != null) {
+            commandList.setItems(history);
+        }
+    }
+
+    /**
+     * Appends previously journaled commands to the command list without recording or indexing them again.
+     *
+     * @param orders the restored orders, oldest first
+     */
+    public void restoreHistory(List<Order> orders) {
+        history.appendAll(orders);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void clearList() {
-        commandList.getItems().clear();
+        history.clear();
     }
 
     /**
@@ -52,21 +136,54 @@ public class MainView implements MainViewUI {
         btnGenerateCommand.setDisable(!enabled);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void showStatus(String message) {
+        lblStatus.setText(message);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void addOrder(Order order) {
         if (order == null) return;
-        commandList.getItems().add(order);
+        history.append(order);
+        if (indexed != null) {
+            indexed.append(order, CommandJournal.NO_CONTEXT);
+        }
+        if (recorder != null) {
+            recorder.record(order, CommandJournal.NO_CONTEXT);
+        }
     }
 
     /**
-     * Initializes the view. If no presenter is set, it creates a default one.
+     * {@inheritDoc}
+     * The whole batch is reported to the list as a single change.
+     */
+    @Override
+    public void addOrders(List<Order> orders) {
+        history.appendAll(orders);
+        if (indexed != null) {
+            indexed.appendAll(orders, CommandJournal.NO_CONTEXT);
+        }
+        if (recorder != null) {
+            recorder.recordAll(orders, CommandJournal.NO_CONTEXT);
+        }
+    }
+
+    /**
+     * Initializes the view. Binds the command list to the history, and if no presenter is set,
+     * creates a default one.
      * This is called automatically by JavaFX after the FXML is loaded.
      */
     @FXML
     public void initialize() {
+        if (commandList != null) {
+            commandList.setItems(history);
+        }
         if (presenter == null) {
             var loader = new OrdersLoaderImplementation();
             var selector = new CommandSelector();
@@ -1,45 +1,98 @@
 package com.devricks.civilwargeneral.controllers;
 
 import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.events.PresenterInitializeEvent;
+import com.devricks.civilwargeneral.metrics.Gauge;
+import com.devricks.civilwargeneral.metrics.Metrics;
 import com.devricks.civilwargeneral.orders.Orders;
 import com.devricks.civilwargeneral.orders.OrdersLoadException;
 import com.devricks.civilwargeneral.orders.OrdersLoader;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 /**
  * Presenter for the Main View in the MVP architecture.
  * Coordinates between the data loading, selection engine, and the UI.
+ * <p>
+ * When constructed with a background executor, orders are loaded off the JavaFX Application
+ * Thread: the window can paint immediately while generation stays disabled, and the result is
+ * applied to the UI through the UI executor once loading finishes. Each initialization, up to
+ * the result being applied, is recorded as a {@link PresenterInitializeEvent}.
  */
 public final class MainViewPresenter {
+    private static final Gauge CATALOG_SIZE = Metrics.global().gauge(Metrics.CATALOG_SIZE);
+
     private final MainViewUI ui;
     private final OrdersLoader loader;
     private final CommandSelector selector;
+    private final Executor backgroundExecutor;
+    private final Executor uiExecutor;
+    private final OrderUpdateDispatcher dispatcher;
     private Orders orders;
+    private int loadGeneration;
 
     /**
-     * Constructs a new MainViewPresenter.
+     * Constructs a new MainViewPresenter that loads orders synchronously.
      *
      * @param ui the UI interface to interact with
      * @param loader the loader for military orders
      * @param selector the selection engine for picking orders
      */
     public MainViewPresenter(MainViewUI ui, OrdersLoader loader, CommandSelector selector) {
+        this(ui, loader, selector, null, null);
+    }
+
+    /**
+     * Constructs a new MainViewPresenter that loads orders asynchronously.
+     * If either executor is null, orders are loaded synchronously.
+     *
+     * @param ui the UI interface to interact with
+     * @param loader the loader for military orders
+     * @param selector the selection engine for picking orders
+     * @param backgroundExecutor the executor orders are loaded and batches drawn on, typically a background thread
+     * @param uiExecutor the executor UI updates are applied on, typically {@code Platform::runLater}
+     */
+    public MainViewPresenter(MainViewUI ui, OrdersLoader loader, CommandSelector selector,
+                             Executor backgroundExecutor, Executor uiExecutor) {
         this.ui = ui;
         this.loader = loader;
         this.selector = selector;
+        this.backgroundExecutor = backgroundExecutor;
+        this.uiExecutor = uiExecutor;
+        this.dispatcher = backgroundExecutor == null || uiExecutor == null
+                ? null : new OrderUpdateDispatcher(ui, uiExecutor);
     }
 
     /**
      * Initializes the presenter by loading default orders and updating the UI state.
+     * In asynchronous mode this returns immediately with generation disabled; the button is
+     * enabled, or the failure reported, when loading completes.
      */
     public void initialize() {
+        PresenterInitializeEvent event = new PresenterInitializeEvent();
+        event.begin();
         ui.clearList();
-        try {
-            orders = loader.loadDefaults();
-            boolean hasOrders = orders != null && !orders.getAllOrders().isEmpty();
-            ui.setGeneratedEnabled(hasOrders);
-        } catch (OrdersLoadException e) {
-            ui.setGeneratedEnabled(false);
+        if (backgroundExecutor == null || uiExecutor == null) {
+            try {
+                orders = loader.loadDefaults();
+                int count = orders == null ? 0 : orders.snapshot().size();
+                CATALOG_SIZE.set(count);
+                ui.setGeneratedEnabled(orders != null && orders.snapshot().validCount() > 0);
+                event.complete(false, count, true);
+            } catch (OrdersLoadException e) {
+                CATALOG_SIZE.set(0);
+                ui.setGeneratedEnabled(false);
+                event.complete(false, 0, false);
+            }
+            return;
         }
+        orders = null;
+        int generation = ++loadGeneration;
+        ui.setGeneratedEnabled(false);
+        ui.showStatus("Loading orders...");
+        loader.loadDefaultsAsync(backgroundExecutor)
+                .whenCompleteAsync((loaded, failure) -> onLoaded(event, generation, loaded, failure), uiExecutor);
     }
 
     /**
@@ -47,7 +100,7 @@ public final class MainViewPresenter {
      * Triggers a random order selection and updates the UI history.
      */
     public void onGenerateClicked() {
-        if (orders == null || orders.getAllOrders().isEmpty()) {
+        if (orders == null || orders.snapshot().isEmpty()) {
             return;
         }
         var selected = selector.randomOrderSelector(orders);
@@ -55,4 +108,52 @@ public final class MainViewPresenter {
             ui.addOrder(selected);
         }
     }
+
+    /**
+     * Draws {@code count} orders in one action and appends them to the UI as a single batch.
+     * In asynchronous mode the draw runs on the background executor and the batch is delivered
+     * through an {@link OrderUpdateDispatcher}; otherwise it is drawn and shown immediately.
+     *
+     * @param count the number of orders to draw
+     */
+    public void onGenerateBatch(int count) {
+        Orders current = orders;
+        if (count <= 0 || current == null || current.snapshot().isEmpty()) {
+            return;
+        }
+        if (dispatcher == null) {
+            ui.addOrders(selector.selectMany(current, count));
+            return;
+        }
+        backgroundExecutor.execute(() -> dispatcher.submitAll(selector.selectMany(current, count)));
+    }
+
+    private void onLoaded(PresenterInitializeEvent event, int generation, Orders loaded, Throwable failure) {
+        if (generation != loadGeneration) {
+            // A later initialize() superseded this load
+            return;
+        }
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            CATALOG_SIZE.set(0);
+            ui.setGeneratedEnabled(false);
+            ui.showStatus("Failed to load orders: " + cause.getMessage());
+            event.complete(true, 0, false);
+            return;
+        }
+        orders = loaded;
+        int count = loaded == null ? 0 : loaded.snapshot().size();
+        int valid = loaded == null ? 0 : loaded.snapshot().validCount();
+        CATALOG_SIZE.set(count);
+        ui.setGeneratedEnabled(valid > 0);
+        if (count == 0) {
+            ui.showStatus("No orders available");
+        } else if (valid < count) {
+            ui.showStatus("Loaded " + valid + " orders (" + (count - valid) + " invalid skipped)");
+        } else {
+            ui.showStatus("Loaded " + count + " orders");
+        }
+        event.complete(true, count, true);
+    }
 }
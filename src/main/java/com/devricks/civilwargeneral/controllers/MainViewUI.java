@@ -2,6 +2,8 @@ package com.devricks.civilwargeneral.controllers;
 
 import com.devricks.civilwargeneral.orders.Order;
 
+import java.util.List;
+
 /**
  * Interface representing the UI contract for the Main View.
  * Provides methods for the Presenter to update the UI.
@@ -19,6 +21,13 @@ public interface MainViewUI {
      */
     void setGeneratedEnabled(boolean enabled);
 
+    /**
+     * Shows a short status message, such as loading progress or a load failure.
+     *
+     * @param message the message to show, or an empty string to clear it
+     */
+    void showStatus(String message);
+
     /**
      * Appends a single order to the UI representation (e.g., a ListView).
      * Must be called on the JavaFX Application Thread. Nulls are ignored.
@@ -27,4 +36,15 @@ public interface MainViewUI {
      */
     // May want to change this to appendOrder, will reevaluate later
     void addOrder(Order order);
+
+    /**
+     * Appends several orders to the UI representation in one update.
+     * Must be called on the JavaFX Application Thread. Null entries are ignored.
+     * The default implementation appends them one at a time.
+     *
+     * @param orders the orders to add, oldest first
+     */
+    default void addOrders(List<Order> orders) {
+        orders.forEach(this::addOrder);
+    }
 }
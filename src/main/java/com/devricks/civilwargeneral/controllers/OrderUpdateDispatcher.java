@@ -0,0 +1,89 @@
+package com.devricks.civilwargeneral.controllers;
+
+import com.devricks.civilwargeneral.orders.Order;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gathers orders produced on any thread and delivers them to the UI in batches.
+ * <p>
+ * Submitted orders are queued, and at most one flush is pending on the UI executor at a time.
+ * A flush delivers everything queued when it runs to {@link MainViewUI#addOrders(List)} as a
+ * single batch and list change, however many producer threads submitted it; orders submitted
+ * while a flush is pending join that flush instead of scheduling another task. The flush is not
+ * tied to the rendering pulse: with {@code Platform::runLater} as the executor it runs as soon as
+ * the FX thread dequeues it, so a fast producer may be delivered in several batches per frame.
+ */
+public final class OrderUpdateDispatcher {
+    private final MainViewUI ui;
+    private final Executor uiExecutor;
+    private final Queue<Order> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Constructs a new OrderUpdateDispatcher.
+     *
+     * @param ui the UI to deliver batches to
+     * @param uiExecutor the executor batches are delivered on, typically {@code Platform::runLater}
+     */
+    public OrderUpdateDispatcher(MainViewUI ui, Executor uiExecutor) {
+        this.ui = Objects.requireNonNull(ui, "ui");
+        this.uiExecutor = Objects.requireNonNull(uiExecutor, "uiExecutor");
+    }
+
+    /**
+     * Queues an order for the next batch. Safe to call from any thread.
+     *
+     * @param order the order to deliver; nulls are ignored
+     */
+    public void submit(Order order) {
+        if (order != null) {
+            pending.add(order);
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Queues several orders for the next batch, in order. Safe to call from any thread.
+     *
+     * @param orders the orders to deliver; null entries are ignored
+     */
+    public void submitAll(Collection<Order> orders) {
+        boolean added = false;
+        for (Order order : orders) {
+            if (order != null) {
+                pending.add(order);
+                added = true;
+            }
+        }
+        if (added) {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            uiExecutor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        // Clear the flag before draining so an order queued during the drain schedules another flush
+        flushScheduled.set(false);
+        List<Order> batch = new ArrayList<>();
+        Order order;
+        while ((order = pending.poll()) != null) {
+            batch.add(order);
+        }
+        if (!batch.isEmpty()) {
+            ui.addOrders(batch);
+        }
+    }
+}
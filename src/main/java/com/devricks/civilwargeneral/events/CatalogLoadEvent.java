@@ -0,0 +1,54 @@
+package com.devricks.civilwargeneral.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one {@code OrdersLoader.loadDefaults} call.
+ */
+@Name("com.devricks.civilwargeneral.CatalogLoad")
+@Label("Catalog Load")
+@Category({"Civil War General", "Loading"})
+@Description("Loading of an order catalog")
+public final class CatalogLoadEvent extends Event {
+
+    @Label("Source")
+    @Description("Classpath resource or file the catalog was loaded from")
+    String source;
+
+    @Label("Bytes")
+    @Description("Size of the source, or -1 if unknown")
+    @DataAmount
+    long bytes;
+
+    @Label("Records")
+    @Description("Number of orders loaded")
+    int records;
+
+    @Label("Failure")
+    @Description("Why loading failed, or null if it succeeded")
+    String failure;
+
+    /**
+     * Ends the event and commits it if it is enabled and passes its threshold.
+     *
+     * @param source the catalog's resource path or file
+     * @param bytes the size of the source, or -1 if unknown
+     * @param records the number of orders loaded
+     * @param failure the failure message, or null on success
+     */
+    public void complete(String source, long bytes, int records, String failure) {
+        end();
+        if (shouldCommit()) {
+            this.source = source;
+            this.bytes = bytes;
+            this.records = records;
+            this.failure = failure;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.devricks.civilwargeneral.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for appending generated orders to the command list, including the
+ * list change it fires.
+ */
+@Name("com.devricks.civilwargeneral.HistoryAppend")
+@Label("History Append")
+@Category({"Civil War General", "UI"})
+@Description("Append of one or more orders to the command history and list")
+public final class HistoryAppendEvent extends Event {
+
+    @Label("Batch Size")
+    @Description("Number of orders appended")
+    int batchSize;
+
+    @Label("Evicted")
+    @Description("Number of older entries evicted to make room")
+    int evicted;
+
+    @Label("History Length")
+    @Description("Number of entries in the history after the append")
+    int historyLength;
+
+    /**
+     * Ends the event and commits it if it is enabled and passes its threshold.
+     *
+     * @param batchSize the number of orders appended
+     * @param evicted the number of entries evicted
+     * @param historyLength the history size after the append
+     */
+    public void complete(int batchSize, int evicted, int historyLength) {
+        end();
+        if (shouldCommit()) {
+            this.batchSize = batchSize;
+            this.evicted = evicted;
+            this.historyLength = historyLength;
+            commit();
+        }
+    }
+}
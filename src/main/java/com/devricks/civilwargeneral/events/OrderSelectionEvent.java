@@ -0,0 +1,50 @@
+package com.devricks.civilwargeneral.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one call to a {@code CommandSelector} selection method.
+ * Stack traces are off because the event sits on the selection hot path.
+ */
+@Name("com.devricks.civilwargeneral.OrderSelection")
+@Label("Order Selection")
+@Category({"Civil War General", "Selection"})
+@Description("Selection of one or more orders from a catalog")
+@StackTrace(false)
+public final class OrderSelectionEvent extends Event {
+
+    @Label("Catalog Size")
+    @Description("Number of orders in the catalog snapshot selected from")
+    int catalogSize;
+
+    @Label("Order ID")
+    @Description("ID of the chosen order, or 0 if no valid order was chosen or several were drawn")
+    int orderId;
+
+    @Label("Count")
+    @Description("Number of orders drawn")
+    int count;
+
+    /**
+     * Ends the event and commits it if it is enabled and passes its threshold.
+     * Fields are only written when the event will be committed.
+     *
+     * @param catalogSize the number of orders in the catalog
+     * @param orderId the chosen order's ID, or 0 if none
+     * @param count the number of orders drawn
+     */
+    public void complete(int catalogSize, int orderId, int count) {
+        end();
+        if (shouldCommit()) {
+            this.catalogSize = catalogSize;
+            this.orderId = orderId;
+            this.count = count;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.devricks.civilwargeneral.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for {@code MainViewPresenter.initialize}. In asynchronous mode the
+ * event spans from the call until the loaded catalog has been applied to the UI.
+ */
+@Name("com.devricks.civilwargeneral.PresenterInitialize")
+@Label("Presenter Initialize")
+@Category({"Civil War General", "UI"})
+@Description("Initialization of the main view presenter, up to the catalog being applied")
+public final class PresenterInitializeEvent extends Event {
+
+    @Label("Asynchronous")
+    @Description("Whether the catalog was loaded off the calling thread")
+    boolean asynchronous;
+
+    @Label("Catalog Size")
+    @Description("Number of orders available once initialized, 0 on failure")
+    int catalogSize;
+
+    @Label("Succeeded")
+    @Description("Whether the catalog loaded")
+    boolean succeeded;
+
+    /**
+     * Ends the event and commits it if it is enabled and passes its threshold.
+     *
+     * @param asynchronous whether loading ran on a background executor
+     * @param catalogSize the number of orders loaded
+     * @param succeeded whether loading succeeded
+     */
+    public void complete(boolean asynchronous, int catalogSize, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.asynchronous = asynchronous;
+            this.catalogSize = catalogSize;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
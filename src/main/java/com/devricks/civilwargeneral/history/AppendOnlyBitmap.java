@@ -0,0 +1,196 @@
+package com.devricks.civilwargeneral.history;
+
+import java.util.Arrays;
+
+/**
+ * Compressed bitmap of non-negative positions that are added in increasing order.
+ * <p>
+ * Positions are split into chunks of 65,536 by their high 16 bits. A chunk holds a sorted
+ * {@code char[]} of its low 16 bits while it has at most 4,096 entries, and 1,024 words of bits
+ * beyond that, so sparse and dense sets both stay small. Because positions only grow, adding
+ * always goes to the last chunk and never shifts entries. Not thread-safe.
+ */
+final class AppendOnlyBitmap {
+    private static final int CHUNK_BITS = 16;
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = (1 << CHUNK_BITS) / Long.SIZE;
+
+    private int[] keys = new int[4];
+    private char[][] arrays = new char[4][];
+    private long[][] words = new long[4][];
+    private int[] chunkSizes = new int[4];
+    private int chunkCount;
+    private long cardinality;
+    private int last = -1;
+
+    /**
+     * Adds a position.
+     *
+     * @param position the position, greater than every position added before
+     * @throws IllegalArgumentException if the position is not greater than the last one added
+     */
+    void add(int position) {
+        if (position <= last) {
+            throw new IllegalArgumentException("Positions must increase: " + position + " after " + last);
+        }
+        last = position;
+        int key = position >>> CHUNK_BITS;
+        char low = (char) position;
+        if (chunkCount == 0 || keys[chunkCount - 1] != key) {
+            if (chunkCount == keys.length) {
+                int capacity = chunkCount * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                arrays = Arrays.copyOf(arrays, capacity);
+                words = Arrays.copyOf(words, capacity);
+                chunkSizes = Arrays.copyOf(chunkSizes, capacity);
+            }
+            keys[chunkCount] = key;
+            arrays[chunkCount] = new char[8];
+            chunkCount++;
+        }
+        int chunk = chunkCount - 1;
+        int size = chunkSizes[chunk];
+        if (words[chunk] != null) {
+            words[chunk][low >>> 6] |= 1L << low;
+        } else if (size < ARRAY_LIMIT) {
+            if (size == arrays[chunk].length) {
+                arrays[chunk] = Arrays.copyOf(arrays[chunk], Math.min(size * 2, ARRAY_LIMIT));
+            }
+            arrays[chunk][size] = low;
+        } else {
+            long[] bits = new long[WORDS];
+            for (int i = 0; i < size; i++) {
+                bits[arrays[chunk][i] >>> 6] |= 1L << arrays[chunk][i];
+            }
+            bits[low >>> 6] |= 1L << low;
+            words[chunk] = bits;
+            arrays[chunk] = null;
+        }
+        chunkSizes[chunk] = size + 1;
+        cardinality++;
+    }
+
+    /**
+     * Returns whether the position has been added.
+     *
+     * @param position the position
+     * @return true if present
+     */
+    boolean contains(int position) {
+        int chunk = Arrays.binarySearch(keys, 0, chunkCount, position >>> CHUNK_BITS);
+        return chunk >= 0 && contains(chunk, (char) position);
+    }
+
+    /**
+     * Returns the number of positions added.
+     *
+     * @return the cardinality
+     */
+    long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns every position, in increasing order.
+     *
+     * @return the positions
+     */
+    int[] toArray() {
+        return and(new AppendOnlyBitmap[]{this});
+    }
+
+    /**
+     * Intersects bitmaps. Chunks are matched by key, and dense chunks are intersected a word at
+     * a time; otherwise the entries of the smallest chunk are probed in the others.
+     *
+     * @param bitmaps the bitmaps to intersect, at least one
+     * @return the positions present in every bitmap, in increasing order
+     */
+    static int[] and(AppendOnlyBitmap[] bitmaps) {
+        AppendOnlyBitmap smallest = bitmaps[0];
+        for (AppendOnlyBitmap bitmap : bitmaps) {
+            if (bitmap.cardinality < smallest.cardinality) {
+                smallest = bitmap;
+            }
+        }
+        int[] result = new int[(int) smallest.cardinality];
+        int count = 0;
+        int[] chunks = new int[bitmaps.length];
+        for (int c = 0; c < smallest.chunkCount; c++) {
+            int key = smallest.keys[c];
+            boolean allPresent = true;
+            boolean allDense = true;
+            int smallestChunk = -1;
+            int smallestSize = Integer.MAX_VALUE;
+            for (int b = 0; b < bitmaps.length; b++) {
+                int chunk = Arrays.binarySearch(bitmaps[b].keys, 0, bitmaps[b].chunkCount, key);
+                if (chunk < 0) {
+                    allPresent = false;
+                    break;
+                }
+                chunks[b] = chunk;
+                allDense &= bitmaps[b].words[chunk] != null;
+                if (bitmaps[b].chunkSizes[chunk] < smallestSize) {
+                    smallestSize = bitmaps[b].chunkSizes[chunk];
+                    smallestChunk = b;
+                }
+            }
+            if (!allPresent) {
+                continue;
+            }
+            int base = key << CHUNK_BITS;
+            if (allDense) {
+                for (int w = 0; w < WORDS; w++) {
+                    long word = -1L;
+                    for (int b = 0; b < bitmaps.length && word != 0; b++) {
+                        word &= bitmaps[b].words[chunks[b]][w];
+                    }
+                    while (word != 0) {
+                        result[count++] = base | (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+                continue;
+            }
+            AppendOnlyBitmap probe = bitmaps[smallestChunk];
+            char[] values = probe.arrays[chunks[smallestChunk]];
+            if (values == null) {
+                values = probe.lows(chunks[smallestChunk]);
+            }
+            int size = probe.chunkSizes[chunks[smallestChunk]];
+            next:
+            for (int i = 0; i < size; i++) {
+                char low = values[i];
+                for (int b = 0; b < bitmaps.length; b++) {
+                    if (b != smallestChunk && !bitmaps[b].contains(chunks[b], low)) {
+                        continue next;
+                    }
+                }
+                result[count++] = base | low;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private boolean contains(int chunk, char low) {
+        long[] bits = words[chunk];
+        if (bits != null) {
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch(arrays[chunk], 0, chunkSizes[chunk], low) >= 0;
+    }
+
+    private char[] lows(int chunk) {
+        char[] values = new char[chunkSizes[chunk]];
+        int count = 0;
+        long[] bits = words[chunk];
+        for (int w = 0; w < WORDS; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                values[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+}
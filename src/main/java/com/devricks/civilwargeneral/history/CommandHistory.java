@@ -0,0 +1,241 @@
+package com.devricks.civilwargeneral.history;
+
+import com.devricks.civilwargeneral.orders.Order;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Bounded history of generated commands.
+ * <p>
+ * Entries are kept in a ring buffer of fixed capacity; once it is full, each append evicts the
+ * oldest entry, so memory is bounded by the capacity rather than by the length of the session.
+ * Each slot holds a reference to the order instance it was appended with, so an entry keeps
+ * showing the order that was issued even after a catalog reload edits that order.
+ * <p>
+ * When a spill file is given, evicted IDs are appended to it as 4-byte big-endian integers,
+ * oldest first, and can be read back with {@link #readSpilled(long, int)}.
+ * <p>
+ * This class is not thread-safe; the UI confines it to the JavaFX Application Thread.
+ */
+public final class CommandHistory implements Closeable {
+    private static final int SPILL_BATCH = 1024;
+
+    private final Order[] entries;
+    private final FileChannel spill;
+    private final ByteBuffer spillBuffer;
+    private int head;
+    private int size;
+    private long totalAppended;
+    private long spilledCount;
+
+    /**
+     * Constructs a history that discards evicted entries.
+     *
+     * @param capacity the maximum number of entries kept in memory
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public CommandHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.entries = new Order[capacity];
+        this.spill = null;
+        this.spillBuffer = null;
+    }
+
+    /**
+     * Constructs a history that appends evicted entries to a spill file.
+     * Entries already in the file are kept and counted.
+     *
+     * @param capacity the maximum number of entries kept in memory
+     * @param spillFile the file evicted IDs are appended to
+     * @throws IOException if the spill file cannot be opened
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public CommandHistory(int capacity, Path spillFile) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.entries = new Order[capacity];
+        this.spill = FileChannel.open(Objects.requireNonNull(spillFile, "spillFile"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.spill.position(spill.size() - spill.size() % Integer.BYTES);
+        this.spillBuffer = ByteBuffer.allocate(SPILL_BATCH * Integer.BYTES);
+        this.spilledCount = spill.position() / Integer.BYTES;
+    }
+
+    /**
+     * Appends an order, evicting the oldest entry if the history is full.
+     *
+     * @param order the order to record; nulls are ignored
+     * @return the evicted order, or null if nothing was evicted
+     * @throws UncheckedIOException if spilling the evicted entry fails
+     */
+    public Order append(Order order) {
+        if (order == null) {
+            return null;
+        }
+        totalAppended++;
+        if (size < entries.length) {
+            entries[(head + size++) % entries.length] = order;
+            return null;
+        }
+        Order evicted = entries[head];
+        entries[head] = order;
+        head = (head + 1) % entries.length;
+        spill(evicted.getId());
+        return evicted;
+    }
+
+    /**
+     * Returns the order at the given position, oldest first.
+     *
+     * @param index the position, from 0 to {@link #size()} - 1
+     * @return the order
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Order get(int index) {
+        Objects.checkIndex(index, size);
+        return entries[(head + index) % entries.length];
+    }
+
+    /**
+     * Returns the ID of the order at the given position, oldest first.
+     *
+     * @param index the position, from 0 to {@link #size()} - 1
+     * @return the order ID
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int getId(int index) {
+        return get(index).getId();
+    }
+
+    /**
+     * Returns the number of entries held in memory.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of entries held in memory.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Returns the number of orders appended since construction, including evicted ones.
+     *
+     * @return the total number of appends
+     */
+    public long totalAppended() {
+        return totalAppended;
+    }
+
+    /**
+     * Returns the number of entries in the spill file, including those not yet flushed.
+     *
+     * @return the number of spilled entries, or 0 if spilling is disabled
+     */
+    public long spilledCount() {
+        return spilledCount;
+    }
+
+    /**
+     * Reads spilled IDs back from the spill file, oldest first.
+     *
+     * @param from the index of the first spilled entry to read
+     * @param count the maximum number of entries to read
+     * @return the IDs read; fewer than {@code count} if the end of the spill is reached
+     * @throws IOException if the spill file cannot be read
+     * @throws IllegalStateException if spilling is disabled
+     */
+    public int[] readSpilled(long from, int count) throws IOException {
+        if (spill == null) {
+            throw new IllegalStateException("History has no spill file");
+        }
+        flush();
+        int available = (int) Math.max(0, Math.min(count, spilledCount - from));
+        ByteBuffer buffer = ByteBuffer.allocate(available * Integer.BYTES);
+        long position = from * Integer.BYTES;
+        while (buffer.hasRemaining()) {
+            int read = spill.read(buffer, position + buffer.position());
+            if (read < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        int[] result = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(result);
+        return result;
+    }
+
+    /**
+     * Removes every entry held in memory. Cleared entries are not spilled.
+     */
+    public void clear() {
+        Arrays.fill(entries, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Writes any buffered spilled entries to the spill file.
+     *
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        if (spill == null || spillBuffer.position() == 0) {
+            return;
+        }
+        spillBuffer.flip();
+        while (spillBuffer.hasRemaining()) {
+            spill.write(spillBuffer);
+        }
+        spillBuffer.clear();
+    }
+
+    /**
+     * Flushes and closes the spill file, if any.
+     *
+     * @throws IOException if flushing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (spill != null && spill.isOpen()) {
+            try {
+                flush();
+            } finally {
+                spill.close();
+            }
+        }
+    }
+
+    private void spill(int id) {
+        if (spill == null) {
+            return;
+        }
+        if (!spillBuffer.hasRemaining()) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to spill command history", e);
+            }
+        }
+        spillBuffer.putInt(id);
+        spilledCount++;
+    }
+}
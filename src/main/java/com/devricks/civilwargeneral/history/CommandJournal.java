@@ -0,0 +1,299 @@
+package com.devricks.civilwargeneral.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of generated commands, stored as fixed-size binary records in
+ * memory-mapped segment files.
+ * <p>
+ * Each segment is a file named after the sequence number of its first record, holding a small
+ * header followed by a fixed number of 24-byte records:
+ * <pre>
+ * header   magic "CWGJ" | format version | record bytes | records per segment    -- 16 bytes
+ * record   timestamp (long, epoch ms) | order id (int) | context (int) | selector version (int) | reserved (int)
+ * </pre>
+ * Segments are created at full size and mapped read-write, so an append is a handful of stores
+ * into memory and never a system call; when a segment is full the next one is created. The
+ * timestamp is written last, after a release fence, and is never zero, so the records of a
+ * segment end at the first zero timestamp; readers issue an acquire fence after reading a
+ * timestamp, so a record whose timestamp is visible is visible in full. Reopening a journal
+ * continues after its last record.
+ * <p>
+ * A journal is written by one thread at a time; {@link CommandRecorder} gives it a dedicated
+ * writer thread. {@link #replay} and {@link #replayTail} read the files directly and are meant
+ * for startup, before the journal is opened for writing.
+ */
+public final class CommandJournal implements Closeable {
+
+    /**
+     * Receives journal records without boxing them.
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        /**
+         * Visits one record.
+         *
+         * @param timestamp when the command was generated, in epoch milliseconds
+         * @param orderId the generated order's ID
+         * @param context the packed context the command was generated in, or {@link #NO_CONTEXT}
+         * @param selectorVersion the version of the selector that generated the command
+         */
+        void visit(long timestamp, int orderId, int context, int selectorVersion);
+    }
+
+    /** Context value for commands generated without a tactical context. */
+    public static final int NO_CONTEXT = -1;
+
+    /** Records per segment when none is given; 24 MB per segment file. */
+    public static final int DEFAULT_SEGMENT_RECORDS = 1 << 20;
+
+    /** Size of one record in bytes. */
+    public static final int RECORD_BYTES = 24;
+
+    private static final int MAGIC = 0x4357474A; // "CWGJ"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final String SUFFIX = ".journal";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.journal");
+
+    private final Path directory;
+    private final int segmentRecords;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private int segmentSize;
+
+    private CommandJournal(Path directory, int segmentRecords) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+    }
+
+    /**
+     * Opens the journal in the given directory with the default segment size, creating it if needed.
+     *
+     * @param directory the directory holding the segment files
+     * @return the journal, positioned after its last record
+     * @throws IOException if the directory or a segment cannot be opened or is not a journal
+     */
+    public static CommandJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    /**
+     * Opens the journal in the given directory, creating it if needed. New segments hold
+     * {@code segmentRecords} records; existing segments keep the size they were created with.
+     *
+     * @param directory the directory holding the segment files
+     * @param segmentRecords the number of records per new segment
+     * @return the journal, positioned after its last record
+     * @throws IOException if the directory or a segment cannot be opened or is not a journal
+     * @throws IllegalArgumentException if {@code segmentRecords} is not positive
+     */
+    public static CommandJournal open(Path directory, int segmentRecords) throws IOException {
+        if (segmentRecords <= 0) {
+            throw new IllegalArgumentException("segmentRecords must be positive: " + segmentRecords);
+        }
+        Files.createDirectories(directory);
+        CommandJournal journal = new CommandJournal(directory, segmentRecords);
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            journal.roll(0);
+        } else {
+            Path last = segments.getLast();
+            journal.segment = map(last, FileChannel.MapMode.READ_WRITE);
+            journal.segmentStart = firstSequence(last);
+            journal.segmentSize = recordCount(journal.segment);
+        }
+        return journal;
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param timestamp when the command was generated, in epoch milliseconds; must be positive
+     * @param orderId the generated order's ID
+     * @param context the packed context, or {@link #NO_CONTEXT}
+     * @param selectorVersion the version of the selector that generated the command
+     * @throws IOException if a new segment is needed and cannot be created
+     * @throws IllegalArgumentException if {@code timestamp} is not positive
+     */
+    public void append(long timestamp, int orderId, int context, int selectorVersion) throws IOException {
+        if (timestamp <= 0) {
+            throw new IllegalArgumentException("timestamp must be positive: " + timestamp);
+        }
+        if (segmentSize == capacity(segment)) {
+            roll(segmentStart + segmentSize);
+        }
+        int offset = HEADER_BYTES + segmentSize * RECORD_BYTES;
+        segment.putInt(offset + 8, orderId);
+        segment.putInt(offset + 12, context);
+        segment.putInt(offset + 16, selectorVersion);
+        // Plain buffer stores may be reordered; publish the fields before the timestamp.
+        VarHandle.releaseFence();
+        segment.putLong(offset, timestamp);
+        segmentSize++;
+    }
+
+    /**
+     * Returns the number of records in the journal, across all segments.
+     *
+     * @return the number of records
+     */
+    public long size() {
+        return segmentStart + segmentSize;
+    }
+
+    /**
+     * Forces the current segment's changes to the storage device.
+     */
+    public void flush() {
+        segment.force();
+    }
+
+    /**
+     * Flushes the journal. The segment stays mapped until it is garbage collected.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Visits every record in the journal, oldest first.
+     *
+     * @param directory the journal directory
+     * @param visitor the receiver of each record
+     * @return the number of records visited
+     * @throws IOException if a segment cannot be read or is not a journal
+     */
+    public static long replay(Path directory, EntryVisitor visitor) throws IOException {
+        return replayTail(directory, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Visits the last {@code count} records in the journal, oldest first. Only the segments
+     * holding those records are read.
+     *
+     * @param directory the journal directory
+     * @param count the maximum number of records to visit
+     * @param visitor the receiver of each record
+     * @return the number of records visited
+     * @throws IOException if a segment cannot be read or is not a journal
+     */
+    public static long replayTail(Path directory, long count, EntryVisitor visitor) throws IOException {
+        Objects.requireNonNull(visitor, "visitor");
+        if (!Files.isDirectory(directory) || count <= 0) {
+            return 0;
+        }
+        List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        MappedByteBuffer lastSegment = map(segments.getLast(), FileChannel.MapMode.READ_ONLY);
+        long total = firstSequence(segments.getLast()) + recordCount(lastSegment);
+        long from = Math.max(0, total - count);
+        long visited = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            long start = firstSequence(segments.get(i));
+            long end = i + 1 < segments.size() ? firstSequence(segments.get(i + 1)) : total;
+            if (end <= from) {
+                continue;
+            }
+            MappedByteBuffer buffer = i + 1 < segments.size()
+                    ? map(segments.get(i), FileChannel.MapMode.READ_ONLY) : lastSegment;
+            int records = (int) Math.min(end - start, recordCount(buffer));
+            for (int r = (int) Math.max(0, from - start); r < records; r++) {
+                int offset = HEADER_BYTES + r * RECORD_BYTES;
+                long timestamp = buffer.getLong(offset);
+                // Pairs with the release fence in append: the fields are read after the timestamp.
+                VarHandle.acquireFence();
+                visitor.visit(timestamp, buffer.getInt(offset + 8),
+                        buffer.getInt(offset + 12), buffer.getInt(offset + 16));
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        if (segment != null) {
+            segment.force();
+        }
+        Path file = directory.resolve(String.format(Locale.ROOT, "%020d%s", firstSequence, SUFFIX));
+        long bytes = HEADER_BYTES + (long) segmentRecords * RECORD_BYTES;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            mapped.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putInt(8, RECORD_BYTES).putInt(12, segmentRecords);
+            segment = mapped;
+        }
+        segmentStart = firstSequence;
+        segmentSize = 0;
+    }
+
+    private static MappedByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a command journal segment (size " + size + "): " + file);
+            }
+            MappedByteBuffer buffer = channel.map(mode, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION || buffer.getInt(8) != RECORD_BYTES
+                    || HEADER_BYTES + (long) buffer.getInt(12) * RECORD_BYTES > size) {
+                throw new IOException("Not a command journal segment: " + file);
+            }
+            return buffer;
+        }
+    }
+
+    private static int capacity(MappedByteBuffer segment) {
+        return segment.getInt(12);
+    }
+
+    /**
+     * Finds the number of records in a segment by binary search for the first zero timestamp.
+     */
+    private static int recordCount(MappedByteBuffer segment) {
+        int low = 0;
+        int high = capacity(segment);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (segment.getLong(HEADER_BYTES + mid * RECORD_BYTES) != 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                    .filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .toList());
+            segments.sort((a, b) -> Long.compare(firstSequence(a), firstSequence(b)));
+            return segments;
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+}
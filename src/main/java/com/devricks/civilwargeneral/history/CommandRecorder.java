@@ -0,0 +1,130 @@
+package com.devricks.civilwargeneral.history;
+
+import com.devricks.civilwargeneral.orders.Order;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records generated commands in a {@link CommandJournal} without blocking the caller.
+ * <p>
+ * The timestamp and order IDs are captured on the calling thread, typically the JavaFX
+ * Application Thread, and handed to a single daemon writer thread that owns the journal. If
+ * writing fails, the failure is kept for {@link #getFailure()} and later commands are dropped
+ * rather than reported to the UI.
+ */
+public final class CommandRecorder implements Closeable {
+    private final CommandJournal journal;
+    private final int selectorVersion;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            task -> Thread.ofPlatform().daemon().name("command-journal").unstarted(task));
+    private volatile IOException failure;
+
+    /**
+     * Constructs a recorder that takes ownership of the journal.
+     *
+     * @param journal the journal to append to
+     * @param selectorVersion the selector version stored with every record
+     */
+    public CommandRecorder(CommandJournal journal, int selectorVersion) {
+        this.journal = Objects.requireNonNull(journal, "journal");
+        this.selectorVersion = selectorVersion;
+    }
+
+    /**
+     * Records one generated order.
+     *
+     * @param order the generated order; nulls are ignored
+     * @param context the packed context it was generated in, or {@link CommandJournal#NO_CONTEXT}
+     */
+    public void record(Order order, int context) {
+        if (order != null) {
+            submit(System.currentTimeMillis(), new int[]{order.getId()}, 1, context);
+        }
+    }
+
+    /**
+     * Records a batch of generated orders with one timestamp.
+     *
+     * @param orders the generated orders; null entries are ignored
+     * @param context the packed context they were generated in, or {@link CommandJournal#NO_CONTEXT}
+     */
+    public void recordAll(List<Order> orders, int context) {
+        int[] ids = new int[orders.size()];
+        int count = 0;
+        for (Order order : orders) {
+            if (order != null) {
+                ids[count++] = order.getId();
+            }
+        }
+        if (count > 0) {
+            submit(System.currentTimeMillis(), ids, count, context);
+        }
+    }
+
+    /**
+     * Returns the first failure to write to the journal.
+     *
+     * @return the failure, or null if every record was written
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Writes the pending records, then flushes the journal. Records still pending after ten
+     * seconds are dropped. The journal is only flushed once the writer thread has stopped, since
+     * that thread may otherwise still be appending to it.
+     *
+     * @throws IOException if interrupted, or if the writer does not stop; the journal is then
+     *         left unflushed
+     */
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                // Drop the pending records; the batch being appended still runs to its end.
+                writer.shutdownNow();
+                if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                    throw new IOException("Timed out waiting for the command journal writer to stop");
+                }
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the command journal", e);
+        }
+        journal.close();
+    }
+
+    private void submit(long timestamp, int[] ids, int count, int context) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            writer.execute(() -> write(timestamp, ids, count, context));
+        } catch (RejectedExecutionException e) {
+            // Closed; the command is not journaled
+        }
+    }
+
+    private void write(long timestamp, int[] ids, int count, int context) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            for (int i = 0; i < count; i++) {
+                journal.append(timestamp, ids[i], context, selectorVersion);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.devricks.civilwargeneral.history;
+
+import com.devricks.civilwargeneral.ai.TacticalContext;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Queryable record of every generated command, indexed by order and by tactical condition.
+ * <p>
+ * Each appended command gets the next position. The index keeps one compressed bitmap of
+ * positions per order ID and one per {@link TacticalContext.Condition}, and updates them on
+ * every append; a query such as "order 3 in fog, at night, with low morale" is the
+ * intersection of four bitmaps rather than a scan of the history.
+ * <p>
+ * Each position stores an index into a table of the distinct order instances appended, so it
+ * resolves to the instance it was appended with, even after a catalog reload edits that order.
+ * A new table entry is only made when an ID is appended with a different instance than the last
+ * one for that ID, so the table stays close to the size of the catalog.
+ * <p>
+ * Commands generated without a context ({@link CommandJournal#NO_CONTEXT}) are indexed by
+ * order only and never match a condition. This class is not thread-safe; build it on one
+ * thread and then confine it to the JavaFX Application Thread.
+ */
+public final class HistoryIndex {
+
+    /** Order ID that matches every order in {@link #find}. */
+    public static final int ANY_ORDER = 0;
+
+    private static final int[][] CONTEXT_FEATURES = new int[TacticalContext.CONTEXT_COUNT][];
+
+    static {
+        for (int ordinal = 0; ordinal < TacticalContext.CONTEXT_COUNT; ordinal++) {
+            CONTEXT_FEATURES[ordinal] = TacticalContext.fromOrdinal(ordinal).featureIndices();
+        }
+    }
+
+    private final IdMap<AppendOnlyBitmap> byOrder = new IdMap<>();
+    private final AppendOnlyBitmap[] byCondition = new AppendOnlyBitmap[TacticalContext.FEATURE_COUNT];
+    private final IdMap<Integer> latestInstance = new IdMap<>();
+    private Order[] instances = new Order[64];
+    private int instanceCount;
+    private int[] entries = new int[1024];
+    private int size;
+
+    /**
+     * Constructs an empty index.
+     */
+    public HistoryIndex() {
+        for (int i = 0; i < byCondition.length; i++) {
+            byCondition[i] = new AppendOnlyBitmap();
+        }
+    }
+
+    /**
+     * Builds an index from a command journal, resolving order IDs through the catalog.
+     * Journal records whose order is not in the catalog are skipped.
+     *
+     * @param journalDirectory the journal directory
+     * @param catalog the catalog the journaled IDs refer to
+     * @return the index
+     * @throws IOException if the journal cannot be read
+     */
+    public static HistoryIndex fromJournal(Path journalDirectory, Orders catalog) throws IOException {
+        HistoryIndex index = new HistoryIndex();
+        IdMap<Order> resolved = new IdMap<>();
+        CommandJournal.replay(journalDirectory, (timestamp, orderId, context, selectorVersion) -> {
+            Order order = resolved.get(orderId);
+            if (order == null) {
+                order = catalog.getOrderById(orderId).orElse(null);
+                if (order != null) {
+                    resolved.put(orderId, order);
+                }
+            }
+            if (order != null) {
+                index.append(order, context);
+            }
+        });
+        return index;
+    }
+
+    /**
+     * Appends a command and updates the indexes.
+     *
+     * @param order the generated order
+     * @param context the packed {@link TacticalContext#ordinal()} it was generated in, or {@link CommandJournal#NO_CONTEXT}
+     * @return the command's position
+     * @throws IllegalArgumentException if the context is neither a valid ordinal nor {@code NO_CONTEXT}
+     * @throws IllegalStateException if the index is full
+     */
+    public int append(Order order, int context) {
+        Objects.requireNonNull(order, "order");
+        if (context != CommandJournal.NO_CONTEXT && (context < 0 || context >= TacticalContext.CONTEXT_COUNT)) {
+            throw new IllegalArgumentException("Context ordinal out of range: " + context);
+        }
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("History index is full");
+        }
+        int position = size;
+        int id = order.getId();
+        if (position == entries.length) {
+            entries = Arrays.copyOf(entries, (int) Math.min(Integer.MAX_VALUE - 8L, position * 2L));
+        }
+        entries[position] = intern(order);
+        AppendOnlyBitmap positions = byOrder.get(id);
+        if (positions == null) {
+            positions = new AppendOnlyBitmap();
+            byOrder.put(id, positions);
+        }
+        positions.add(position);
+        if (context != CommandJournal.NO_CONTEXT) {
+            for (int feature : CONTEXT_FEATURES[context]) {
+                byCondition[feature].add(position);
+            }
+        }
+        size++;
+        return position;
+    }
+
+    /**
+     * Returns the number of commands in the index.
+     *
+     * @return the number of positions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the order of the command at a position.
+     *
+     * @param position the position, from 0 to {@link #size()} - 1
+     * @return the order
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public Order get(int position) {
+        Objects.checkIndex(position, size);
+        return instances[entries[position]];
+    }
+
+    /**
+     * Returns the order ID of the command at a position.
+     *
+     * @param position the position, from 0 to {@link #size()} - 1
+     * @return the order ID
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public int getOrderId(int position) {
+        return get(position).getId();
+    }
+
+    /**
+     * Finds the commands that were issued for the given order in every given condition.
+     *
+     * @param orderId the order ID, or {@link #ANY_ORDER}
+     * @param conditions the conditions that must all have held
+     * @return the matching positions, oldest first; every position if the query has no filter
+     */
+    public int[] find(int orderId, TacticalContext.Condition... conditions) {
+        AppendOnlyBitmap[] filters = new AppendOnlyBitmap[conditions.length + 1];
+        int count = 0;
+        if (orderId != ANY_ORDER) {
+            AppendOnlyBitmap order = byOrder.get(orderId);
+            if (order == null) {
+                return new int[0];
+            }
+            filters[count++] = order;
+        }
+        for (TacticalContext.Condition condition : conditions) {
+            filters[count++] = byCondition[condition.featureIndex()];
+        }
+        if (count == 0) {
+            int[] all = new int[size];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        return AppendOnlyBitmap.and(Arrays.copyOf(filters, count));
+    }
+
+    /**
+     * Returns whether the command at a position matches a query of {@link #find}.
+     *
+     * @param position the position
+     * @param orderId the order ID, or {@link #ANY_ORDER}
+     * @param conditions the conditions that must all have held
+     * @return true if the command matches
+     */
+    public boolean matches(int position, int orderId, TacticalContext.Condition... conditions) {
+        if (orderId != ANY_ORDER && getOrderId(position) != orderId) {
+            return false;
+        }
+        for (TacticalContext.Condition condition : conditions) {
+            if (!byCondition[condition.featureIndex()].contains(position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int intern(Order order) {
+        Integer latest = latestInstance.get(order.getId());
+        if (latest != null && instances[latest] == order) {
+            return latest;
+        }
+        if (instanceCount == instances.length) {
+            instances = Arrays.copyOf(instances, instanceCount * 2);
+        }
+        instances[instanceCount] = order;
+        latestInstance.put(order.getId(), instanceCount);
+        return instanceCount++;
+    }
+}
@@ -0,0 +1,101 @@
+package com.devricks.civilwargeneral.history;
+
+/**
+ * Primitive open-addressing hash map from order ID to a value.
+ * <p>
+ * Keys are stored in an {@code int[]} with linear probing, so lookups never box an
+ * {@link Integer}. Entries are never removed. Not thread-safe.
+ *
+ * @param <V> the value type
+ */
+final class IdMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructs an empty map.
+     */
+    IdMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the value mapped to the given ID.
+     *
+     * @param id the order ID
+     * @return the value, or null if the ID is not mapped
+     */
+    @SuppressWarnings("unchecked")
+    V get(int id) {
+        int i = bucket(id);
+        while (values[i] != null) {
+            if (keys[i] == id) {
+                return (V) values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Maps the ID to the value, replacing any previous value.
+     *
+     * @param id the order ID
+     * @param value the value, must not be null
+     */
+    void put(int id, V value) {
+        int i = bucket(id);
+        while (values[i] != null) {
+            if (keys[i] == id) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Returns the number of mapped IDs.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int j = bucket(oldKeys[i]);
+                while (values[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private int bucket(int id) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,42 @@
+package com.devricks.civilwargeneral.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event counter backed by a {@link LongAdder}.
+ */
+public final class Counter implements CounterMXBean {
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructs a counter at zero.
+     */
+    public Counter() {
+    }
+
+    /**
+     * Adds one to the count.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds to the count.
+     *
+     * @param amount the amount to add
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,18 @@
+package com.devricks.civilwargeneral.metrics;
+
+/**
+ * Management interface of a {@link Counter}.
+ */
+public interface CounterMXBean {
+    /**
+     * Returns the current count.
+     *
+     * @return the count
+     */
+    long getCount();
+
+    /**
+     * Sets the count back to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,28 @@
+package com.devricks.civilwargeneral.metrics;
+
+/**
+ * Holds the latest value of a quantity, such as a size, as set by its owner.
+ */
+public final class Gauge implements GaugeMXBean {
+    private volatile long value;
+
+    /**
+     * Constructs a gauge at zero.
+     */
+    public Gauge() {
+    }
+
+    /**
+     * Sets the current value.
+     *
+     * @param value the value
+     */
+    public void set(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public long getValue() {
+        return value;
+    }
+}
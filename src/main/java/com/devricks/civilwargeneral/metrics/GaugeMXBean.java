@@ -0,0 +1,13 @@
+package com.devricks.civilwargeneral.metrics;
+
+/**
+ * Management interface of a {@link Gauge}.
+ */
+public interface GaugeMXBean {
+    /**
+     * Returns the last value set.
+     *
+     * @return the value
+     */
+    long getValue();
+}
@@ -0,0 +1,54 @@
+package com.devricks.civilwargeneral.metrics;
+
+/**
+ * Management interface of a {@link LatencyHistogram}. All durations are in nanoseconds;
+ * percentiles are the upper bound of the power-of-two bucket they fall in.
+ */
+public interface LatencyHistogramMXBean {
+    /**
+     * Returns the number of recorded samples.
+     *
+     * @return the sample count
+     */
+    long getCount();
+
+    /**
+     * Returns the mean of the recorded samples.
+     *
+     * @return the mean duration, or 0 if nothing was recorded
+     */
+    long getMeanNanos();
+
+    /**
+     * Returns the largest recorded sample.
+     *
+     * @return the maximum duration, or 0 if nothing was recorded
+     */
+    long getMaxNanos();
+
+    /**
+     * Returns the median.
+     *
+     * @return the 50th percentile
+     */
+    long getP50Nanos();
+
+    /**
+     * Returns the 90th percentile.
+     *
+     * @return the 90th percentile
+     */
+    long getP90Nanos();
+
+    /**
+     * Returns the 99th percentile.
+     *
+     * @return the 99th percentile
+     */
+    long getP99Nanos();
+
+    /**
+     * Discards all recorded samples.
+     */
+    void reset();
+}
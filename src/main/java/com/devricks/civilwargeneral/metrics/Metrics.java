@@ -0,0 +1,172 @@
+package com.devricks.civilwargeneral.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the application's metrics.
+ * <p>
+ * Metrics are created on first use by name and live for the life of the registry. Components
+ * record into {@link #global()}, typically holding the metric in a static field. Once
+ * {@link #publish()} has been called, every metric, including those created later, is also
+ * registered as an MXBean named {@code com.devricks.civilwargeneral:type=<Type>,name=<name>} so it
+ * can be watched with JConsole or VisualVM. Recording never touches JMX.
+ */
+public final class Metrics {
+    /** Domain of the published MBean names. */
+    public static final String DOMAIN = "com.devricks.civilwargeneral";
+
+    /** Latency of single-order selections. */
+    public static final String SELECTION_LATENCY = "selection";
+    /** Latency of {@code selectMany} and {@code selectPositions} batches. */
+    public static final String SELECTION_BATCH_LATENCY = "selection.batch";
+    /** Selections that returned nothing because there was no valid order to select from. */
+    public static final String SELECTION_EMPTY = "selection.empty";
+    /** Weighted selections that landed on an invalid order. */
+    public static final String SELECTION_INVALID = "selection.invalid";
+    /** Latency of {@code OrdersLoader.loadDefaults}. */
+    public static final String LOAD_LATENCY = "load";
+    /** Failed catalog loads. */
+    public static final String LOAD_FAILURES = "load.failures";
+    /** Size of the catalog the presenter selects from. */
+    public static final String CATALOG_SIZE = "catalog.size";
+    /** Catalog requests answered by the shared catalog cache. */
+    public static final String CATALOG_CACHE_HITS = "catalog.cache.hits";
+    /** Catalog requests that parsed a catalog in the shared catalog cache. */
+    public static final String CATALOG_CACHE_MISSES = "catalog.cache.misses";
+    /** Catalogs evicted from the shared catalog cache. */
+    public static final String CATALOG_CACHE_EVICTIONS = "catalog.cache.evictions";
+    /** Number of entries in the command history. */
+    public static final String HISTORY_LENGTH = "history.length";
+    /** Latency of requests handled by the {@code OrderServer}. */
+    public static final String SERVER_REQUEST_LATENCY = "server.request";
+    /** {@code OrderServer} requests answered with an error status. */
+    public static final String SERVER_ERRORS = "server.errors";
+
+    private static final Metrics GLOBAL = new Metrics();
+
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+    private volatile MBeanServer server;
+
+    /**
+     * Constructs an empty, unpublished registry.
+     */
+    public Metrics() {
+    }
+
+    /**
+     * Returns the registry shared by the application.
+     *
+     * @return the global registry
+     */
+    public static Metrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the latency histogram with the given name, creating it if needed.
+     *
+     * @param name the metric name
+     * @return the histogram
+     * @throws IllegalArgumentException if a metric of another type has this name
+     */
+    public LatencyHistogram histogram(String name) {
+        return get(name, LatencyHistogram.class, LatencyHistogram::new);
+    }
+
+    /**
+     * Returns the counter with the given name, creating it if needed.
+     *
+     * @param name the metric name
+     * @return the counter
+     * @throws IllegalArgumentException if a metric of another type has this name
+     */
+    public Counter counter(String name) {
+        return get(name, Counter.class, Counter::new);
+    }
+
+    /**
+     * Returns the gauge with the given name, creating it if needed.
+     *
+     * @param name the metric name
+     * @return the gauge
+     * @throws IllegalArgumentException if a metric of another type has this name
+     */
+    public Gauge gauge(String name) {
+        return get(name, Gauge.class, Gauge::new);
+    }
+
+    /**
+     * Publishes every metric to the platform MBean server.
+     */
+    public void publish() {
+        publish(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Publishes every metric, now and as they are created, to the given MBean server.
+     * Metrics already registered under the same name are left in place.
+     *
+     * @param mBeanServer the server to register with
+     */
+    public synchronized void publish(MBeanServer mBeanServer) {
+        server = mBeanServer;
+        metrics.forEach((name, metric) -> register(mBeanServer, name, metric));
+    }
+
+    /**
+     * Returns the MBean name a metric is published under.
+     *
+     * @param name the metric name
+     * @param metric the metric
+     * @return the object name
+     */
+    public static ObjectName objectName(String name, Object metric) {
+        try {
+            return new ObjectName(DOMAIN + ":type=" + metric.getClass().getSimpleName() + ",name=" + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid metric name: " + name, e);
+        }
+    }
+
+    private <T> T get(String name, Class<T> type, Supplier<T> factory) {
+        Object metric = metrics.get(name);
+        if (metric == null) {
+            metric = create(name, factory);
+        }
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + metric.getClass().getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    private synchronized Object create(String name, Supplier<?> factory) {
+        Object existing = metrics.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        Object metric = factory.get();
+        metrics.put(name, metric);
+        MBeanServer mBeanServer = server;
+        if (mBeanServer != null) {
+            register(mBeanServer, name, metric);
+        }
+        return metric;
+    }
+
+    private static void register(MBeanServer mBeanServer, String name, Object metric) {
+        try {
+            mBeanServer.registerMBean(metric, objectName(name, metric));
+        } catch (InstanceAlreadyExistsException e) {
+            // Published before, e.g. by an earlier publish() call
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to publish metric " + name, e);
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.devricks.civilwargeneral.orders;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Compact, memory-mapped binary order catalog.
+ * <p>
+ * The file is laid out as a fixed header, one fixed-width record per order, a string table and
+ * a pool of UTF-8 bytes in which every distinct name or description is stored once:
+ * <pre>
+ * header   magic "CWGC" | format version | record count | string count | records offset | strings offset
+ * records  id (int) | name string index (int) | description string index (int)    -- 12 bytes each
+ * strings  pool offset (int) | byte length (int)                                   -- 8 bytes each
+ * pool     UTF-8 bytes
+ * </pre>
+ * A string index of -1 stands for a null field. Opening a catalog maps the file read-only and
+ * checks that the header, every string entry and every record's string indices lie inside the
+ * file, without decoding anything; records and strings are decoded lazily when an order is
+ * requested, and each distinct string is decoded at most once.
+ */
+public final class BinaryCatalog {
+    private static final int MAGIC = 0x43574743; // "CWGC"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int RECORD_BYTES = 12;
+    private static final int STRING_ENTRY_BYTES = 8;
+    private static final int NULL_STRING = -1;
+
+    private final ByteBuffer buffer;
+    private final int recordCount;
+    private final int stringCount;
+    private final int recordsOffset;
+    private final int stringsOffset;
+    private final int poolOffset;
+    private final String[] decoded;
+
+    private BinaryCatalog(ByteBuffer buffer, int recordCount, int stringCount, int recordsOffset, int stringsOffset) {
+        this.buffer = buffer;
+        this.recordCount = recordCount;
+        this.stringCount = stringCount;
+        this.recordsOffset = recordsOffset;
+        this.stringsOffset = stringsOffset;
+        this.poolOffset = stringsOffset + stringCount * STRING_ENTRY_BYTES;
+        this.decoded = new String[stringCount];
+    }
+
+    /**
+     * Maps a binary catalog file into memory.
+     *
+     * @param file the catalog file
+     * @return the opened catalog
+     * @throws OrdersLoadException if the file cannot be read, is not a catalog, or is truncated or corrupt
+     */
+    public static BinaryCatalog open(Path file) throws OrdersLoadException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new OrdersLoadException("Not a binary orders catalog (size " + size + "): " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new OrdersLoadException("Failed to map binary orders catalog: " + file, e);
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new OrdersLoadException("Not a binary orders catalog (bad magic): " + file);
+        }
+        int version = buffer.getInt(4);
+        if (version != FORMAT_VERSION) {
+            throw new OrdersLoadException("Unsupported binary orders catalog version " + version + ": " + file);
+        }
+        int recordCount = buffer.getInt(8);
+        int stringCount = buffer.getInt(12);
+        long recordsOffset = buffer.getLong(16);
+        long stringsOffset = buffer.getLong(24);
+        long recordsEnd = recordsOffset + (long) recordCount * RECORD_BYTES;
+        long stringsEnd = stringsOffset + (long) stringCount * STRING_ENTRY_BYTES;
+        if (recordCount < 0 || stringCount < 0 || recordsOffset < HEADER_BYTES || recordsEnd > stringsOffset
+            || stringsEnd > buffer.capacity()) {
+            throw new OrdersLoadException("Corrupt binary orders catalog header: " + file);
+        }
+        BinaryCatalog catalog = new BinaryCatalog(buffer, recordCount, stringCount, (int) recordsOffset,
+                (int) stringsOffset);
+        catalog.checkTables(file);
+        return catalog;
+    }
+
+    /**
+     * Returns the number of orders in the catalog.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the number of distinct strings in the catalog's pool.
+     *
+     * @return the number of pooled strings
+     */
+    public int stringCount() {
+        return stringCount;
+    }
+
+    /**
+     * Returns the size of the mapped catalog file.
+     *
+     * @return the file size in bytes
+     */
+    public long byteSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns the ID of the order at the given position without decoding its strings.
+     *
+     * @param index the record position
+     * @return the order ID
+     */
+    public int getId(int index) {
+        return buffer.getInt(recordOffset(index));
+    }
+
+    /**
+     * Decodes the order at the given position. Each call returns a new, detached {@link Order};
+     * the strings are shared between all orders that use them.
+     *
+     * @param index the record position
+     * @return the order
+     */
+    public Order get(int index) {
+        int offset = recordOffset(index);
+        return new Order(string(buffer.getInt(offset + 4)), string(buffer.getInt(offset + 8)), buffer.getInt(offset));
+    }
+
+    /**
+     * Returns a read-only list view that decodes orders on access. {@link OrdersSnapshot} and
+     * {@link ValidationReport} read IDs and validity through it without decoding.
+     *
+     * @return a lazy list of the catalog's orders
+     */
+    public List<Order> asList() {
+        return new OrderView();
+    }
+
+    /**
+     * Writes orders to a binary catalog file, deduplicating their strings.
+     * The file is written to a temporary sibling and moved into place when complete.
+     *
+     * @param orders the orders to write; null orders are skipped
+     * @param target the catalog file to create or replace
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(List<Order> orders, Path target) throws IOException {
+        try (Writer writer = new Writer(target)) {
+            for (Order order : orders) {
+                if (order != null) {
+                    writer.add(order);
+                }
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * Converts a JSON catalog into the binary format. The JSON is streamed and validated with
+     * {@link OrdersJsonReader}, so only the distinct strings are held in memory.
+     *
+     * @param jsonFile the JSON catalog to read
+     * @param target the binary catalog file to create or replace
+     * @return the number of orders converted
+     * @throws OrdersLoadException if the JSON cannot be read or validated, or the output cannot be written
+     */
+    public static int convert(Path jsonFile, Path target) throws OrdersLoadException {
+        try (Writer writer = new Writer(target)) {
+            int count = OrdersJsonReader.readFile(jsonFile, order -> {
+                try {
+                    writer.add(order);
+                } catch (IOException e) {
+                    throw new OrdersLoadException("Failed to write binary orders catalog: " + target, e);
+                }
+            });
+            writer.finish();
+            return count;
+        } catch (IOException e) {
+            throw new OrdersLoadException("Failed to write binary orders catalog: " + target, e);
+        }
+    }
+
+    /**
+     * Checks that every string lies inside the pool and every record refers to an existing
+     * string, so that decoding can never read outside the file.
+     */
+    private void checkTables(Path file) throws OrdersLoadException {
+        for (int i = 0; i < stringCount; i++) {
+            int entry = stringsOffset + i * STRING_ENTRY_BYTES;
+            int start = buffer.getInt(entry);
+            int length = buffer.getInt(entry + 4);
+            if (start < 0 || length < 0 || (long) poolOffset + start + length > buffer.capacity()) {
+                throw new OrdersLoadException("Corrupt binary orders catalog: string " + i
+                        + " lies outside the file: " + file);
+            }
+        }
+        for (int i = 0; i < recordCount; i++) {
+            int offset = recordsOffset + i * RECORD_BYTES;
+            int name = buffer.getInt(offset + 4);
+            int description = buffer.getInt(offset + 8);
+            if (name < NULL_STRING || name >= stringCount || description < NULL_STRING || description >= stringCount) {
+                throw new OrdersLoadException("Corrupt binary orders catalog: record " + i
+                        + " refers to a missing string: " + file);
+            }
+        }
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + recordCount);
+        }
+        return recordsOffset + index * RECORD_BYTES;
+    }
+
+    private String string(int stringIndex) {
+        if (stringIndex == NULL_STRING) {
+            return null;
+        }
+        String value = decoded[stringIndex];
+        if (value == null) {
+            int entry = stringsOffset + stringIndex * STRING_ENTRY_BYTES;
+            byte[] bytes = new byte[buffer.getInt(entry + 4)];
+            buffer.get(poolOffset + buffer.getInt(entry), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            decoded[stringIndex] = value;
+        }
+        return value;
+    }
+
+    private boolean isNonEmpty(int stringIndex) {
+        return stringIndex != NULL_STRING && buffer.getInt(stringsOffset + stringIndex * STRING_ENTRY_BYTES + 4) > 0;
+    }
+
+    /**
+     * Read-only list of the records, whose IDs and validity are read from the file without
+     * decoding any string.
+     */
+    private final class OrderView extends AbstractList<Order> implements RandomAccess, OrderColumns {
+        @Override
+        public Order get(int index) {
+            return BinaryCatalog.this.get(index);
+        }
+
+        @Override
+        public boolean isNullRow(int index) {
+            // The writer skips null orders.
+            return false;
+        }
+
+        @Override
+        public int getId(int index) {
+            return BinaryCatalog.this.getId(index);
+        }
+
+        @Override
+        public boolean isValid(int index) {
+            int offset = recordOffset(index);
+            return buffer.getInt(offset) > 0 && isNonEmpty(buffer.getInt(offset + 4))
+                    && isNonEmpty(buffer.getInt(offset + 8));
+        }
+
+        @Override
+        public int size() {
+            return recordCount;
+        }
+    }
+
+    /**
+     * Streams records into a temporary file, then appends the string table and pool and
+     * back-fills the header once all counts are known.
+     */
+    private static final class Writer implements AutoCloseable {
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final ByteBuffer records = ByteBuffer.allocate(RECORD_BYTES * 4096);
+        private final Map<String, Integer> stringIndex = new HashMap<>();
+        private final StringPool pool = new StringPool();
+        private int[] stringOffsets = new int[1024];
+        private int recordCount;
+        private boolean finished;
+
+        Writer(Path target) throws IOException {
+            this.target = target;
+            Path dir = target.toAbsolutePath().getParent();
+            this.temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER_BYTES);
+        }
+
+        void add(Order order) throws IOException {
+            if (!records.hasRemaining()) {
+                flushRecords();
+            }
+            records.putInt(order.getId());
+            records.putInt(intern(order.getName()));
+            records.putInt(intern(order.getDescription()));
+            recordCount++;
+        }
+
+        void finish() throws IOException {
+            flushRecords();
+            long stringsOffset = channel.position();
+            int stringCount = stringIndex.size();
+            ByteBuffer table = ByteBuffer.allocate(STRING_ENTRY_BYTES * 4096);
+            for (int i = 0; i < stringCount; i++) {
+                if (!table.hasRemaining()) {
+                    writeFully(table.flip());
+                    table.clear();
+                }
+                int start = stringOffsets[i];
+                int end = i + 1 < stringCount ? stringOffsets[i + 1] : pool.size();
+                table.putInt(start).putInt(end - start);
+            }
+            writeFully(table.flip());
+            writeFully(pool.toByteBuffer());
+            if (channel.position() > Integer.MAX_VALUE) {
+                throw new IOException("Binary orders catalog exceeds 2 GB");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(FORMAT_VERSION).putInt(recordCount).putInt(stringCount)
+                    .putLong(HEADER_BYTES).putLong(stringsOffset);
+            channel.write(header.flip(), 0);
+            channel.force(false);
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private int intern(String value) {
+            if (value == null) {
+                return NULL_STRING;
+            }
+            Integer existing = stringIndex.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            int index = stringIndex.size();
+            if (index == stringOffsets.length) {
+                stringOffsets = Arrays.copyOf(stringOffsets, index * 2);
+            }
+            stringOffsets[index] = pool.size();
+            pool.write(value.getBytes(StandardCharsets.UTF_8));
+            stringIndex.put(value, index);
+            return index;
+        }
+
+        private void flushRecords() throws IOException {
+            writeFully(records.flip());
+            records.clear();
+        }
+
+        private void writeFully(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    /**
+     * Growable byte array for the string pool.
+     */
+    private static final class StringPool {
+        private byte[] bytes = new byte[8192];
+        private int size;
+
+        void write(byte[] data) {
+            if (size + data.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + data.length));
+            }
+            System.arraycopy(data, 0, bytes, size, data.length);
+            size += data.length;
+        }
+
+        int size() {
+            return size;
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(bytes, 0, size);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.devricks.civilwargeneral.orders;
+
+import com.devricks.civilwargeneral.events.CatalogLoadEvent;
+import com.devricks.civilwargeneral.metrics.Counter;
+import com.devricks.civilwargeneral.metrics.LatencyHistogram;
+import com.devricks.civilwargeneral.metrics.Metrics;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Implementation of the OrdersLoader interface that loads orders from a memory-mapped
+ * {@link BinaryCatalog} file on the filesystem.
+ * <p>
+ * The catalog is mapped rather than parsed, and the returned {@link Orders} reads it in place:
+ * loading only checks the file's tables and compiles the {@link ValidationReport} from the
+ * record IDs and string lengths, so no order or string is decoded until it is first read.
+ */
+public class BinaryOrdersLoader implements OrdersLoader {
+
+    private static final LatencyHistogram LOAD_LATENCY = Metrics.global().histogram(Metrics.LOAD_LATENCY);
+    private static final Counter LOAD_FAILURES = Metrics.global().counter(Metrics.LOAD_FAILURES);
+
+    private final Path catalogFile;
+
+    /**
+     * Constructs a new BinaryOrdersLoader for the given catalog file.
+     *
+     * @param catalogFile the binary catalog written by {@link BinaryCatalog#write} or {@link BinaryCatalog#convert}
+     */
+    public BinaryOrdersLoader(Path catalogFile) {
+        this.catalogFile = Objects.requireNonNull(catalogFile, "catalogFile");
+    }
+
+    /**
+     * {@inheritDoc}
+     * The load time and any failure are recorded in {@link Metrics#global()} and as a
+     * {@link CatalogLoadEvent}.
+     */
+    @Override
+    public Orders loadDefaults() throws OrdersLoadException {
+        CatalogLoadEvent event = new CatalogLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            BinaryCatalog catalog = BinaryCatalog.open(catalogFile);
+            Orders orders = Orders.backedBy(catalog.asList());
+            orders.snapshot().getValidationReport();
+            event.complete(catalogFile.toString(), catalog.byteSize(), catalog.size(), null);
+            return orders;
+        } catch (OrdersLoadException e) {
+            LOAD_FAILURES.increment();
+            event.complete(catalogFile.toString(), -1, 0, e.getMessage());
+            throw e;
+        } finally {
+            LOAD_LATENCY.recordSince(start);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.devricks.civilwargeneral.orders;
+
+import com.devricks.civilwargeneral.metrics.Counter;
+import com.devricks.civilwargeneral.metrics.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Size-bounded, least-recently-used cache of parsed order catalogs.
+ * <p>
+ * Catalogs are keyed by their source and a modification stamp, so a changed file is parsed
+ * again while an unchanged one is parsed once per process, however many views or loaders ask
+ * for it. Entries are {@link OrdersSnapshot}s whose {@link ValidationReport} is compiled once, on
+ * the parsing thread; {@link OrdersLoaderImplementation} hands each caller its own {@link Orders}
+ * over the cached snapshot, which shares the snapshot and its report until the collection is
+ * first modified, so editing one collection never affects another. Concurrent requests for the
+ * same catalog wait for a single parse. Failed parses, including those that end with an
+ * {@link Error}, are not cached and fail the requests that waited for them.
+ * <p>
+ * The {@link Order} objects of a cached catalog are shared by every collection loaded from it
+ * and must not be changed through their setters; replace an order with
+ * {@link Orders#apply(OrdersDiff)} or {@link Orders#addOrder(Order)} instead. Catalogs cached
+ * while {@value Orders#COLUMNAR_PROPERTY} is {@code true} are stored in columns, whose orders
+ * are built on each read and cannot be changed at all.
+ * <p>
+ * Hits, misses and evictions are counted; the {@link #shared()} cache records them in
+ * {@link Metrics#global()}.
+ */
+public final class CatalogCache {
+
+    /**
+     * Parses a catalog on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Parser {
+        /**
+         * Parses the catalog.
+         *
+         * @return the parsed orders
+         * @throws OrdersLoadException if the catalog cannot be loaded
+         */
+        List<Order> parse() throws OrdersLoadException;
+    }
+
+    /** Number of catalogs the shared cache keeps. */
+    public static final int DEFAULT_MAX_ENTRIES = 16;
+
+    private static final CatalogCache SHARED = new CatalogCache(DEFAULT_MAX_ENTRIES,
+            Metrics.global().counter(Metrics.CATALOG_CACHE_HITS),
+            Metrics.global().counter(Metrics.CATALOG_CACHE_MISSES),
+            Metrics.global().counter(Metrics.CATALOG_CACHE_EVICTIONS));
+
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * Constructs an empty cache with its own statistics.
+     *
+     * @param maxEntries the number of catalogs kept before the least recently used is evicted
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive
+     */
+    public CatalogCache(int maxEntries) {
+        this(maxEntries, new Counter(), new Counter(), new Counter());
+    }
+
+    private CatalogCache(int maxEntries, Counter hits, Counter misses, Counter evictions) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= CatalogCache.this.maxEntries) {
+                    return false;
+                }
+                CatalogCache.this.evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache shared by the whole process.
+     *
+     * @return the shared cache
+     */
+    public static CatalogCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the cached catalog for the source and stamp, parsing it on a miss. An entry for
+     * the same source with another stamp is replaced, so each source is cached at most once.
+     *
+     * @param source identifies the catalog, such as a resource path or file
+     * @param stamp the catalog's modification stamp
+     * @param parser parses the catalog on a miss
+     * @return the catalog, with its validation report compiled
+     * @throws OrdersLoadException if parsing fails
+     */
+    public OrdersSnapshot get(String source, long stamp, Parser parser) throws OrdersLoadException {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(parser, "parser");
+        Entry entry;
+        boolean owner = false;
+        synchronized (this) {
+            entry = entries.get(source);
+            if (entry == null || entry.stamp != stamp) {
+                entry = new Entry(stamp);
+                entries.put(source, entry);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            hits.increment();
+            return await(entry.catalog);
+        }
+        misses.increment();
+        try {
+            List<Order> orders = parser.parse();
+            OrdersSnapshot parsed = Boolean.getBoolean(Orders.COLUMNAR_PROPERTY)
+                    ? OrdersSnapshot.wrap(new OrderTable(orders).frozen(), 0)
+                    : new OrdersSnapshot(orders, 0);
+            parsed.getValidationReport();
+            entry.catalog.complete(parsed);
+            return parsed;
+        } catch (Throwable e) {
+            // Any failure, including an Error, must release the waiters and drop the entry.
+            synchronized (this) {
+                entries.remove(source, entry);
+            }
+            entry.catalog.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the cached JSON catalog file, keyed by its path and last modification time and size.
+     *
+     * @param file the JSON catalog
+     * @return the catalog, with its validation report compiled
+     * @throws OrdersLoadException if the file cannot be read or parsed
+     */
+    public OrdersSnapshot getFile(Path file) throws OrdersLoadException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new OrdersLoadException("Orders file not found: " + file, e);
+        }
+        long stamp = attributes.lastModifiedTime().toMillis() * 31 + attributes.size();
+        return get(file.toAbsolutePath().toString(), stamp, () -> {
+            List<Order> loaded = new ArrayList<>();
+            OrdersJsonReader.readFile(file, OrdersJsonReader.loadingSink(loaded));
+            return loaded;
+        });
+    }
+
+    /**
+     * Removes every entry. Statistics are kept.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached catalogs, including those still being parsed.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of requests answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.getCount();
+    }
+
+    /**
+     * Returns the number of requests that parsed a catalog.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.getCount();
+    }
+
+    /**
+     * Returns the number of catalogs evicted to stay within the size bound.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.getCount();
+    }
+
+    private static OrdersSnapshot await(CompletableFuture<OrdersSnapshot> entry) throws OrdersLoadException {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof OrdersLoadException failure) {
+                throw failure;
+            }
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            if (e.getCause() instanceof Error failure) {
+                throw failure;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+        final long stamp;
+        final CompletableFuture<OrdersSnapshot> catalog = new CompletableFuture<>();
+
+        Entry(long stamp) {
+            this.stamp = stamp;
+        }
+    }
+}
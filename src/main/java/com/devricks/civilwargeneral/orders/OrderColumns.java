@@ -0,0 +1,33 @@
+package com.devricks.civilwargeneral.orders;
+
+/**
+ * Column access to a list of orders that are not stored as {@link Order} objects, so the ID and
+ * validity of an entry can be read without building it. {@link OrdersSnapshot} and
+ * {@link ValidationReport} use it when the snapshot's list implements it.
+ */
+interface OrderColumns {
+
+    /**
+     * Returns whether the entry at the given position is a null order.
+     *
+     * @param index the position
+     * @return true for a null entry
+     */
+    boolean isNullRow(int index);
+
+    /**
+     * Returns the ID of the entry at the given position.
+     *
+     * @param index the position
+     * @return the order ID, or 0 for a null entry
+     */
+    int getId(int index);
+
+    /**
+     * Returns whether the entry at the given position is valid, as {@link Order#isValid()} would.
+     *
+     * @param index the position
+     * @return false for a null entry or an invalid order
+     */
+    boolean isValid(int index);
+}
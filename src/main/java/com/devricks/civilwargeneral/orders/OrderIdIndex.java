@@ -0,0 +1,179 @@
+package com.devricks.civilwargeneral.orders;
+
+import java.util.Arrays;
+
+/**
+ * Primitive open-addressing hash index from order ID to slot position.
+ * <p>
+ * Keys and values are stored in parallel {@code int[]} arrays with linear probing, so lookups
+ * never box an {@link Integer}. Removal uses backward-shift deletion, which keeps probe chains
+ * short without tombstones. Not thread-safe; {@link Orders} guards it.
+ */
+final class OrderIdIndex {
+    private static final int NO_SLOT = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] slots;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructs an index sized for the given number of entries.
+     *
+     * @param expectedSize the number of IDs expected to be stored
+     */
+    OrderIdIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Returns the slot mapped to the given ID.
+     *
+     * @param id the order ID
+     * @return the slot, or -1 if the ID is not indexed
+     */
+    int get(int id) {
+        int i = bucket(id);
+        while (slots[i] != NO_SLOT) {
+            if (keys[i] == id) {
+                return slots[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Maps the ID to the slot unless the ID is already indexed.
+     *
+     * @param id the order ID
+     * @param slot the slot position, must be non-negative
+     * @return the existing slot if the ID was already present (the index is unchanged), otherwise -1
+     */
+    int putIfAbsent(int id, int slot) {
+        int i = bucket(id);
+        while (slots[i] != NO_SLOT) {
+            if (keys[i] == id) {
+                return slots[i];
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        slots[i] = slot;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Re-points an already indexed ID at a new slot.
+     *
+     * @param id the order ID, which must be present
+     * @param slot the new slot position
+     */
+    void replace(int id, int slot) {
+        int i = bucket(id);
+        while (slots[i] != NO_SLOT) {
+            if (keys[i] == id) {
+                slots[i] = slot;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        throw new IllegalStateException("ID not indexed: " + id);
+    }
+
+    /**
+     * Removes the ID from the index.
+     *
+     * @param id the order ID
+     * @return the slot the ID was mapped to, or -1 if it was not indexed
+     */
+    int remove(int id) {
+        int i = bucket(id);
+        while (slots[i] != NO_SLOT) {
+            if (keys[i] == id) {
+                int removed = slots[i];
+                shiftBack(i);
+                size--;
+                return removed;
+            }
+            i = (i + 1) & mask;
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * Removes every entry, keeping the current capacity.
+     */
+    void clear() {
+        Arrays.fill(slots, NO_SLOT);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of indexed IDs.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    private void shiftBack(int hole) {
+        // Move later entries of the probe chain into the hole so lookups never hit a false gap.
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (slots[i] == NO_SLOT) {
+                break;
+            }
+            int home = bucket(keys[i]);
+            boolean between = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+            if (!between) {
+                keys[hole] = keys[i];
+                slots[hole] = slots[i];
+                hole = i;
+            }
+        }
+        slots[hole] = NO_SLOT;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldSlots = slots;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldSlots[i] != NO_SLOT) {
+                int j = bucket(oldKeys[i]);
+                while (slots[j] != NO_SLOT) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                slots[j] = oldSlots[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        slots = new int[capacity];
+        Arrays.fill(slots, NO_SLOT);
+        mask = capacity - 1;
+    }
+
+    private int bucket(int id) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2 && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,56 @@
+package com.devricks.civilwargeneral.orders;
+
+import java.util.List;
+
+/**
+ * Receives orders one at a time as {@link OrdersJsonReader} streams them from a source.
+ * <p>
+ * A sink that does not override {@link #reject}, such as {@code list::add}, is strict: the first
+ * rejected record aborts the load. {@link #keeping(List)} keeps loading instead.
+ */
+@FunctionalInterface
+public interface OrderSink {
+    /**
+     * Accepts a record that passed validation.
+     *
+     * @param order the parsed, valid order
+     * @throws OrdersLoadException to abort loading
+     */
+    void accept(Order order) throws OrdersLoadException;
+
+    /**
+     * Handles a record that failed validation. By default loading is aborted.
+     *
+     * @param order the parsed order, or null if the record itself was null
+     * @param reason why the record was rejected
+     * @param line the 1-based line where the record starts
+     * @param column the 1-based column where the record starts
+     * @throws OrdersLoadException to abort loading
+     */
+    default void reject(Order order, String reason, long line, int column) throws OrdersLoadException {
+        throw new OrdersLoadException(reason, line, column, null);
+    }
+
+    /**
+     * Returns a sink that adds every record to the list, rejected ones included, in source order.
+     * A rejected null record is added as {@code null}. Loading therefore never stops at a
+     * malformed row; the {@link ValidationReport} of a collection built from the list reports the
+     * rejected rows and selection skips them.
+     *
+     * @param target the list to add every record to
+     * @return the lenient sink
+     */
+    static OrderSink keeping(List<? super Order> target) {
+        return new OrderSink() {
+            @Override
+            public void accept(Order order) {
+                target.add(order);
+            }
+
+            @Override
+            public void reject(Order order, String reason, long line, int column) {
+                target.add(order);
+            }
+        };
+    }
+}
@@ -0,0 +1,317 @@
+package com.devricks.civilwargeneral.orders;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Columnar list of orders for large catalogs.
+ * <p>
+ * Instead of one {@link Order} object and two {@code String}s per entry, the table keeps an
+ * {@code int[]} of IDs and two {@code int[]} columns of references into a pool of UTF-8 bytes in
+ * which every distinct name or description is stored once, so boilerplate text repeated across a
+ * catalog costs four bytes per order. {@link #get(int)} builds a new, detached {@code Order} on
+ * demand; it equals the order that was stored but is not the same instance, and changing it does
+ * not change the table. {@link #getId(int)}, {@link #getName(int)} and {@link #isValid(int)} read
+ * single columns without building one.
+ * <p>
+ * Strings are never removed from the pool: text that is only used by removed or replaced orders
+ * stays until the table is rebuilt. Not thread-safe; {@link Orders#columnar()} guards it.
+ */
+public final class OrderTable extends AbstractList<Order> implements RandomAccess {
+    private static final int NULL_STRING = -1;
+    private static final int NULL_ROW = -2;
+
+    private final Utf8Pool pool = new Utf8Pool();
+    private int[] ids;
+    private int[] names;
+    private int[] descriptions;
+    private int size;
+
+    /**
+     * Constructs an empty table.
+     */
+    public OrderTable() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty table with room for the given number of orders.
+     *
+     * @param initialCapacity the number of orders to allocate columns for
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public OrderTable(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        this.ids = new int[initialCapacity];
+        this.names = new int[initialCapacity];
+        this.descriptions = new int[initialCapacity];
+    }
+
+    /**
+     * Constructs a table holding the given orders, in iteration order.
+     *
+     * @param orders the orders to store; null orders are kept as null entries
+     */
+    public OrderTable(Collection<? extends Order> orders) {
+        this(orders.size());
+        for (Order order : orders) {
+            add(order);
+        }
+    }
+
+    @Override
+    public Order get(int index) {
+        Objects.checkIndex(index, size);
+        return row(pool.view(), ids, names, descriptions, index);
+    }
+
+    /**
+     * Returns the ID of the order at the given position without building the order.
+     *
+     * @param index the position
+     * @return the order ID, or 0 for a null entry
+     */
+    public int getId(int index) {
+        Objects.checkIndex(index, size);
+        return ids[index];
+    }
+
+    /**
+     * Returns the name of the order at the given position without building the order.
+     *
+     * @param index the position
+     * @return the name, or null if the name or the entry is null
+     */
+    public String getName(int index) {
+        Objects.checkIndex(index, size);
+        return names[index] < 0 ? null : pool.get(names[index]);
+    }
+
+    /**
+     * Returns the description of the order at the given position without building the order.
+     *
+     * @param index the position
+     * @return the description, or null if the description or the entry is null
+     */
+    public String getDescription(int index) {
+        Objects.checkIndex(index, size);
+        return descriptions[index] < 0 ? null : pool.get(descriptions[index]);
+    }
+
+    /**
+     * Returns whether the order at the given position is valid, as {@link Order#isValid()} would,
+     * without decoding its strings.
+     *
+     * @param index the position
+     * @return false for a null entry or an invalid order
+     */
+    public boolean isValid(int index) {
+        Objects.checkIndex(index, size);
+        return ids[index] > 0 && names[index] >= 0 && descriptions[index] >= 0
+                && pool.byteLength(names[index]) > 0 && pool.byteLength(descriptions[index]) > 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(int index, Order order) {
+        Objects.checkIndex(index, size + 1);
+        if (size == ids.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        if (index < size) {
+            shift(index, index + 1, size - index);
+        }
+        store(index, order);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Order set(int index, Order order) {
+        Order previous = get(index);
+        store(index, order);
+        return previous;
+    }
+
+    @Override
+    public Order remove(int index) {
+        Order removed = get(index);
+        shift(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Order> filter) {
+        Objects.requireNonNull(filter, "filter");
+        Utf8Pool.View view = pool.view();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(row(view, ids, names, descriptions, i))) {
+                ids[kept] = ids[i];
+                names[kept] = names[i];
+                descriptions[kept] = descriptions[i];
+                kept++;
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        size = kept;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes the rows whose positions are set, keeping the others in order. No row is built.
+     *
+     * @param positions the positions to remove
+     */
+    void removeAll(BitSet positions) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!positions.get(i)) {
+                ids[kept] = ids[i];
+                names[kept] = names[i];
+                descriptions[kept] = descriptions[i];
+                kept++;
+            }
+        }
+        if (kept != size) {
+            size = kept;
+            modCount++;
+        }
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the number of distinct names and descriptions stored.
+     *
+     * @return the number of pooled strings
+     */
+    public int distinctStrings() {
+        return pool.size();
+    }
+
+    /**
+     * Returns the bytes allocated by the table's columns and string pool, including spare
+     * capacity but not the few fixed-size object headers.
+     *
+     * @return the table's approximate heap footprint
+     */
+    public long footprintBytes() {
+        return 12L * ids.length + pool.allocatedBytes();
+    }
+
+    /**
+     * Returns whether the entry at the given position is a null order.
+     */
+    boolean isNullRow(int index) {
+        return names[index] == NULL_ROW;
+    }
+
+    /**
+     * Returns an immutable list of the current orders. The columns are copied; the string pool
+     * is shared, which is safe because pooled bytes are never overwritten.
+     */
+    List<Order> frozen() {
+        return new Frozen(Arrays.copyOf(ids, size), Arrays.copyOf(names, size),
+                Arrays.copyOf(descriptions, size), pool.view());
+    }
+
+    private void store(int index, Order order) {
+        if (order == null) {
+            ids[index] = 0;
+            names[index] = NULL_ROW;
+            descriptions[index] = NULL_ROW;
+            return;
+        }
+        ids[index] = order.getId();
+        names[index] = intern(order.getName());
+        descriptions[index] = intern(order.getDescription());
+    }
+
+    private int intern(String value) {
+        return value == null ? NULL_STRING : pool.intern(value);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(names, from, names, to, length);
+        System.arraycopy(descriptions, from, descriptions, to, length);
+    }
+
+    private static Order row(Utf8Pool.View view, int[] ids, int[] names, int[] descriptions, int index) {
+        int name = names[index];
+        if (name == NULL_ROW) {
+            return null;
+        }
+        int description = descriptions[index];
+        return new Order(name == NULL_STRING ? null : view.get(name),
+                description == NULL_STRING ? null : view.get(description), ids[index]);
+    }
+
+    /**
+     * Read-only copy of a table's columns over a prefix of its string pool.
+     */
+    private static final class Frozen extends AbstractList<Order> implements RandomAccess, OrderColumns {
+        private final int[] ids;
+        private final int[] names;
+        private final int[] descriptions;
+        private final Utf8Pool.View view;
+
+        Frozen(int[] ids, int[] names, int[] descriptions, Utf8Pool.View view) {
+            this.ids = ids;
+            this.names = names;
+            this.descriptions = descriptions;
+            this.view = view;
+        }
+
+        @Override
+        public Order get(int index) {
+            return row(view, ids, names, descriptions, index);
+        }
+
+        @Override
+        public boolean isNullRow(int index) {
+            return names[index] == NULL_ROW;
+        }
+
+        @Override
+        public int getId(int index) {
+            return ids[index];
+        }
+
+        @Override
+        public boolean isValid(int index) {
+            return ids[index] > 0 && names[index] >= 0 && descriptions[index] >= 0
+                    && view.byteLength(names[index]) > 0 && view.byteLength(descriptions[index]) > 0;
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
@@ -1,24 +1,70 @@
 package com.devricks.civilwargeneral.orders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
 
-import java.io.InputStream;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
  * Collection management class for tactical military orders.
  * Handles adding, removing, searching, and persisting orders to/from JSON.
+ * Loading streams the JSON through {@link OrdersJsonReader}, validating each record as it is read,
+ * and compiles the loaded snapshot's {@link ValidationReport} before returning. Invalid and
+ * duplicate records are kept and reported there rather than failing the load, unless
+ * {@value OrdersJsonReader#STRICT_PROPERTY} is set.
+ * <p>
+ * Orders are indexed by ID in a primitive hash index, so {@link #getOrderById(int)} and
+ * {@link #removeOrderById(int)} run in amortized constant time. Removal only marks the order's
+ * position; the remaining orders keep their relative order and are moved up together when the
+ * next snapshot is published, or once half of the positions are marked. When several orders share an ID, the
+ * earliest one added is the one the index resolves; the duplicates are reported by
+ * {@link #addOrder(Order)} and {@link #getDuplicateIds()}. Changing an order's ID after it has
+ * been added is not supported.
+ * <p>
+ * The collection is safe to share between threads. Writers and ID lookups synchronize on the
+ * collection, while {@link #snapshot()} gives readers an immutable, versioned view without
+ * locking or copying. A new snapshot is published atomically the first time it is requested
+ * after a modification, so a burst of writes costs a single copy.
+ * <p>
+ * {@link #columnar()} creates a collection that stores its orders in an {@link OrderTable}
+ * instead of as individual objects, for catalogs large enough that per-order headers and
+ * repeated text dominate the heap. The API is the same, but every {@link Order} read from a
+ * columnar collection or its snapshots is built on demand: it equals the order that was added
+ * but is a new instance on each read, and changing it does not change the collection. The
+ * loaders create columnar collections when {@value #COLUMNAR_PROPERTY} is {@code true}.
+ * <p>
+ * {@link BinaryOrdersLoader} returns a collection backed by the mapped {@link BinaryCatalog}:
+ * nothing is copied or decoded when it is loaded, its snapshots read the catalog directly, the
+ * ID index is built on the first lookup, and the first modification copies the orders into a
+ * list of the collection's own. Collections loaded from a {@link CatalogCache} likewise start
+ * from the cached snapshot and its compiled report.
  */
 public class Orders {
+    /**
+     * When {@code true}, {@link #createDefault()} and the loaders that use it store catalogs in
+     * columns.
+     */
+    public static final String COLUMNAR_PROPERTY = "civilwargeneral.catalog.columnar";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final boolean columnar;
     private List<Order> orders;
+    private boolean backed;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+    private OrderIdIndex index;
+    private int[] duplicateIds = new int[0];
+    private int duplicateCount;
+    private volatile long version;
+    private volatile OrdersSnapshot published;
 
     /**
      * Constructs an empty collection of orders.
      */
     public Orders() {
-        this.orders = new ArrayList<>();
+        this(false);
     }
 
     /**
@@ -27,25 +73,208 @@ public class Orders {
      * @param orders the initial list of orders
      */
     public Orders(List<Order> orders) {
+        this.columnar = false;
         this.orders = new ArrayList<>(orders);
+        reindex();
+    }
+
+    private Orders(boolean columnar) {
+        this.columnar = columnar;
+        this.orders = newList(0);
+        this.index = new OrderIdIndex(0);
+    }
+
+    /**
+     * Constructs an empty collection that stores its orders in columns.
+     *
+     * @return the empty columnar collection
+     * @see OrderTable
+     */
+    public static Orders columnar() {
+        return new Orders(true);
+    }
+
+    /**
+     * Constructs a collection that stores the given orders in columns.
+     *
+     * @param orders the initial list of orders
+     * @return the columnar collection
+     * @see OrderTable
+     */
+    public static Orders columnar(List<Order> orders) {
+        Orders created = new Orders(true);
+        created.orders = new OrderTable(orders);
+        created.reindex();
+        return created;
+    }
+
+    /**
+     * Constructs a collection backed by a read-only list, without copying or indexing it.
+     * Snapshots wrap the list itself, the ID index is built on the first lookup, and the first
+     * modification copies the orders into a list of the collection's own.
+     *
+     * @param orders the orders, which must never change
+     * @return the collection
+     */
+    static Orders backedBy(List<Order> orders) {
+        return backedBy(orders, false);
+    }
+
+    /**
+     * Constructs a collection whose first snapshot is the given one, so that collections loaded
+     * from one cached catalog share its orders and compiled {@link ValidationReport} until they
+     * are modified. The collection is columnar if the snapshot's list is.
+     *
+     * @param snapshot the snapshot, at version 0
+     * @return the collection
+     * @see #backedBy(List)
+     */
+    static Orders sharing(OrdersSnapshot snapshot) {
+        List<Order> stored = snapshot.stored();
+        Orders created = backedBy(stored, stored instanceof OrderColumns);
+        created.version = snapshot.getVersion();
+        created.published = snapshot;
+        return created;
+    }
+
+    private static Orders backedBy(List<Order> orders, boolean columnar) {
+        Orders created = new Orders(columnar);
+        created.orders = orders;
+        created.index = null;
+        created.backed = true;
+        return created;
+    }
+
+    /**
+     * Constructs an empty collection with the storage the loaders use: columnar if
+     * {@value #COLUMNAR_PROPERTY} is {@code true}, otherwise a list of orders.
+     *
+     * @return the empty collection
+     */
+    public static Orders createDefault() {
+        return Boolean.getBoolean(COLUMNAR_PROPERTY) ? columnar() : new Orders();
+    }
+
+    /**
+     * Constructs a collection of the given orders with the storage the loaders use.
+     *
+     * @param orders the initial list of orders
+     * @return the collection
+     * @see #createDefault()
+     */
+    static Orders createDefault(List<Order> orders) {
+        return Boolean.getBoolean(COLUMNAR_PROPERTY) ? columnar(orders) : new Orders(orders);
+    }
+
+    /**
+     * Returns whether this collection stores its orders in an {@link OrderTable}.
+     *
+     * @return true for a collection created by {@link #columnar()}
+     */
+    public boolean isColumnar() {
+        return columnar;
     }
 
     /**
      * Adds a single order to the collection.
+     * An order whose ID is already present is still added, but the ID keeps resolving to the
+     * earlier order and is recorded in {@link #getDuplicateIds()}.
      *
      * @param order the order to add
+     * @return false if another order with the same ID was already present, true otherwise
      */
-    public void addOrder(Order order) {
+    public synchronized boolean addOrder(Order order) {
+        writable();
+        boolean unique = indexSlot(order, orders.size());
         orders.add(order);
+        version++;
+        return unique;
     }
 
     /**
      * Removes an order from the collection by its unique identifier.
+     * The remaining orders keep their relative order.
      *
      * @param id the ID of the order to remove
      */
-    public void removeOrderById(int id) {
-        orders.removeIf(order -> order.getId() == id);
+    public synchronized void removeOrderById(int id) {
+        writable();
+        if (duplicateCount > 0) {
+            // Several orders may share the ID; remove them all and rebuild the index.
+            compact();
+            if (orders.removeIf(order -> order != null && order.getId() == id)) {
+                reindex();
+                version++;
+            }
+            return;
+        }
+        if (removeUnique(id)) {
+            version++;
+        }
+    }
+
+    /**
+     * Applies a diff in place: orders with removed IDs are dropped, changed orders replace the
+     * order with the same ID in its position, and added orders are appended. Only the affected
+     * entries are touched, and the whole diff is one modification, so {@link #snapshot()}
+     * readers see either none of it or all of it.
+     * <p>
+     * A changed order whose ID is not present is added. An added order whose ID is already
+     * present is treated as by {@link #addOrder(Order)}. If the collection holds duplicate IDs,
+     * every order with a removed or changed ID is dropped and the changed orders are appended.
+     * A {@link OrdersDiff#isReplacement() replacement} replaces the whole list instead.
+     *
+     * @param diff the changes to apply, typically from {@link OrdersDiff#between}
+     */
+    public synchronized void apply(OrdersDiff diff) {
+        if (diff.isEmpty()) {
+            return;
+        }
+        if (diff.isReplacement()) {
+            List<Order> replacement = newList(diff.replacement().size());
+            replacement.addAll(diff.replacement());
+            orders = replacement;
+            backed = false;
+            removed.clear();
+            removedCount = 0;
+            reindex();
+            version++;
+            return;
+        }
+        writable();
+        if (duplicateCount > 0) {
+            compact();
+            OrderIdIndex replaced = new OrderIdIndex(diff.removedIds().length + diff.getChanged().size());
+            for (int id : diff.removedIds()) {
+                replaced.putIfAbsent(id, 0);
+            }
+            for (Order order : diff.getChanged()) {
+                replaced.putIfAbsent(order.getId(), 0);
+            }
+            orders.removeIf(order -> order != null && replaced.get(order.getId()) >= 0);
+            orders.addAll(diff.getChanged());
+            orders.addAll(diff.getAdded());
+            reindex();
+            version++;
+            return;
+        }
+        for (int id : diff.removedIds()) {
+            removeUnique(id);
+        }
+        for (Order order : diff.getChanged()) {
+            int slot = index.get(order.getId());
+            if (slot >= 0) {
+                orders.set(slot, order);
+            } else {
+                indexSlot(order, orders.size());
+                orders.add(order);
+            }
+        }
+        for (Order order : diff.getAdded()) {
+            indexSlot(order, orders.size());
+            orders.add(order);
+        }
+        version++;
     }
 
     /**
@@ -54,35 +283,105 @@ public class Orders {
      * @param id the ID of the order to find
      * @return an Optional containing the found Order, or empty if not found
      */
-    public Optional<Order> getOrderById(int id) {
-        return orders.stream().filter(order -> order.getId() == id).findFirst();
+    public synchronized Optional<Order> getOrderById(int id) {
+        int slot = indexed().get(id);
+        return slot < 0 ? Optional.empty() : Optional.of(orders.get(slot));
+    }
+
+    /**
+     * Returns the IDs that were added while an order with the same ID was already present,
+     * in the order they were encountered.
+     *
+     * @return a copy of the duplicate IDs, empty if all IDs are unique
+     */
+    public synchronized int[] getDuplicateIds() {
+        indexed();
+        return Arrays.copyOf(duplicateIds, duplicateCount);
     }
 
     /**
      * Returns a copy of all orders in the collection.
+     * Callers that only read the orders should prefer {@link #snapshot()}, which does not copy.
      *
      * @return a list of all orders
      */
     public List<Order> getAllOrders() {
-        return new ArrayList<>(orders);
+        return new ArrayList<>(snapshot().getOrders());
+    }
+
+    /**
+     * Returns an immutable, versioned view of the current orders.
+     * Repeated calls between modifications return the same snapshot without copying, and the
+     * call never blocks unless a modification happened since the last snapshot was published.
+     *
+     * @return the current snapshot
+     */
+    public OrdersSnapshot snapshot() {
+        OrdersSnapshot current = published;
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = published;
+            if (current == null || current.getVersion() != version) {
+                compact();
+                if (orders instanceof OrderTable table) {
+                    current = OrdersSnapshot.wrap(table.frozen(), version);
+                } else if (backed) {
+                    current = OrdersSnapshot.wrap(orders, version);
+                } else {
+                    current = OrdersSnapshot.wrap(orders.toArray(new Order[0]), version);
+                }
+                published = current;
+            }
+            return current;
+        }
     }
 
     /**
-     * Loads orders from a JSON file located on the classpath.
+     * Returns a counter that increases every time the collection is modified.
+     * Callers that compile derived structures from the orders can compare versions to know
+     * when a rebuild is needed.
+     *
+     * @return the current modification version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Loads orders from a JSON file located on the classpath, replacing the current orders.
+     * The file is streamed and every record is validated as it is read; the collection is only
+     * replaced once the whole file has loaded successfully. Invalid and duplicate records are kept
+     * in place and listed by the snapshot's {@link ValidationReport}, which selection skips.
      *
      * @param filePath the path to the JSON resource
-     * @throws RuntimeException if the file is not found or cannot be parsed
+     * @throws RuntimeException if the file is not found or cannot be parsed, or, in strict mode,
+     *         contains an invalid or duplicate order; the cause is an {@link OrdersLoadException}
+     *         with the position
      */
     public void loadFromFile(String filePath) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        try (InputStream inputStream = getClass().getResourceAsStream(filePath)) {
-            if (inputStream == null) {
-                throw new IllegalArgumentException("File not found: " + filePath);
-            }
-            this.orders = objectMapper.readValue(inputStream, new TypeReference<List<Order>>() {});
-        } catch (Exception e) {
+        List<Order> loaded = newList(0);
+        try {
+            OrdersJsonReader.readResource(filePath, OrdersJsonReader.loadingSink(loaded));
+        } catch (OrdersLoadException e) {
             throw new RuntimeException("Failed to load orders from file: " + filePath, e);
         }
+        replaceAll(loaded);
+    }
+
+    /**
+     * Loads orders from a JSON file on the filesystem, replacing the current orders.
+     * Behaves like {@link #loadFromFile(String)} but reads from a path instead of the classpath.
+     *
+     * @param file the path of the JSON file
+     * @throws OrdersLoadException if the file is not found or cannot be parsed, or, in strict
+     *         mode, contains an invalid or duplicate order
+     */
+    public void loadFromPath(Path file) throws OrdersLoadException {
+        List<Order> loaded = newList(0);
+        OrdersJsonReader.readFile(file, OrdersJsonReader.loadingSink(loaded));
+        replaceAll(loaded);
     }
 
     /**
@@ -92,12 +391,146 @@ public class Orders {
      * @throws RuntimeException if the file cannot be written
      */
     public void saveToFile(String filePath) {
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
             File file = new File(filePath);
-            objectMapper.writeValue(file, orders);
+            OBJECT_MAPPER.writeValue(file, snapshot().getOrders());
         } catch (Exception e) {
             throw new RuntimeException("Failed to save orders to file: " + filePath, e);
         }
     }
+
+    private void replaceAll(List<Order> loaded) {
+        synchronized (this) {
+            this.orders = loaded;
+            this.backed = false;
+            removed.clear();
+            removedCount = 0;
+            reindex();
+            version++;
+        }
+        // Compile the new snapshot on the loading thread rather than on the first selection.
+        snapshot().getValidationReport();
+    }
+
+    private boolean removeUnique(int id) {
+        int slot = index.remove(id);
+        if (slot < 0) {
+            return false;
+        }
+        removed.set(slot);
+        removedCount++;
+        // Writers that never take a snapshot must not keep removed orders forever.
+        if (removedCount * 2 >= orders.size()) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Drops the orders removed since the last compaction, moving the others up in order and
+     * their index entries with them.
+     */
+    private void compact() {
+        if (removedCount == 0) {
+            return;
+        }
+        int size = orders.size();
+        OrderTable table = orders instanceof OrderTable stored ? stored : null;
+        int kept = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (removed.get(slot)) {
+                continue;
+            }
+            if (kept != slot) {
+                Order order = table == null ? orders.get(slot) : null;
+                if (table != null ? !table.isNullRow(slot) : order != null) {
+                    int id = table != null ? table.getId(slot) : order.getId();
+                    if (index.get(id) == slot) {
+                        index.replace(id, kept);
+                    }
+                }
+                if (table == null) {
+                    orders.set(kept, order);
+                }
+            }
+            kept++;
+        }
+        if (table != null) {
+            table.removeAll(removed);
+        } else {
+            orders.subList(kept, size).clear();
+        }
+        removed.clear();
+        removedCount = 0;
+    }
+
+    /**
+     * Prepares the collection for a modification: copies a backing list and builds the index.
+     */
+    private void writable() {
+        if (backed) {
+            orders = columnar ? new OrderTable(orders) : new ArrayList<>(orders);
+            backed = false;
+        }
+        indexed();
+    }
+
+    /**
+     * Returns the number of positions in the backing list, including removed orders that have
+     * not been compacted yet.
+     */
+    synchronized int storedSize() {
+        return orders.size();
+    }
+
+    private OrderIdIndex indexed() {
+        if (index == null) {
+            reindex();
+        }
+        return index;
+    }
+
+    private List<Order> newList(int capacity) {
+        return columnar ? new OrderTable(capacity) : new ArrayList<>(capacity);
+    }
+
+    private void reindex() {
+        index = new OrderIdIndex(orders.size());
+        duplicateCount = 0;
+        if (orders instanceof OrderTable table) {
+            // Index straight from the ID column rather than building every order.
+            for (int slot = 0; slot < table.size(); slot++) {
+                if (!table.isNullRow(slot)) {
+                    indexId(table.getId(slot), slot);
+                }
+            }
+            return;
+        }
+        if (orders instanceof OrderColumns columns) {
+            for (int slot = 0; slot < orders.size(); slot++) {
+                if (!columns.isNullRow(slot)) {
+                    indexId(columns.getId(slot), slot);
+                }
+            }
+            return;
+        }
+        for (int slot = 0; slot < orders.size(); slot++) {
+            indexSlot(orders.get(slot), slot);
+        }
+    }
+
+    private boolean indexSlot(Order order, int slot) {
+        return order == null || indexId(order.getId(), slot);
+    }
+
+    private boolean indexId(int id, int slot) {
+        if (index.putIfAbsent(id, slot) < 0) {
+            return true;
+        }
+        if (duplicateCount == duplicateIds.length) {
+            duplicateIds = Arrays.copyOf(duplicateIds, Math.max(8, duplicateCount * 2));
+        }
+        duplicateIds[duplicateCount++] = id;
+        return false;
+    }
 }
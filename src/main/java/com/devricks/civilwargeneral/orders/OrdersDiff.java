@@ -0,0 +1,161 @@
+package com.devricks.civilwargeneral.orders;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Difference between two versions of an order catalog, keyed by order ID.
+ * <p>
+ * A diff lists the orders whose IDs are new, the IDs that disappeared, and the orders whose ID
+ * stayed but whose name or description changed. It is computed with {@link #between} and
+ * applied in one step with {@link Orders#apply(OrdersDiff)}.
+ * <p>
+ * IDs only identify orders when they are unique, so when either catalog has a null order or an
+ * ID that appears more than once, the diff is a {@link #isReplacement() replacement}: applying
+ * it replaces the whole list with the new catalog in one modification. Its added, removed and
+ * changed lists still describe the first occurrence of each ID, for reporting.
+ */
+public final class OrdersDiff {
+    private static final OrdersDiff EMPTY = new OrdersDiff(List.of(), new int[0], List.of(), null);
+
+    private final List<Order> added;
+    private final int[] removedIds;
+    private final List<Order> changed;
+    private final List<Order> replacement;
+
+    private OrdersDiff(List<Order> added, int[] removedIds, List<Order> changed, List<Order> replacement) {
+        this.added = Collections.unmodifiableList(added);
+        this.removedIds = removedIds;
+        this.changed = Collections.unmodifiableList(changed);
+        this.replacement = replacement;
+    }
+
+    /**
+     * Returns a diff with no changes.
+     *
+     * @return the empty diff
+     */
+    public static OrdersDiff empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Computes the changes that turn {@code current} into {@code next}.
+     *
+     * @param current the orders in use now
+     * @param next the orders that should replace them
+     * @return the added, removed and changed orders
+     */
+    public static OrdersDiff between(List<Order> current, List<Order> next) {
+        Objects.requireNonNull(current, "current");
+        Objects.requireNonNull(next, "next");
+        OrderIdIndex currentIds = new OrderIdIndex(current.size());
+        boolean positional = false;
+        for (int i = 0; i < current.size(); i++) {
+            Order order = current.get(i);
+            if (order == null || currentIds.putIfAbsent(order.getId(), i) >= 0) {
+                positional = true;
+            }
+        }
+        OrderIdIndex seen = new OrderIdIndex(next.size());
+        List<Order> added = new ArrayList<>();
+        List<Order> changed = new ArrayList<>();
+        for (int i = 0; i < next.size(); i++) {
+            Order order = next.get(i);
+            if (order == null || seen.putIfAbsent(order.getId(), i) >= 0) {
+                positional = true;
+                continue;
+            }
+            int slot = currentIds.remove(order.getId());
+            if (slot < 0) {
+                added.add(order);
+            } else if (!order.equals(current.get(slot))) {
+                changed.add(order);
+            }
+        }
+        int[] removedIds = new int[currentIds.size()];
+        int removed = 0;
+        for (Order order : current) {
+            if (order != null && currentIds.remove(order.getId()) >= 0) {
+                removedIds[removed++] = order.getId();
+            }
+        }
+        if (positional) {
+            // Compare row by row; equal catalogs need no change.
+            return current.equals(next) ? EMPTY
+                    : new OrdersDiff(added, removedIds, changed,
+                            Collections.unmodifiableList(new ArrayList<>(next)));
+        }
+        if (added.isEmpty() && changed.isEmpty() && removed == 0) {
+            return EMPTY;
+        }
+        return new OrdersDiff(added, removedIds, changed, null);
+    }
+
+    /**
+     * Returns the orders whose IDs were not present before.
+     *
+     * @return an unmodifiable list of added orders
+     */
+    public List<Order> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the IDs that are no longer present.
+     *
+     * @return a copy of the removed IDs
+     */
+    public int[] getRemovedIds() {
+        return removedIds.clone();
+    }
+
+    int[] removedIds() {
+        return removedIds;
+    }
+
+    /**
+     * Returns the new versions of orders whose ID stayed but whose content changed.
+     *
+     * @return an unmodifiable list of changed orders
+     */
+    public List<Order> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Returns whether applying this diff replaces the whole list, because one of the catalogs
+     * has null orders or duplicate IDs.
+     *
+     * @return true for a replacement
+     */
+    public boolean isReplacement() {
+        return replacement != null;
+    }
+
+    /**
+     * Returns the catalog a replacement installs.
+     *
+     * @return the new orders, or null if this is not a replacement
+     */
+    List<Order> replacement() {
+        return replacement;
+    }
+
+    /**
+     * Returns whether the diff contains no changes.
+     *
+     * @return true if nothing was added, removed or changed
+     */
+    public boolean isEmpty() {
+        return replacement == null && added.isEmpty() && removedIds.length == 0 && changed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "+" + added.size() + " -" + removedIds.length + " ~" + changed.size()
+                + (replacement != null ? " (replaced " + replacement.size() + ")" : "");
+    }
+}
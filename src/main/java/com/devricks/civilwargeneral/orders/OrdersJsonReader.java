@@ -0,0 +1,194 @@
+package com.devricks.civilwargeneral.orders;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Streaming reader for JSON order catalogs.
+ * <p>
+ * The catalog is read token by token with Jackson's {@link JsonParser}, so neither a JSON tree
+ * nor a bound list of the whole file is ever built here: each record is validated and handed to an
+ * {@link OrderSink} as soon as it has been parsed. Records are checked with
+ * {@link Order#isValid()} and for IDs already seen earlier in the same source. Unknown fields
+ * are skipped. Every failure is reported as an {@link OrdersLoadException} carrying the line and
+ * column of the offending record.
+ * <p>
+ * Whether a rejected record aborts the load is up to the sink. The loaders in this package use
+ * {@link OrderSink#keeping(List)}, so a catalog with malformed rows still loads and its
+ * {@link ValidationReport} lists them, unless {@value #STRICT_PROPERTY} is {@code true}.
+ */
+public final class OrdersJsonReader {
+    /**
+     * When {@code true}, the loaders in this package fail on the first invalid or duplicate record
+     * instead of keeping it for the validation report.
+     */
+    public static final String STRICT_PROPERTY = "civilwargeneral.catalog.strict";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private OrdersJsonReader() {
+    }
+
+    /**
+     * Streams the orders of a JSON resource on the classpath into the sink.
+     *
+     * @param resourcePath the absolute classpath path of the resource
+     * @param sink the receiver of each record
+     * @return the number of records accepted
+     * @throws OrdersLoadException if the resource is missing, malformed, or a record is rejected
+     */
+    public static int readResource(String resourcePath, OrderSink sink) throws OrdersLoadException {
+        try (InputStream in = OrdersJsonReader.class.getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new OrdersLoadException("Orders resource not found: " + resourcePath);
+            }
+            return read(in, resourcePath, sink);
+        } catch (IOException e) {
+            throw new OrdersLoadException("Failed to read orders from " + resourcePath, e);
+        }
+    }
+
+    /**
+     * Streams the orders of a JSON file on the filesystem into the sink.
+     *
+     * @param file the catalog file
+     * @param sink the receiver of each record
+     * @return the number of records accepted
+     * @throws OrdersLoadException if the file is missing, malformed, or a record is rejected
+     */
+    public static int readFile(Path file, OrderSink sink) throws OrdersLoadException {
+        if (!Files.isRegularFile(file)) {
+            throw new OrdersLoadException("Orders file not found: " + file);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, file.toString(), sink);
+        } catch (IOException e) {
+            throw new OrdersLoadException("Failed to read orders from " + file, e);
+        }
+    }
+
+    /**
+     * Streams the orders of a JSON array into the sink. The stream is not closed.
+     *
+     * @param in the JSON input
+     * @param sourceName a description of the source used in error messages
+     * @param sink the receiver of each record
+     * @return the number of records accepted
+     * @throws OrdersLoadException if the input is malformed or a record is rejected
+     */
+    public static int read(InputStream in, String sourceName, OrderSink sink) throws OrdersLoadException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw error(sourceName, "Expected a JSON array of orders", parser);
+            }
+            OrderIdIndex seenIds = new OrderIdIndex(1024);
+            int accepted = 0;
+            int position = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw error(sourceName, "Unexpected end of input", parser);
+                }
+                JsonLocation start = parser.getTokenLocation();
+                long line = start.getLineNr();
+                int column = start.getColumnNr();
+                if (token == JsonToken.VALUE_NULL) {
+                    sink.reject(null, "Null order in " + sourceName, line, column);
+                    position++;
+                    continue;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw error(sourceName, "Expected an order object but found " + token, parser);
+                }
+                Order order = readOrder(parser, sourceName);
+                String problem = validate(order);
+                if (problem == null && seenIds.putIfAbsent(order.getId(), position) >= 0) {
+                    problem = "Duplicate order id: " + order.getId();
+                }
+                if (problem == null) {
+                    sink.accept(order);
+                    accepted++;
+                } else {
+                    sink.reject(order, problem + " in " + sourceName, line, column);
+                }
+                position++;
+            }
+            return accepted;
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            if (location == null) {
+                throw new OrdersLoadException("Malformed orders JSON in " + sourceName, e);
+            }
+            throw new OrdersLoadException("Malformed orders JSON in " + sourceName + ": " + e.getOriginalMessage(),
+                    location.getLineNr(), location.getColumnNr(), e);
+        } catch (IOException e) {
+            throw new OrdersLoadException("Failed to read orders from " + sourceName, e);
+        }
+    }
+
+    /**
+     * Returns the sink the loaders read into: strict if {@value #STRICT_PROPERTY} is set,
+     * otherwise {@link OrderSink#keeping(List)}.
+     */
+    static OrderSink loadingSink(List<Order> target) {
+        return Boolean.getBoolean(STRICT_PROPERTY) ? target::add : OrderSink.keeping(target);
+    }
+
+    private static Order readOrder(JsonParser parser, String sourceName) throws IOException, OrdersLoadException {
+        Order order = new Order();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "name" -> order.setName(readString(parser, value, sourceName));
+                case "description" -> order.setDescription(readString(parser, value, sourceName));
+                case "id" -> {
+                    if (value != JsonToken.VALUE_NUMBER_INT) {
+                        throw error(sourceName, "Order id must be an integer", parser);
+                    }
+                    order.setId(parser.getIntValue());
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return order;
+    }
+
+    private static String readString(JsonParser parser, JsonToken value, String sourceName)
+            throws IOException, OrdersLoadException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            throw error(sourceName, "Expected a string for '" + parser.currentName() + "'", parser);
+        }
+        return parser.getText();
+    }
+
+    private static String validate(Order order) {
+        if (order.isValid()) {
+            return null;
+        }
+        if (order.getId() <= 0) {
+            return "Order id must be positive: " + order.getId();
+        }
+        if (order.getName() == null || order.getName().isEmpty()) {
+            return "Order " + order.getId() + " has no name";
+        }
+        return "Order " + order.getId() + " has no description";
+    }
+
+    private static OrdersLoadException error(String sourceName, String message, JsonParser parser) {
+        JsonLocation location = parser.getTokenLocation();
+        return new OrdersLoadException(message + " in " + sourceName, location.getLineNr(), location.getColumnNr(), null);
+    }
+}
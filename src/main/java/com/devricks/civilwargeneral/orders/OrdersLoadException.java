@@ -2,15 +2,22 @@ package com.devricks.civilwargeneral.orders;
 
 /**
  * Exception thrown when there is an issue loading military orders.
+ * When the problem can be traced to a position in the source, the line and column are
+ * available through {@link #getLine()} and {@link #getColumn()}.
  */
 public class OrdersLoadException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final long line;
+    private final int column;
+
     /**
      * Constructs a new OrdersLoadException with the specified message.
      *
      * @param message the detail message
      */
     public OrdersLoadException(String message) {
-        super(message);
+        this(message, null);
     }
 
     /**
@@ -21,5 +28,40 @@ public class OrdersLoadException extends Exception {
      */
     public OrdersLoadException(String message, Throwable cause) {
         super(message, cause);
+        this.line = -1;
+        this.column = -1;
+    }
+
+    /**
+     * Constructs a new OrdersLoadException pointing at a position in the source.
+     * The position is appended to the message.
+     *
+     * @param message the detail message
+     * @param line the 1-based line of the offending record
+     * @param column the 1-based column of the offending record
+     * @param cause the cause of the exception, may be null
+     */
+    public OrdersLoadException(String message, long line, int column, Throwable cause) {
+        super(message + " (line " + line + ", column " + column + ")", cause);
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * Returns the line in the source where loading failed.
+     *
+     * @return the 1-based line, or -1 if unknown
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the column in the source where loading failed.
+     *
+     * @return the 1-based column, or -1 if unknown
+     */
+    public int getColumn() {
+        return column;
     }
 }
@@ -1,14 +1,39 @@
 package com.devricks.civilwargeneral.orders;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 /**
  * Interface for loading military orders from external sources.
  */
 public interface OrdersLoader {
     /**
      * Loads the default set of military orders.
+     * The loaders in this package compile the returned snapshot before returning, so its
+     * {@link OrdersSnapshot#getValidationReport() validation report} is ready and the first
+     * selection does not pay for validating the catalog.
      *
      * @return the collection of default orders
      * @throws OrdersLoadException if the orders cannot be loaded
      */
     Orders loadDefaults() throws OrdersLoadException;
+
+    /**
+     * Loads the default set of military orders on the given executor.
+     * The default implementation runs {@link #loadDefaults()} as a single background task.
+     *
+     * @param executor the executor to load on, typically a background thread
+     * @return a future completed with the orders, or completed exceptionally with a
+     *         {@link CompletionException} wrapping the {@link OrdersLoadException}
+     */
+    default CompletableFuture<Orders> loadDefaultsAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadDefaults();
+            } catch (OrdersLoadException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
 }
@@ -1,29 +1,66 @@
 package com.devricks.civilwargeneral.orders;
 
+import com.devricks.civilwargeneral.events.CatalogLoadEvent;
+import com.devricks.civilwargeneral.metrics.Counter;
+import com.devricks.civilwargeneral.metrics.LatencyHistogram;
+import com.devricks.civilwargeneral.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 /**
  * Implementation of the OrdersLoader interface that loads orders from the classpath.
+ * <p>
+ * Loaders built without an {@link Orders} factory share parsed catalogs through a
+ * {@link CatalogCache}: the resource is resolved once, keyed by its path and last modification
+ * time, and each call returns a new {@link Orders} whose snapshot is the cached one, so a load
+ * copies, indexes and validates nothing. The cached {@link Order} objects are shared between the
+ * returned collections and must not be changed through their setters.
  */
 public class OrdersLoaderImplementation implements OrdersLoader {
 
+    private static final LatencyHistogram LOAD_LATENCY = Metrics.global().histogram(Metrics.LOAD_LATENCY);
+    private static final Counter LOAD_FAILURES = Metrics.global().counter(Metrics.LOAD_FAILURES);
+
     private static final String DEFAULTS_PATH =
             "/com/devricks/civilwargeneral/default-orders.json";
 
     private final String resourcePath;
     private final Supplier<Orders> ordersFactory;
+    private final CatalogCache cache;
 
     /**
      * Constructs a new OrdersLoaderImplementation with default settings.
-     * Uses the default classpath resource and a default Orders factory.
+     * Loads the default classpath resource through the {@link CatalogCache#shared() shared} cache.
      */
     public OrdersLoaderImplementation() {
-        this(DEFAULTS_PATH, Orders::new);
+        this(DEFAULTS_PATH, CatalogCache.shared());
+    }
+
+    /**
+     * Constructs a new OrdersLoaderImplementation that loads a resource through a catalog cache.
+     *
+     * @param resourcePath the path to the JSON resource on the classpath
+     * @param cache the cache parsed catalogs are shared through
+     */
+    public OrdersLoaderImplementation(String resourcePath, CatalogCache cache) {
+        this.resourcePath = resourcePath;
+        this.ordersFactory = null;
+        this.cache = Objects.requireNonNull(cache, "cache");
     }
 
     /**
      * Constructs a new OrdersLoaderImplementation with specified resource path and factory.
+     * Every load parses the resource into a new instance from the factory; no cache is used.
      *
      * @param resourcePath the path to the JSON resource on the classpath
      * @param ordersFactory the factory used to create new Orders instances
@@ -31,13 +68,90 @@ public class OrdersLoaderImplementation implements OrdersLoader {
     public OrdersLoaderImplementation(String resourcePath, Supplier<Orders> ordersFactory) {
         this.resourcePath = resourcePath;
         this.ordersFactory = ordersFactory;
+        this.cache = null;
     }
 
     /**
      * {@inheritDoc}
+     * The load time and any failure are recorded in {@link Metrics#global()} and as a
+     * {@link CatalogLoadEvent}.
      */
     @Override
     public Orders loadDefaults() throws OrdersLoadException {
+        CatalogLoadEvent event = new CatalogLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            Orders orders = load();
+            if (event.isEnabled()) {
+                event.complete(resourcePath, resourceBytes(), orders.snapshot().size(), null);
+            }
+            return orders;
+        } catch (OrdersLoadException e) {
+            LOAD_FAILURES.increment();
+            event.complete(resourcePath, -1, 0, e.getMessage());
+            throw e;
+        } finally {
+            LOAD_LATENCY.recordSince(start);
+        }
+    }
+
+    private List<Order> parse(URL url) throws OrdersLoadException {
+        List<Order> loaded = new ArrayList<>();
+        try (InputStream in = url.openStream()) {
+            OrdersJsonReader.read(in, resourcePath, OrdersJsonReader.loadingSink(loaded));
+        } catch (IOException e) {
+            throw new OrdersLoadException("Failed to read orders from " + resourcePath, e);
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the resource's modification time without opening it. Resources in the runtime
+     * image cannot change, so they all share stamp 0.
+     */
+    private static long lastModified(URL url) throws IOException {
+        Path file = asFile(url);
+        if (file != null) {
+            return Files.getLastModifiedTime(file).toMillis();
+        }
+        if (url.openConnection() instanceof JarURLConnection jar) {
+            return jar.getJarEntry().getTime();
+        }
+        return 0;
+    }
+
+    private long resourceBytes() {
+        URL url = getClass().getResource(resourcePath);
+        if (url == null) {
+            return -1;
+        }
+        try {
+            Path file = asFile(url);
+            if (file != null) {
+                return Files.size(file);
+            }
+            if (url.openConnection() instanceof JarURLConnection jar) {
+                return jar.getJarEntry().getSize();
+            }
+            return -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static Path asFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Path.of(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Orders load() throws OrdersLoadException {
         try {
             // Verify the resource exists on the classpath (under src/main/resources)
             URL url = getClass().getResource(resourcePath);
@@ -46,6 +160,9 @@ public class OrdersLoaderImplementation implements OrdersLoader {
                         "Default orders resource not found: " + resourcePath
                 );
             }
+            if (cache != null) {
+                return Orders.sharing(cache.get(resourcePath, lastModified(url), () -> parse(url)));
+            }
             Orders orders = ordersFactory.get();
             // Reuse existing file/resource loading logic in Orders
             orders.loadFromFile(resourcePath);
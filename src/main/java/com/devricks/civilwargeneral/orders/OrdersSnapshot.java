@@ -0,0 +1,207 @@
+package com.devricks.civilwargeneral.orders;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable, versioned view of an {@link Orders} collection at one point in time.
+ * <p>
+ * A snapshot never changes after it is published, so it can be read from any thread without
+ * locking or copying. The version matches {@link Orders#getVersion()} at the time the snapshot
+ * was taken; two snapshots with the same version hold the same orders.
+ * <p>
+ * The first call to {@link #getValidationReport()}, {@link #validCount()} or
+ * {@link #getValid(int)} compiles the snapshot: every order is validated once into a
+ * {@link ValidationReport} holding a dense index of the valid positions, so drawing a valid order
+ * is a single bounded pick with no validation per draw. The loaders compile the snapshots they
+ * return on the loading thread.
+ */
+public final class OrdersSnapshot {
+    private static final OrdersSnapshot EMPTY = new OrdersSnapshot(0, List.of());
+
+    private final List<Order> orders;
+    private final List<Order> source;
+    private final OrderColumns columns;
+    private final long version;
+    private volatile ValidationReport report;
+
+    /**
+     * Constructs a snapshot holding a copy of the given orders.
+     *
+     * @param orders the orders in the snapshot
+     * @param version the version of the collection the orders were taken from
+     */
+    public OrdersSnapshot(List<Order> orders, long version) {
+        this(version, Arrays.asList(orders.toArray(new Order[0])));
+    }
+
+    private OrdersSnapshot(long version, List<Order> orders) {
+        this.orders = Collections.unmodifiableList(orders);
+        this.source = orders;
+        this.columns = orders instanceof OrderColumns stored ? stored : null;
+        this.version = version;
+    }
+
+    /**
+     * Wraps an array without copying it. The caller must never modify the array afterwards.
+     *
+     * @param orders the orders in the snapshot
+     * @param version the version of the collection the orders were taken from
+     * @return a snapshot backed by the array
+     */
+    static OrdersSnapshot wrap(Order[] orders, long version) {
+        return new OrdersSnapshot(version, Arrays.asList(orders));
+    }
+
+    /**
+     * Wraps a list without copying it. The list must never change afterwards.
+     *
+     * @param orders the orders in the snapshot
+     * @param version the version of the collection the orders were taken from
+     * @return a snapshot backed by the list
+     */
+    static OrdersSnapshot wrap(List<Order> orders, long version) {
+        return new OrdersSnapshot(version, orders);
+    }
+
+    /**
+     * Returns an empty snapshot with version 0.
+     *
+     * @return the empty snapshot
+     */
+    public static OrdersSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the list this snapshot wraps, for package code that reads it through
+     * {@link OrderColumns}. It must not be modified.
+     *
+     * @return the wrapped list
+     */
+    List<Order> stored() {
+        return source;
+    }
+
+    /**
+     * Returns the orders in this snapshot as a read-only list. No copy is made.
+     *
+     * @return an unmodifiable list of orders
+     */
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Returns the collection version this snapshot was taken at.
+     *
+     * @return the snapshot version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of orders in this snapshot.
+     *
+     * @return the number of orders
+     */
+    public int size() {
+        return orders.size();
+    }
+
+    /**
+     * Returns whether this snapshot holds no orders.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return orders.isEmpty();
+    }
+
+    /**
+     * Returns the order at the given position.
+     *
+     * @param index the position of the order
+     * @return the order, which may be null if a null order was added
+     */
+    public Order get(int index) {
+        return orders.get(index);
+    }
+
+    /**
+     * Returns the ID of the order at the given position. Columnar snapshots read it without
+     * building the order.
+     *
+     * @param index the position of the order
+     * @return the order ID, or 0 for a null order
+     */
+    public int getId(int index) {
+        if (columns != null) {
+            Objects.checkIndex(index, orders.size());
+            return columns.getId(index);
+        }
+        Order order = orders.get(index);
+        return order == null ? 0 : order.getId();
+    }
+
+    /**
+     * Returns the position of the first order with the given ID, the one
+     * {@link Orders#getOrderById(int)} resolves to. Unlike that method, it never locks: the IDs
+     * are indexed when the snapshot is compiled.
+     *
+     * @param id the order ID
+     * @return the position, or -1 if no order in the snapshot has the ID
+     */
+    public int positionOf(int id) {
+        return getValidationReport().positionOf(id);
+    }
+
+    /**
+     * Returns the validation report of this snapshot, compiling it on the first call.
+     *
+     * @return the report
+     */
+    public ValidationReport getValidationReport() {
+        ValidationReport compiled = report;
+        if (compiled == null) {
+            // Racing compilations produce equal reports, so the last one published wins harmlessly.
+            compiled = ValidationReport.compile(source);
+            report = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * Returns the number of orders that can be selected.
+     *
+     * @return the number of valid orders
+     */
+    public int validCount() {
+        return getValidationReport().getValidCount();
+    }
+
+    /**
+     * Returns the {@code i}-th valid order, in snapshot order.
+     *
+     * @param i the index among the valid orders, from 0 to {@link #validCount()} exclusive
+     * @return the order, never null
+     * @throws IndexOutOfBoundsException if {@code i} is out of range
+     */
+    public Order getValid(int i) {
+        return orders.get(validPosition(i));
+    }
+
+    /**
+     * Returns the position in this snapshot of the {@code i}-th valid order.
+     *
+     * @param i the index among the valid orders, from 0 to {@link #validCount()} exclusive
+     * @return the position, for {@link #get(int)}
+     * @throws IndexOutOfBoundsException if {@code i} is out of range
+     */
+    public int validPosition(int i) {
+        return getValidationReport().validPosition(i);
+    }
+}
@@ -0,0 +1,178 @@
+package com.devricks.civilwargeneral.orders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only pool of distinct strings stored as UTF-8 bytes.
+ * <p>
+ * Every distinct string is encoded once into one shared byte array; entry {@code i} spans
+ * {@code bytes[starts[i] .. starts[i + 1])}. Interning looks the bytes up in a primitive
+ * open-addressing table of entry indices, so a repeated string costs nothing but its index.
+ * Entries are never moved or overwritten, which lets {@link #view()} hand readers a consistent
+ * prefix of the pool while the owner keeps appending. Not thread-safe; the owner guards it.
+ */
+final class Utf8Pool {
+    private static final int EMPTY = -1;
+
+    private byte[] bytes = new byte[1024];
+    private int byteCount;
+    private int[] starts = new int[65];
+    private int[] hashes = new int[64];
+    private int count;
+    private int[] table = newTable(128);
+
+    /**
+     * Returns the index of the string's entry, adding it if it is not pooled yet.
+     *
+     * @param value the string to intern, not null
+     * @return the entry index
+     */
+    int intern(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int hash = Arrays.hashCode(encoded);
+        int mask = table.length - 1;
+        int i = spread(hash) & mask;
+        for (int entry = table[i]; entry != EMPTY; entry = table[i]) {
+            if (hashes[entry] == hash
+                    && Arrays.equals(bytes, starts[entry], starts[entry + 1], encoded, 0, encoded.length)) {
+                return entry;
+            }
+            i = (i + 1) & mask;
+        }
+        int entry = append(encoded, hash);
+        table[i] = entry;
+        if (count * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return entry;
+    }
+
+    /**
+     * Decodes an entry into a new string.
+     *
+     * @param entry the entry index
+     * @return the string
+     */
+    String get(int entry) {
+        return new String(bytes, starts[entry], starts[entry + 1] - starts[entry], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the encoded length of an entry without decoding it.
+     *
+     * @param entry the entry index
+     * @return the entry's length in UTF-8 bytes
+     */
+    int byteLength(int entry) {
+        return starts[entry + 1] - starts[entry];
+    }
+
+    /**
+     * Returns the number of distinct strings pooled.
+     *
+     * @return the entry count
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Returns the number of UTF-8 bytes held by all entries.
+     *
+     * @return the pooled byte count
+     */
+    int byteCount() {
+        return byteCount;
+    }
+
+    /**
+     * Returns the bytes allocated by the pool's arrays, including spare capacity.
+     *
+     * @return the allocated size in bytes
+     */
+    long allocatedBytes() {
+        return bytes.length + 4L * (starts.length + hashes.length + table.length);
+    }
+
+    /**
+     * Returns a read-only view of the entries pooled so far. Entries added later are not visible
+     * through it, and it stays valid however the pool grows.
+     *
+     * @return the view
+     */
+    View view() {
+        return new View(bytes, starts);
+    }
+
+    private int append(byte[] encoded, int hash) {
+        if (byteCount + encoded.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, byteCount + encoded.length));
+        }
+        System.arraycopy(encoded, 0, bytes, byteCount, encoded.length);
+        byteCount += encoded.length;
+        if (count == hashes.length) {
+            hashes = Arrays.copyOf(hashes, count * 2);
+            starts = Arrays.copyOf(starts, count * 2 + 1);
+        }
+        hashes[count] = hash;
+        starts[count + 1] = byteCount;
+        return count++;
+    }
+
+    private void rehash(int capacity) {
+        int[] rebuilt = newTable(capacity);
+        int mask = capacity - 1;
+        for (int entry = 0; entry < count; entry++) {
+            int i = spread(hashes[entry]) & mask;
+            while (rebuilt[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            rebuilt[i] = entry;
+        }
+        table = rebuilt;
+    }
+
+    private static int[] newTable(int capacity) {
+        int[] created = new int[capacity];
+        Arrays.fill(created, EMPTY);
+        return created;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Decodes entries of a fixed prefix of a pool.
+     */
+    static final class View {
+        private final byte[] bytes;
+        private final int[] starts;
+
+        View(byte[] bytes, int[] starts) {
+            this.bytes = bytes;
+            this.starts = starts;
+        }
+
+        /**
+         * Decodes an entry into a new string.
+         *
+         * @param entry the entry index
+         * @return the string
+         */
+        String get(int entry) {
+            return new String(bytes, starts[entry], starts[entry + 1] - starts[entry], StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Returns the encoded length of an entry without decoding it.
+         *
+         * @param entry the entry index
+         * @return the entry's length in UTF-8 bytes
+         */
+        int byteLength(int entry) {
+            return starts[entry + 1] - starts[entry];
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.devricks.civilwargeneral.orders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Result of validating every order of an {@link OrdersSnapshot} once.
+ * <p>
+ * Compiling a snapshot checks each entry as {@link Order#isValid()} would, but records why an
+ * entry fails, and detects IDs that an earlier entry already uses. Entries with a null order,
+ * an ID that is not positive, or an empty name or description are left out of the snapshot's
+ * dense index of valid orders and can never be selected. Duplicate IDs are reported but stay
+ * selectable, as {@link Orders} keeps them.
+ */
+public final class ValidationReport {
+
+    /**
+     * Reason an entry was reported.
+     */
+    public enum Problem {
+        /** The entry is a null order. */
+        NULL_ORDER,
+        /** The ID is zero or negative. */
+        INVALID_ID,
+        /** The name is null or empty. */
+        MISSING_NAME,
+        /** The description is null or empty. */
+        MISSING_DESCRIPTION,
+        /** An earlier entry has the same ID. The entry stays selectable. */
+        DUPLICATE_ID
+    }
+
+    /**
+     * The problems found with one entry.
+     */
+    public static final class Issue {
+        private final int position;
+        private final int id;
+        private final Set<Problem> problems;
+
+        Issue(int position, int id, Set<Problem> problems) {
+            this.position = position;
+            this.id = id;
+            this.problems = Collections.unmodifiableSet(problems);
+        }
+
+        /**
+         * Returns the position of the entry in the snapshot.
+         *
+         * @return the position
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * Returns the ID of the entry.
+         *
+         * @return the order ID, or 0 for a null order
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Returns what is wrong with the entry.
+         *
+         * @return the problems, never empty
+         */
+        public Set<Problem> getProblems() {
+            return problems;
+        }
+
+        /**
+         * Returns whether the entry is left out of selection, which is the case for every
+         * problem except {@link Problem#DUPLICATE_ID}.
+         *
+         * @return true if the entry can never be selected
+         */
+        public boolean isSkipped() {
+            return problems.size() > (problems.contains(Problem.DUPLICATE_ID) ? 1 : 0);
+        }
+
+        @Override
+        public String toString() {
+            return "#" + position + " (id " + id + "): " + problems;
+        }
+    }
+
+    private static final ValidationReport EMPTY = new ValidationReport(0, new int[0], List.of(), new int[0],
+            new OrderIdIndex(0));
+
+    private final int total;
+    private final int[] validPositions;
+    private final List<Issue> issues;
+    private final int[] duplicateIds;
+    private final OrderIdIndex firstPositions;
+
+    private ValidationReport(int total, int[] validPositions, List<Issue> issues, int[] duplicateIds,
+                             OrderIdIndex firstPositions) {
+        this.total = total;
+        this.validPositions = validPositions;
+        this.issues = Collections.unmodifiableList(issues);
+        this.duplicateIds = duplicateIds;
+        this.firstPositions = firstPositions;
+    }
+
+    /**
+     * Validates every entry of the list in one pass.
+     *
+     * @param orders the snapshot's orders
+     * @return the report, holding the positions of the valid entries in ascending order
+     */
+    static ValidationReport compile(List<Order> orders) {
+        int size = orders.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+        int[] valid = new int[size];
+        int validCount = 0;
+        List<Issue> issues = new ArrayList<>();
+        OrderIdIndex seen = new OrderIdIndex(size);
+        int[] duplicates = new int[0];
+        int duplicateCount = 0;
+        // Columnar lists are checked column by column; only invalid entries are built.
+        OrderColumns columns = orders instanceof OrderColumns stored ? stored : null;
+        for (int position = 0; position < size; position++) {
+            Order order = columns == null ? orders.get(position) : null;
+            if (columns != null ? columns.isNullRow(position) : order == null) {
+                issues.add(new Issue(position, 0, EnumSet.of(Problem.NULL_ORDER)));
+                continue;
+            }
+            int id = columns != null ? columns.getId(position) : order.getId();
+            boolean duplicate = seen.putIfAbsent(id, position) >= 0;
+            if (duplicate) {
+                if (duplicateCount == duplicates.length) {
+                    duplicates = Arrays.copyOf(duplicates, Math.max(8, duplicateCount * 2));
+                }
+                duplicates[duplicateCount++] = id;
+            }
+            if (columns != null ? columns.isValid(position) : order.isValid()) {
+                valid[validCount++] = position;
+                if (duplicate) {
+                    issues.add(new Issue(position, id, EnumSet.of(Problem.DUPLICATE_ID)));
+                }
+                continue;
+            }
+            // Only invalid entries pay for working out which checks failed.
+            if (order == null) {
+                order = orders.get(position);
+            }
+            Set<Problem> problems = EnumSet.noneOf(Problem.class);
+            if (id <= 0) {
+                problems.add(Problem.INVALID_ID);
+            }
+            if (order.getName() == null || order.getName().isEmpty()) {
+                problems.add(Problem.MISSING_NAME);
+            }
+            if (order.getDescription() == null || order.getDescription().isEmpty()) {
+                problems.add(Problem.MISSING_DESCRIPTION);
+            }
+            if (duplicate) {
+                problems.add(Problem.DUPLICATE_ID);
+            }
+            issues.add(new Issue(position, id, problems));
+        }
+        return new ValidationReport(size, validCount == size ? valid : Arrays.copyOf(valid, validCount),
+                issues, Arrays.copyOf(duplicates, duplicateCount), seen);
+    }
+
+    /**
+     * Returns the number of entries validated.
+     *
+     * @return the snapshot size
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of entries that can be selected.
+     *
+     * @return the number of valid entries
+     */
+    public int getValidCount() {
+        return validPositions.length;
+    }
+
+    /**
+     * Returns the number of entries left out of selection.
+     *
+     * @return the number of invalid entries
+     */
+    public int getInvalidCount() {
+        return total - validPositions.length;
+    }
+
+    /**
+     * Returns every entry with a problem, including selectable duplicates, by position.
+     *
+     * @return the issues, empty if every entry is valid and unique
+     */
+    public List<Issue> getIssues() {
+        return issues;
+    }
+
+    /**
+     * Returns the IDs that an earlier entry already used, in the order they were encountered.
+     *
+     * @return a copy of the duplicate IDs, empty if all IDs are unique
+     */
+    public int[] getDuplicateIds() {
+        return duplicateIds.clone();
+    }
+
+    /**
+     * Returns whether every entry is valid and every ID unique.
+     *
+     * @return true if there are no issues
+     */
+    public boolean isClean() {
+        return issues.isEmpty();
+    }
+
+    /**
+     * Returns the position in the snapshot of the {@code i}-th valid entry.
+     */
+    int validPosition(int i) {
+        return validPositions[i];
+    }
+
+    /**
+     * Returns the position of the first entry with the given ID. The index is never modified
+     * after compiling, so it can be read from any thread.
+     */
+    int positionOf(int id) {
+        return firstPositions.get(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationReport{total=" + total + ", valid=" + validPositions.length
+                + ", invalid=" + getInvalidCount() + ", duplicates=" + duplicateIds.length + '}';
+    }
+}
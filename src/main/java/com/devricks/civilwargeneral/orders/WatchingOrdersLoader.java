@@ -0,0 +1,247 @@
+package com.devricks.civilwargeneral.orders;
+
+import com.devricks.civilwargeneral.events.CatalogLoadEvent;
+import com.devricks.civilwargeneral.metrics.Counter;
+import com.devricks.civilwargeneral.metrics.LatencyHistogram;
+import com.devricks.civilwargeneral.metrics.Metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the OrdersLoader interface that loads a JSON catalog from the filesystem
+ * and keeps it up to date while the file is edited.
+ * <p>
+ * The first {@link #loadDefaults()} call reads the file and starts a daemon thread that watches
+ * its directory with a {@link WatchService}. When the file is modified or replaced, changes are
+ * allowed to settle for the debounce interval, the file is parsed again, and only the
+ * difference is applied to the {@link Orders} instance that was returned, with
+ * {@link Orders#apply(OrdersDiff)}. Readers holding that instance, such as the presenter and
+ * the selector, see each reload as one atomic snapshot change. A file that fails to parse, for
+ * example because it is only half written, leaves the current orders untouched and is retried
+ * on the next change. Unexpected failures while reloading are passed to
+ * {@link ReloadListener#failed} as well, and an exception thrown by the listener is reported to
+ * the watcher thread's uncaught exception handler; neither stops the watcher.
+ * <p>
+ * When the loaded or reloaded catalog has null rows or duplicate IDs, the diff replaces the
+ * whole list, so the orders always end up matching the file.
+ */
+public class WatchingOrdersLoader implements OrdersLoader, Closeable {
+
+    /**
+     * Receives the outcome of each reload. Called on the watcher thread.
+     */
+    public interface ReloadListener {
+        /**
+         * Called after a reload was applied.
+         *
+         * @param diff the changes applied, possibly empty
+         */
+        void reloaded(OrdersDiff diff);
+
+        /**
+         * Called when the changed file could not be loaded or applied; the current orders are kept.
+         *
+         * @param failure why loading failed, wrapping any unexpected exception
+         */
+        default void failed(OrdersLoadException failure) {
+        }
+    }
+
+    /** Time changes to the file are given to settle before it is reloaded. */
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(200);
+
+    private static final LatencyHistogram LOAD_LATENCY = Metrics.global().histogram(Metrics.LOAD_LATENCY);
+    private static final Counter LOAD_FAILURES = Metrics.global().counter(Metrics.LOAD_FAILURES);
+
+    private final Path catalogFile;
+    private final Duration debounce;
+    private volatile ReloadListener listener = diff -> { };
+    private Orders orders;
+    private WatchService watcher;
+    private boolean closed;
+
+    /**
+     * Constructs a loader for the given JSON catalog with the default debounce interval.
+     *
+     * @param catalogFile the JSON catalog to load and watch
+     */
+    public WatchingOrdersLoader(Path catalogFile) {
+        this(catalogFile, DEFAULT_DEBOUNCE);
+    }
+
+    /**
+     * Constructs a loader for the given JSON catalog.
+     *
+     * @param catalogFile the JSON catalog to load and watch
+     * @param debounce how long the file must stay unchanged before it is reloaded
+     */
+    public WatchingOrdersLoader(Path catalogFile, Duration debounce) {
+        this.catalogFile = Objects.requireNonNull(catalogFile, "catalogFile").toAbsolutePath();
+        this.debounce = Objects.requireNonNull(debounce, "debounce");
+    }
+
+    /**
+     * Sets the listener notified after each reload triggered by a file change.
+     *
+     * @param listener the listener
+     */
+    public void setListener(ReloadListener listener) {
+        this.listener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * {@inheritDoc}
+     * The first call starts watching the file. Later calls reload the file into the same
+     * {@link Orders} instance and return it.
+     */
+    @Override
+    public synchronized Orders loadDefaults() throws OrdersLoadException {
+        if (closed) {
+            throw new OrdersLoadException("Loader is closed: " + catalogFile);
+        }
+        if (orders != null) {
+            reload();
+            return orders;
+        }
+        orders = Orders.createDefault(read());
+        orders.snapshot().getValidationReport();
+        startWatching();
+        return orders;
+    }
+
+    /**
+     * Parses the file again and applies the difference to the loaded orders.
+     *
+     * @return the changes applied
+     * @throws OrdersLoadException if the file cannot be loaded; the current orders are kept
+     * @throws IllegalStateException if {@link #loadDefaults()} has not been called
+     */
+    public synchronized OrdersDiff reload() throws OrdersLoadException {
+        if (orders == null) {
+            throw new IllegalStateException("Orders have not been loaded yet");
+        }
+        OrdersDiff diff = OrdersDiff.between(orders.snapshot().getOrders(), read());
+        orders.apply(diff);
+        orders.snapshot().getValidationReport();
+        return diff;
+    }
+
+    /**
+     * Stops watching the file. The loaded orders stay usable.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    private List<Order> read() throws OrdersLoadException {
+        CatalogLoadEvent event = new CatalogLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            List<Order> loaded = new ArrayList<>();
+            OrdersJsonReader.readFile(catalogFile, OrdersJsonReader.loadingSink(loaded));
+            if (event.isEnabled()) {
+                event.complete(catalogFile.toString(), size(catalogFile), loaded.size(), null);
+            }
+            return loaded;
+        } catch (OrdersLoadException e) {
+            LOAD_FAILURES.increment();
+            event.complete(catalogFile.toString(), -1, 0, e.getMessage());
+            throw e;
+        } finally {
+            LOAD_LATENCY.recordSince(start);
+        }
+    }
+
+    private void startWatching() throws OrdersLoadException {
+        try {
+            watcher = catalogFile.getFileSystem().newWatchService();
+            catalogFile.getParent().register(watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new OrdersLoadException("Failed to watch orders file: " + catalogFile, e);
+        }
+        WatchService service = watcher;
+        Thread.ofPlatform().daemon().name("orders-watcher").start(() -> watch(service));
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                if (!concernsCatalog(service.take())) {
+                    continue;
+                }
+                // Wait for the burst of events an editor produces to end
+                WatchKey next;
+                while ((next = service.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    concernsCatalog(next);
+                }
+                OrdersDiff diff;
+                try {
+                    diff = reload();
+                } catch (OrdersLoadException e) {
+                    notifyListener(() -> listener.failed(e));
+                    continue;
+                } catch (RuntimeException e) {
+                    OrdersLoadException failure = new OrdersLoadException("Failed to reload orders: " + catalogFile, e);
+                    notifyListener(() -> listener.failed(failure));
+                    continue;
+                }
+                notifyListener(() -> listener.reloaded(diff));
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed; stop watching
+        }
+    }
+
+    /**
+     * Runs a listener callback. A listener that throws is reported to the thread's uncaught
+     * exception handler instead of ending the watcher.
+     */
+    private static void notifyListener(Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, e);
+        }
+    }
+
+    private boolean concernsCatalog(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || catalogFile.getFileName().equals(event.context())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
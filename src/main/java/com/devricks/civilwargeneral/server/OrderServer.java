@@ -0,0 +1,396 @@
+package com.devricks.civilwargeneral.server;
+
+import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.ai.ShuffledDeckSelector;
+import com.devricks.civilwargeneral.metrics.Counter;
+import com.devricks.civilwargeneral.metrics.LatencyHistogram;
+import com.devricks.civilwargeneral.metrics.Metrics;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
+import com.devricks.civilwargeneral.orders.ValidationReport;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server that deals orders to networked clients, such as player tablets at a
+ * tabletop event.
+ * <p>
+ * Built on the JDK's {@link HttpServer} with one virtual thread per exchange, so a slow client
+ * never holds up the others. Every request reads the shared {@link Orders} through its immutable
+ * {@link Orders#snapshot()}, and {@code /orders/{id}} looks the ID up with
+ * {@link OrdersSnapshot#positionOf(int)}, so requests never lock the catalog, and a hot reload is
+ * seen by the next request. Selections go through a fixed set of named strategies, each a single
+ * thread-safe {@link CommandSelector} shared by all clients; the {@code deck} strategy is one
+ * {@link ShuffledDeckSelector}, so every client deals from the same deck. All endpoints answer
+ * {@code GET} with JSON:
+ * <ul>
+ *     <li>{@code /select?count=N&strategy=random|deck}: an array of {@code N} orders (default 1,
+ *     at most {@link #MAX_COUNT})</li>
+ *     <li>{@code /orders}: the whole catalog, encoded once per catalog version</li>
+ *     <li>{@code /orders/{id}}: one order</li>
+ *     <li>{@code /validation}: the catalog's {@link ValidationReport}</li>
+ *     <li>{@code /health}: catalog size, valid orders and version</li>
+ * </ul>
+ * Errors are answered with {@code {"error": "..."}}: 400 for bad parameters, 404 for an unknown
+ * path or ID, 405 for other methods and 503 when the catalog has no valid orders. Request
+ * latency and error responses are recorded in {@link Metrics#global()}.
+ * <p>
+ * The JDK's server leaves Nagle's algorithm on, so each small response waits for the client's
+ * delayed ACK, about 40 ms. Launch with {@code -Dsun.net.httpserver.nodelay=true} to turn it off;
+ * {@code OrderServerCli} sets it for its own process. The property applies to every
+ * {@link HttpServer} in the process and is read when the first one starts.
+ */
+public final class OrderServer implements AutoCloseable {
+
+    /**
+     * Strategy used when a request does not name one.
+     */
+    public static final String DEFAULT_STRATEGY = "random";
+
+    /**
+     * Largest number of orders one {@code /select} request may draw.
+     */
+    public static final int MAX_COUNT = 1000;
+
+    private static final int BACKLOG = 256;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final LatencyHistogram REQUEST_LATENCY = Metrics.global().histogram(Metrics.SERVER_REQUEST_LATENCY);
+    private static final Counter ERRORS = Metrics.global().counter(Metrics.SERVER_ERRORS);
+
+    private final Orders orders;
+    private final Map<String, CommandSelector> strategies;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private volatile CatalogBody catalogBody;
+
+
+    private OrderServer(Orders orders, Map<String, ? extends CommandSelector> strategies, HttpServer server,
+                        ExecutorService executor) {
+        this.orders = orders;
+        this.strategies = Collections.unmodifiableMap(new LinkedHashMap<>(strategies));
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server with the default strategies on the given address.
+     *
+     * @param orders the catalog to serve
+     * @param address the address to bind; port 0 picks a free port
+     * @return the running server
+     * @throws IOException if the address cannot be bound
+     * @see #defaultStrategies()
+     */
+    public static OrderServer start(Orders orders, InetSocketAddress address) throws IOException {
+        return start(orders, address, defaultStrategies());
+    }
+
+    /**
+     * Starts a server with the given strategies on the given address.
+     *
+     * @param orders the catalog to serve
+     * @param address the address to bind; port 0 picks a free port
+     * @param strategies the selectors by the name clients pass as {@code strategy}; they are shared
+     *                   by all requests, so each must be thread-safe
+     * @return the running server
+     * @throws IOException if the address cannot be bound
+     * @throws IllegalArgumentException if there is no {@link #DEFAULT_STRATEGY} selector
+     */
+    public static OrderServer start(Orders orders, InetSocketAddress address,
+                                    Map<String, ? extends CommandSelector> strategies) throws IOException {
+        Objects.requireNonNull(orders, "orders");
+        Objects.requireNonNull(address, "address");
+        if (strategies.get(DEFAULT_STRATEGY) == null) {
+            throw new IllegalArgumentException("A '" + DEFAULT_STRATEGY + "' strategy is required");
+        }
+        HttpServer http = HttpServer.create(address, BACKLOG);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        OrderServer created = new OrderServer(orders, strategies, http, executor);
+        http.createContext("/", created::handle);
+        http.setExecutor(executor);
+        http.start();
+        return created;
+    }
+
+    /**
+     * Returns the strategies a server starts with by default: {@code random}, a
+     * {@link CommandSelector} over a {@code SecureRandom}, and {@code deck}, a
+     * {@link ShuffledDeckSelector}.
+     *
+     * @return a new, modifiable map of new selectors
+     */
+    public static Map<String, CommandSelector> defaultStrategies() {
+        Map<String, CommandSelector> defaults = new LinkedHashMap<>();
+        defaults.put(DEFAULT_STRATEGY, new CommandSelector());
+        defaults.put("deck", new ShuffledDeckSelector());
+        return defaults;
+    }
+
+    /**
+     * Returns the address the server is bound to, with the actual port if port 0 was requested.
+     *
+     * @return the bound address
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Returns the base URI clients should use, such as {@code http://127.0.0.1:8080/}.
+     *
+     * @return the base URI
+     */
+    public URI getUri() {
+        InetSocketAddress address = getAddress();
+        String host = address.getAddress().isAnyLocalAddress() ? "localhost" : address.getHostString();
+        if (host.indexOf(':') >= 0) {
+            host = "[" + host + "]";
+        }
+        return URI.create("http://" + host + ":" + address.getPort() + "/");
+    }
+
+    /**
+     * Returns the names of the strategies clients can select with.
+     *
+     * @return the strategy names, default first
+     */
+    public List<String> getStrategies() {
+        return List.copyOf(strategies.keySet());
+    }
+
+    /**
+     * Blocks until the server is closed.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void awaitClose() throws InterruptedException {
+        closed.await();
+    }
+
+    /**
+     * Stops accepting connections and waits for the exchanges in progress to finish.
+     * Closing an already closed server does nothing.
+     */
+    @Override
+    public void close() {
+        if (closed.getCount() == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (closed.getCount() == 0) {
+                return;
+            }
+            server.stop(0);
+            executor.close();
+            closed.countDown();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            Response response;
+            try {
+                response = route(exchange);
+            } catch (RuntimeException | JsonProcessingException e) {
+                response = Response.error(500, "Internal error: " + e.getMessage());
+            }
+            if (response.status >= 400) {
+                ERRORS.increment();
+            }
+            send(exchange, response);
+        } finally {
+            REQUEST_LATENCY.recordSince(start);
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws JsonProcessingException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            return Response.error(405, "Only GET is supported");
+        }
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        if (path.equals("/select")) {
+            return select(query);
+        }
+        if (path.equals("/orders")) {
+            return Response.json(200, catalog(orders.snapshot()));
+        }
+        if (path.startsWith("/orders/")) {
+            return order(path.substring("/orders/".length()));
+        }
+        if (path.equals("/validation")) {
+            return Response.json(200, OBJECT_MAPPER.writeValueAsBytes(validation(orders.snapshot())));
+        }
+        if (path.equals("/health")) {
+            OrdersSnapshot snapshot = orders.snapshot();
+            Map<String, Object> health = new LinkedHashMap<>();
+            health.put("status", "ok");
+            health.put("orders", snapshot.size());
+            health.put("valid", snapshot.validCount());
+            health.put("version", snapshot.getVersion());
+            health.put("strategies", getStrategies());
+            return Response.json(200, OBJECT_MAPPER.writeValueAsBytes(health));
+        }
+        return Response.error(404, "Not found: " + path);
+    }
+
+    private Response select(Map<String, String> query) throws JsonProcessingException {
+        int count = 1;
+        String countParameter = query.get("count");
+        if (countParameter != null) {
+            try {
+                count = Integer.parseInt(countParameter);
+            } catch (NumberFormatException e) {
+                count = -1;
+            }
+            if (count < 1 || count > MAX_COUNT) {
+                return Response.error(400, "count must be between 1 and " + MAX_COUNT + ": " + countParameter);
+            }
+        }
+        String strategy = query.getOrDefault("strategy", DEFAULT_STRATEGY);
+        CommandSelector selector = strategies.get(strategy);
+        if (selector == null) {
+            return Response.error(400, "Unknown strategy: " + strategy);
+        }
+        List<Order> selected = selector.selectMany(orders, count);
+        if (selected.isEmpty()) {
+            return Response.error(503, "The catalog has no valid orders");
+        }
+        return Response.json(200, OBJECT_MAPPER.writeValueAsBytes(selected));
+    }
+
+    private Response order(String idText) throws JsonProcessingException {
+        int id;
+        try {
+            id = Integer.parseInt(idText);
+        } catch (NumberFormatException e) {
+            return Response.error(400, "Order id must be an integer: " + idText);
+        }
+        OrdersSnapshot snapshot = orders.snapshot();
+        int position = snapshot.positionOf(id);
+        if (position < 0) {
+            return Response.error(404, "No order with id " + id);
+        }
+        return Response.json(200, OBJECT_MAPPER.writeValueAsBytes(snapshot.get(position)));
+    }
+
+    /**
+     * Returns the catalog's JSON, encoding it only when the catalog version changes.
+     */
+    private byte[] catalog(OrdersSnapshot snapshot) throws JsonProcessingException {
+        CatalogBody body = catalogBody;
+        if (body == null || body.version != snapshot.getVersion()) {
+            // Racing requests may both encode a new version; either result is correct.
+            body = new CatalogBody(snapshot.getVersion(), OBJECT_MAPPER.writeValueAsBytes(snapshot.getOrders()));
+            catalogBody = body;
+        }
+        return body.json;
+    }
+
+    private static Map<String, Object> validation(OrdersSnapshot snapshot) {
+        ValidationReport report = snapshot.getValidationReport();
+        List<Map<String, Object>> issues = new ArrayList<>();
+        for (ValidationReport.Issue issue : report.getIssues()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("position", issue.getPosition());
+            entry.put("id", issue.getId());
+            entry.put("problems", issue.getProblems());
+            entry.put("skipped", issue.isSkipped());
+            issues.add(entry);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("version", snapshot.getVersion());
+        json.put("total", report.getTotal());
+        json.put("valid", report.getValidCount());
+        json.put("invalid", report.getInvalidCount());
+        json.put("duplicateIds", report.getDuplicateIds());
+        json.put("issues", issues);
+        return json;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> parameters = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (response.status == 405) {
+            exchange.getResponseHeaders().set("Allow", "GET");
+        }
+        exchange.sendResponseHeaders(response.status, response.body.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(response.body);
+        }
+    }
+
+    /**
+     * Status and encoded body of one response.
+     */
+    private static final class Response {
+        private final int status;
+        private final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response json(int status, byte[] body) {
+            return new Response(status, body);
+        }
+
+        static Response error(int status, String message) {
+            try {
+                return new Response(status, OBJECT_MAPPER.writeValueAsBytes(Map.of("error", message)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * The catalog's JSON at one version.
+     */
+    private static final class CatalogBody {
+        private final long version;
+        private final byte[] json;
+
+        CatalogBody(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+}
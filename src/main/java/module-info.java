@@ -1,28 +1,38 @@
 /**
  * The module definition for the Civil War General application.
  * Defines dependencies and exports/opens for JavaFX, Jackson, and testing frameworks.
+ * Only modules the application actually uses are required, so the boot layer and the jlink
+ * image stay small; add a {@code requires} here when a UI library is first used.
+ * The incubating Vector API is optional: suitability scoring uses it only when the module is
+ * added at launch ({@code --add-modules jdk.incubator.vector}). Requiring it makes javac print
+ * "using incubating module(s)" on every compile, which cannot be suppressed and is accepted.
  */
 module com.devricks.civilwargeneral {
     requires javafx.controls;
     requires javafx.fxml;
-    requires javafx.web;
 
-    requires org.controlsfx.controls;
-    requires com.dlsc.formsfx;
-    requires net.synedra.validatorfx;
-    requires org.kordamp.ikonli.javafx;
-    requires org.kordamp.bootstrapfx.core;
-    requires eu.hansolo.tilesfx;
     requires com.fasterxml.jackson.databind;
     requires com.fasterxml.jackson.core;
     requires java.desktop;
+    requires java.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
+    requires static jdk.incubator.vector;
 
     opens com.devricks.civilwargeneral to javafx.fxml;
     opens com.devricks.civilwargeneral.orders to com.fasterxml.jackson.databind, org.junit.platform.commons, org.mockito;
     opens com.devricks.civilwargeneral.ai to org.junit.platform.commons, org.mockito;
     opens com.devricks.civilwargeneral.controllers to javafx.fxml;
+    opens com.devricks.civilwargeneral.history to org.junit.platform.commons, org.mockito;
+    opens com.devricks.civilwargeneral.metrics to org.junit.platform.commons, org.mockito;
+    opens com.devricks.civilwargeneral.events to org.junit.platform.commons, org.mockito;
+    opens com.devricks.civilwargeneral.server to org.junit.platform.commons, org.mockito;
     exports com.devricks.civilwargeneral;
     exports com.devricks.civilwargeneral.controllers;
     exports com.devricks.civilwargeneral.orders;
     exports com.devricks.civilwargeneral.ai;
+    exports com.devricks.civilwargeneral.history;
+    exports com.devricks.civilwargeneral.metrics;
+    exports com.devricks.civilwargeneral.events;
+    exports com.devricks.civilwargeneral.server;
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.devricks.civilwargeneral;
+
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandDeckCliTest {
+
+    @TempDir
+    Path dir;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String... args) {
+        return CommandDeckCli.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void run_writesJsonLines_fromDefaultCatalog_andReportsThroughput() throws Exception {
+        Path deck = dir.resolve("deck.jsonl");
+
+        int status = run("--count", "10000", "--output", deck.toString(), "--threads", "4");
+
+        assertEquals(0, status, err.toString(StandardCharsets.UTF_8));
+        List<String> lines = Files.readAllLines(deck);
+        assertEquals(10000, lines.size());
+        ObjectMapper mapper = new ObjectMapper();
+        for (String line : lines) {
+            assertTrue(mapper.readValue(line, Order.class).isValid(), line);
+        }
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("orders/s"));
+    }
+
+    @Test
+    void generate_writesCsv_withQuotingAndOnlyValidOrders() throws Exception {
+        Orders orders = new Orders(List.of(
+                new Order("Hold, then advance", "Say \"charge\"", 1),
+                new Order("", "invalid", 2)));
+        Path deck = dir.resolve("deck.csv");
+
+        CommandDeckCli.generate(orders, 50, CommandDeckCli.Format.CSV, deck, 3);
+
+        List<String> lines = Files.readAllLines(deck);
+        assertEquals(51, lines.size());
+        assertEquals("id,name,description", lines.get(0));
+        assertEquals(Set.of("1,\"Hold, then advance\",\"Say \"\"charge\"\"\""), Set.copyOf(lines.subList(1, 51)));
+    }
+
+    @Test
+    void generate_withoutValidOrders_fails() {
+        Orders orders = new Orders(List.of(new Order("", "", 0)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CommandDeckCli.generate(orders, 1, CommandDeckCli.Format.JSONL, dir.resolve("deck"), 1));
+    }
+
+    @Test
+    void run_rejectsMissingArguments() {
+        assertEquals(2, run("--format", "xml"));
+        assertEquals(2, run("--output", "deck.jsonl"));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Usage"));
+    }
+}
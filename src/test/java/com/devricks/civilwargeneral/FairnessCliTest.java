@@ -0,0 +1,38 @@
+package com.devricks.civilwargeneral;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairnessCliTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String... args) {
+        return FairnessCli.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void run_certifiesDefaultCatalog_withRepeatableSeed() {
+        int status = run("--draws", "400000", "--threads", "2", "--seed", "1234");
+
+        assertEquals(0, status, err.toString(StandardCharsets.UTF_8) + out.toString(StandardCharsets.UTF_8));
+        String report = out.toString(StandardCharsets.UTF_8);
+        assertTrue(report.contains("Attack Forward"), report);
+        assertTrue(report.contains("PASS at alpha=0.001"), report);
+        assertTrue(report.contains("seed=1234"), report);
+    }
+
+    @Test
+    void run_rejectsMissingDrawsAndUnknownStrategy() {
+        assertEquals(2, run("--threads", "2"));
+        assertEquals(2, run("--draws", "10", "--strategy", "loaded"));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Unknown strategy: loaded"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.devricks.civilwargeneral;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderServerCliTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String... args) {
+        return OrderServerCli.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void run_servesDefaultCatalog_untilInterrupted() throws Exception {
+        AtomicInteger status = new AtomicInteger(-1);
+        Thread server = Thread.ofPlatform().start(() -> status.set(run("--port", "0", "--bind", "127.0.0.1")));
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!out.toString(StandardCharsets.UTF_8).contains("Serving") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        server.interrupt();
+        server.join(10_000);
+
+        assertEquals(0, status.get(), err.toString(StandardCharsets.UTF_8));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("on http://127.0.0.1:"));
+    }
+
+    @Test
+    void run_rejectsBadArguments_andMissingCatalog() {
+        assertEquals(2, run("--port", "70000"));
+        assertEquals(2, run("--listen"));
+        assertEquals(1, run("--port", "0", "--catalog", "does-not-exist.json"));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Failed to load orders"));
+    }
+}
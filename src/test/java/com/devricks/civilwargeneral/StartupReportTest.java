@@ -0,0 +1,78 @@
+package com.devricks.civilwargeneral;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupReportTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void record_storesOffsetAndDuration() {
+        StartupReport report = StartupReport.startingAt(1_000 * MS);
+
+        report.record(StartupReport.Phase.FXML_LOAD, 1_010 * MS, 1_040 * MS);
+
+        assertEquals(Optional.of(Duration.ofMillis(30)), report.getDuration(StartupReport.Phase.FXML_LOAD));
+        assertEquals(Optional.of(Duration.ofMillis(40)), report.getEndOffset(StartupReport.Phase.FXML_LOAD));
+        assertEquals(Optional.empty(), report.getDuration(StartupReport.Phase.CATALOG_LOAD));
+    }
+
+    @Test
+    void record_keepsFirstRecordingOfAPhase() {
+        StartupReport report = StartupReport.startingAt(0);
+
+        report.record(StartupReport.Phase.FXML_LOAD, 0, 5 * MS);
+        report.record(StartupReport.Phase.FXML_LOAD, 0, 50 * MS);
+
+        assertEquals(Optional.of(Duration.ofMillis(5)), report.getDuration(StartupReport.Phase.FXML_LOAD));
+    }
+
+    @Test
+    void onComplete_runsOnce_afterFirstFrameAndCatalogLoad() {
+        StartupReport report = StartupReport.startingAt(0);
+        List<StartupReport> completed = new ArrayList<>();
+        report.onComplete(completed::add);
+
+        report.record(StartupReport.Phase.FIRST_FRAME, 10 * MS, 20 * MS);
+        assertFalse(report.isComplete());
+        assertTrue(completed.isEmpty());
+
+        report.record(StartupReport.Phase.CATALOG_LOAD, 5 * MS, 30 * MS);
+        report.record(StartupReport.Phase.PRESENTER_INIT, 1 * MS, 2 * MS);
+
+        assertTrue(report.isComplete());
+        assertEquals(List.of(report), completed);
+        assertEquals(Optional.of(Duration.ofMillis(20)), report.getTimeToFirstFrame());
+    }
+
+    @Test
+    void onComplete_runsImmediately_whenAlreadyComplete() {
+        StartupReport report = StartupReport.startingAt(0);
+        report.record(StartupReport.Phase.FIRST_FRAME, 0, 1);
+        report.record(StartupReport.Phase.CATALOG_LOAD, 0, 1);
+        List<StartupReport> completed = new ArrayList<>();
+
+        report.onComplete(completed::add);
+
+        assertEquals(1, completed.size());
+    }
+
+    @Test
+    void timer_recordsPhaseOnClose() {
+        StartupReport report = StartupReport.begin();
+
+        try (var phase = report.time(StartupReport.Phase.CATALOG_LOAD)) {
+            assertTrue(report.getDuration(StartupReport.Phase.CATALOG_LOAD).isEmpty());
+        }
+
+        assertTrue(report.getDuration(StartupReport.Phase.CATALOG_LOAD).isPresent());
+        assertTrue(report.toString().contains("CATALOG_LOAD"));
+    }
+}
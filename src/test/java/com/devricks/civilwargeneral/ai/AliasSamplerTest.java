@@ -0,0 +1,71 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasSamplerTest {
+
+    @Test
+    void sample_followsWeights() {
+        double[] weights = {1, 2, 3, 4};
+        AliasSampler sampler = new AliasSampler(weights);
+        SplittableRandom random = new SplittableRandom(7);
+        int draws = 400_000;
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            double expected = draws * weights[i] / 10.0;
+            assertEquals(expected, counts[i], expected * 0.03, "index " + i);
+        }
+    }
+
+    @Test
+    void sample_neverReturnsZeroWeightIndex() {
+        AliasSampler sampler = new AliasSampler(new double[]{0, 5, 0, 1});
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 100_000; i++) {
+            int index = sampler.sample(random);
+            assertTrue(index == 1 || index == 3);
+        }
+    }
+
+    @Test
+    void constructor_rejectsInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[]{1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[]{1, Double.NaN}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[]{Double.POSITIVE_INFINITY}));
+    }
+
+    @Test
+    void weightedOrderSelector_picksOnlyWeightedOrders() {
+        Orders orders = new Orders();
+        orders.addOrder(new Order("Attack", "Attack the enemy", 1));
+        orders.addOrder(new Order("Defend", "Defend the base", 2));
+        CommandSelector selector = new CommandSelector(new SplittableRandom(3));
+        AliasSampler sampler = new AliasSampler(new double[]{0, 1});
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(2, selector.weightedOrderSelector(orders, sampler).getId());
+        }
+    }
+
+    @Test
+    void weightedOrderSelector_returnsNull_whenSamplerDoesNotMatchCatalog() {
+        Orders orders = new Orders();
+        orders.addOrder(new Order("Attack", "Attack the enemy", 1));
+        CommandSelector selector = new CommandSelector();
+
+        assertNull(selector.weightedOrderSelector(orders, new AliasSampler(new double[]{1, 1})));
+        assertNull(selector.weightedOrderSelector(null, new AliasSampler(new double[]{1})));
+        assertNull(selector.weightedOrderSelector(orders, null));
+    }
+}
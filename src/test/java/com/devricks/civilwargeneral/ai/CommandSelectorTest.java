@@ -1,12 +1,16 @@
 package com.devricks.civilwargeneral.ai;
 
+import com.devricks.civilwargeneral.metrics.Metrics;
 import com.devricks.civilwargeneral.orders.Order;
 import com.devricks.civilwargeneral.orders.Orders;
 import org.junit.jupiter.api.*;
 
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 class CommandSelectorTest {
 
@@ -361,6 +365,68 @@ class CommandSelectorTest {
         Assertions.assertEquals(expectedOrder.toString(), selectedOrder.toString());
     }
 
+    @Test
+    void whenRandomOrderSelector_IsGivenSeededGenerator_ShouldBeReproducible() {
+        Orders orders = loadTwoOrders();
+        CommandSelector first = new CommandSelector(new SplittableRandom(42));
+        CommandSelector second = new CommandSelector(new SplittableRandom(42));
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertEquals(first.randomOrderSelector(orders), second.randomOrderSelector(orders));
+        }
+    }
+
+    @Test
+    void whenSelectMany_IsPassedOrdersObject_ShouldReturnRequestedNumberOfOrders() {
+        CommandSelector commandSelector = new CommandSelector();
+        Orders orders = loadTwoOrders();
+        List<Order> selected = commandSelector.selectMany(orders, 1_000);
+        Assertions.assertEquals(1_000, selected.size());
+        Assertions.assertTrue(selected.stream().allMatch(order -> order.getId() == 1 || order.getId() == 2));
+        Assertions.assertTrue(selected.stream().anyMatch(order -> order.getId() == 1));
+        Assertions.assertTrue(selected.stream().anyMatch(order -> order.getId() == 2));
+    }
+
+    @Test
+    void whenSelectMany_IsPassedNullOrEmptyOrdersObject_ShouldReturnEmptyList() {
+        CommandSelector commandSelector = new CommandSelector();
+        Assertions.assertTrue(commandSelector.selectMany(null, 10).isEmpty());
+        Assertions.assertTrue(commandSelector.selectMany(new Orders(), 10).isEmpty());
+        Assertions.assertTrue(commandSelector.selectMany(loadOneOrder(), 0).isEmpty());
+    }
+
+    @Test
+    void whenSelectMany_IsPassedNegativeCount_ShouldThrow() {
+        CommandSelector commandSelector = new CommandSelector();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> commandSelector.selectMany(loadOneOrder(), -1));
+    }
+
+    @Test
+    void whenSelectMany_IsPassedOrdersObjectWithOnlyInvalidOrders_ShouldReturnEmptyList() {
+        CommandSelector commandSelector = new CommandSelector();
+        Orders orders = new Orders();
+        orders.addOrder(new Order("Invalid", null, -1));
+        Assertions.assertTrue(commandSelector.selectMany(orders, 5).isEmpty());
+    }
+
+    @Test
+    void whenCatalogMixesValidAndInvalidOrders_EverySelectionShouldBeValid() {
+        CommandSelector commandSelector = new CommandSelector(new SplittableRandom(9));
+        Orders orders = new Orders(Arrays.asList(
+                new Order("", "invalid", 1),
+                null,
+                new Order("Attack", "Attack the enemy", 2),
+                new Order("Hold", null, 3),
+                new Order("Defend", "Defend the base", 4)));
+        for (int i = 0; i < 200; i++) {
+            Order selected = commandSelector.randomOrderSelector(orders);
+            Assertions.assertNotNull(selected);
+            Assertions.assertTrue(selected.isValid());
+        }
+        List<Order> batch = commandSelector.selectMany(orders, 1_000);
+        Assertions.assertEquals(1_000, batch.size());
+        Assertions.assertTrue(batch.stream().allMatch(order -> order.getId() == 2 || order.getId() == 4));
+    }
+
     @Nested
     class RandomNumberGeneratorTests {
 
@@ -435,4 +501,22 @@ class CommandSelectorTest {
             Assertions.assertEquals(randomNumber1, randomNumber2);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void selections_areRecordedInGlobalMetrics() {
+        Metrics metrics = Metrics.global();
+        long selections = metrics.histogram(Metrics.SELECTION_LATENCY).getCount();
+        long empty = metrics.counter(Metrics.SELECTION_EMPTY).getCount();
+        long invalid = metrics.counter(Metrics.SELECTION_INVALID).getCount();
+        CommandSelector commandSelector = new CommandSelector();
+
+        commandSelector.randomOrderSelector(null);
+        commandSelector.randomOrderSelector(new Orders(List.of(new Order("", "invalid", 1))));
+        commandSelector.randomOrderSelector(loadOneOrder());
+
+        Assertions.assertEquals(selections + 3, metrics.histogram(Metrics.SELECTION_LATENCY).getCount());
+        // A catalog with no valid orders is an empty selection; uniform picks are never invalid.
+        Assertions.assertEquals(empty + 2, metrics.counter(Metrics.SELECTION_EMPTY).getCount());
+        Assertions.assertEquals(invalid, metrics.counter(Metrics.SELECTION_INVALID).getCount());
+    }
+}
@@ -0,0 +1,173 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.metrics.LatencyHistogram;
+import com.devricks.civilwargeneral.metrics.Metrics;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairnessVerifierTest {
+
+    private static Orders catalog() {
+        return new Orders(List.of(
+                new Order("Attack", "Attack the enemy", 1),
+                new Order("Defend", "Defend the base", 2),
+                new Order("", "invalid", 3),
+                new Order("Retreat", "Fall back", 4),
+                new Order("Flank", "Go around", 5)));
+    }
+
+    @Test
+    void verify_uniformSelector_passes_andNeverDrawsInvalidOrders() {
+        FairnessVerifier verifier = new FairnessVerifier(FairnessVerifier.Strategy.batch(), CommandSelector::new, 4);
+
+        FairnessReport report = verifier.verify(catalog(), 2_000_000, 42);
+
+        assertTrue(report.passes(0.001), report::toString);
+        assertEquals(2_000_000, report.getDraws());
+        assertEquals(4, report.getEntries().size());
+        assertEquals(0.0, report.getNoOrderExpected(), 1e-6);
+        assertEquals(0, report.getNoOrderObserved());
+        assertEquals(3, report.getDegreesOfFreedom());
+        long total = report.getNoOrderObserved();
+        for (FairnessReport.Entry entry : report.getEntries()) {
+            assertEquals(500_000.0, entry.getExpected(), 1e-6);
+            total += entry.getObserved();
+        }
+        assertEquals(2_000_000, total);
+    }
+
+    @Test
+    void verify_columnarCatalog_givesSameCountsAsListCatalog() {
+        Orders columnar = Orders.columnar(catalog().snapshot().getOrders());
+        FairnessVerifier verifier = new FairnessVerifier(FairnessVerifier.Strategy.batch(), CommandSelector::new, 2);
+
+        FairnessReport list = verifier.verify(catalog(), 100_000, 13);
+        FairnessReport columns = verifier.verify(columnar, 100_000, 13);
+
+        assertEquals(list.getChiSquare(), columns.getChiSquare());
+        assertEquals(list.getEntries().get(3).getOrder(), columns.getEntries().get(3).getOrder());
+    }
+
+    @Test
+    void verify_sameSeed_givesSameCounts_atAnyParallelism() {
+        Orders orders = catalog();
+        long draws = 9_000_000;
+
+        FairnessReport serial = new FairnessVerifier(FairnessVerifier.Strategy.batch(), CommandSelector::new, 1)
+                .verify(orders, draws, 7);
+        FairnessReport parallel = new FairnessVerifier(FairnessVerifier.Strategy.batch(), CommandSelector::new, 4)
+                .verify(orders, draws, 7);
+
+        assertEquals(serial.getNoOrderObserved(), parallel.getNoOrderObserved());
+        for (int i = 0; i < serial.getEntries().size(); i++) {
+            assertEquals(serial.getEntries().get(i).getObserved(), parallel.getEntries().get(i).getObserved());
+        }
+        assertEquals(serial.getChiSquare(), parallel.getChiSquare());
+    }
+
+    @Test
+    void verify_singleDrawStrategy_passes() {
+        FairnessReport report = new FairnessVerifier(FairnessVerifier.Strategy.single(), CommandSelector::new, 2)
+                .verify(catalog(), 200_000, 3);
+
+        assertTrue(report.passes(0.001), report::toString);
+    }
+
+    @Test
+    void verify_builtInStrategies_recordNoSelectionMetrics() {
+        LatencyHistogram single = Metrics.global().histogram(Metrics.SELECTION_LATENCY);
+        LatencyHistogram batch = Metrics.global().histogram(Metrics.SELECTION_BATCH_LATENCY);
+        long singleCount = single.getCount();
+        long batchCount = batch.getCount();
+
+        new FairnessVerifier(FairnessVerifier.Strategy.single(), CommandSelector::new, 2).verify(catalog(), 50_000, 5);
+        new FairnessVerifier(FairnessVerifier.Strategy.batch(), CommandSelector::new, 2).verify(catalog(), 50_000, 5);
+
+        assertEquals(singleCount, single.getCount());
+        assertEquals(batchCount, batch.getCount());
+    }
+
+    @Test
+    void verify_weightedStrategy_passesAgainstProportionalExpectation() {
+        Orders orders = catalog();
+        double[] weights = {1, 2, 4, 3, 0};
+        FairnessVerifier verifier = new FairnessVerifier(
+                FairnessVerifier.Strategy.weighted(new AliasSampler(weights)), CommandSelector::new, 4);
+
+        FairnessReport report = verifier.verify(orders, FairnessVerifier.proportional(orders.snapshot(), weights),
+                1_000_000, 11);
+
+        assertTrue(report.passes(0.001), report::toString);
+        assertEquals(3, report.getEntries().size());
+        assertEquals(400_000.0, report.getNoOrderExpected(), 1e-6);
+    }
+
+    @Test
+    void verify_biasedStrategy_fails() {
+        FairnessVerifier.Strategy biased = (selector, snapshot, count) -> {
+            int[] drawn = new int[count];
+            for (int i = 0; i < count; i++) {
+                int position = selector.selectPosition(snapshot);
+                // Re-draw the first order's picks one time in ten.
+                if (snapshot.getId(position) == 1 && selector.random().nextInt(10) == 0) {
+                    position = selector.selectPosition(snapshot);
+                }
+                drawn[i] = position;
+            }
+            return drawn;
+        };
+
+        FairnessReport report = new FairnessVerifier(biased, CommandSelector::new, 4).verify(catalog(), 1_000_000, 5);
+
+        assertFalse(report.passes(0.001), report::toString);
+        assertTrue(report.getEntries().get(0).getZScore() < -5, report::toString);
+    }
+
+    @Test
+    void verify_drawOutsideExpectation_makesChiSquareInfinite() {
+        Orders orders = catalog();
+        double[] expected = {0.5, 0.5, 0, 0, 0};
+
+        FairnessReport report = new FairnessVerifier(FairnessVerifier.Strategy.batch(), CommandSelector::new, 2)
+                .verify(orders, expected, 10_000, 1);
+
+        assertEquals(Double.POSITIVE_INFINITY, report.getChiSquare());
+        assertEquals(0.0, report.getChiSquarePValue());
+        assertFalse(report.passes(0.001));
+    }
+
+    @Test
+    void verify_rejectsForeignPositions_andInvalidArguments() {
+        Orders orders = catalog();
+        FairnessVerifier foreign = new FairnessVerifier((selector, snapshot, count) -> {
+            int[] drawn = new int[count];
+            Arrays.fill(drawn, snapshot.size());
+            return drawn;
+        }, CommandSelector::new, 1);
+        FairnessVerifier verifier = new FairnessVerifier(FairnessVerifier.Strategy.batch());
+
+        assertThrows(IllegalStateException.class, () -> foreign.verify(orders, 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(new Orders(), 10, 1));
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(orders, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(orders, new double[2], 10, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FairnessVerifier(FairnessVerifier.Strategy.batch(), CommandSelector::new, 0));
+    }
+
+    @Test
+    void statistics_matchTabulatedCriticalValues() {
+        assertEquals(0.05, FairnessReport.chiSquarePValue(3.841, 1), 1e-3);
+        assertEquals(0.05, FairnessReport.chiSquarePValue(18.307, 10), 1e-3);
+        assertEquals(0.01, FairnessReport.chiSquarePValue(135.807, 100), 1e-3);
+        assertEquals(1.0, FairnessReport.chiSquarePValue(0.0, 3), 1e-12);
+        assertEquals(0.05, FairnessReport.kolmogorovPValue(1.358 / Math.sqrt(1e12), 1e12), 1e-3);
+        assertEquals(0.01, FairnessReport.kolmogorovPValue(1.628 / Math.sqrt(1e12), 1e12), 1e-3);
+        assertEquals(Math.log(24), FairnessReport.logGamma(5), 1e-9);
+    }
+}
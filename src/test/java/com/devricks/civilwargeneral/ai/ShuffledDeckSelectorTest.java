@@ -0,0 +1,110 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.metrics.Metrics;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShuffledDeckSelectorTest {
+
+    private static Orders catalog() {
+        return new Orders(List.of(
+                new Order("Attack", "Attack the enemy", 1),
+                new Order("Defend", "Defend the base", 2),
+                new Order("", "invalid", 3),
+                new Order("Retreat", "Fall back", 4),
+                new Order("Flank", "Go around", 5)));
+    }
+
+    @Test
+    void deal_dealsEveryValidOrderOncePerDeck_thenReshuffles() {
+        Orders orders = catalog();
+        ShuffledDeckSelector selector = new ShuffledDeckSelector(new SplittableRandom(1));
+
+        for (int round = 0; round < 50; round++) {
+            Set<Integer> dealt = new HashSet<>();
+            for (int i = 0; i < 4; i++) {
+                assertEquals(4 - i, selector.remaining(orders));
+                assertTrue(dealt.add(selector.randomOrderSelector(orders).getId()), "repeat in round " + round);
+            }
+            assertEquals(Set.of(1, 2, 4, 5), dealt);
+        }
+    }
+
+    @Test
+    void selectMany_spansDecks_withoutRepeatsInsideOne() {
+        Orders orders = catalog();
+        ShuffledDeckSelector selector = new ShuffledDeckSelector(new SplittableRandom(2));
+
+        List<Order> dealt = selector.selectMany(orders, 12);
+
+        assertEquals(12, dealt.size());
+        for (int deck = 0; deck < 3; deck++) {
+            Set<Order> cards = new HashSet<>(dealt.subList(deck * 4, deck * 4 + 4));
+            assertEquals(4, cards.size());
+        }
+        assertEquals(List.of(), selector.selectMany(new Orders(), 3));
+        assertThrows(IllegalArgumentException.class, () -> selector.selectMany(orders, -1));
+    }
+
+    @Test
+    void deck_startsOver_whenTheCatalogChanges_orOnReshuffle() {
+        Orders orders = catalog();
+        ShuffledDeckSelector selector = new ShuffledDeckSelector(new SplittableRandom(3));
+        selector.randomOrderSelector(orders);
+        selector.randomOrderSelector(orders);
+        assertEquals(2, selector.remaining(orders));
+
+        orders.addOrder(new Order("Hold", "Hold the line", 6));
+        assertEquals(5, selector.remaining(orders));
+
+        selector.randomOrderSelector(orders);
+        selector.reshuffle();
+        assertEquals(5, selector.remaining(orders));
+    }
+
+    @Test
+    void deal_returnsNull_withoutValidOrders() {
+        ShuffledDeckSelector selector = new ShuffledDeckSelector(new SplittableRandom(4));
+
+        assertNull(selector.randomOrderSelector(null));
+        assertNull(selector.randomOrderSelector(new Orders(List.of(new Order("", "", 0)))));
+        assertEquals(0, selector.remaining(new Orders()));
+    }
+
+    @Test
+    void deals_areRecordedInGlobalMetrics() {
+        Metrics metrics = Metrics.global();
+        long selections = metrics.histogram(Metrics.SELECTION_LATENCY).getCount();
+        long batches = metrics.histogram(Metrics.SELECTION_BATCH_LATENCY).getCount();
+        long empty = metrics.counter(Metrics.SELECTION_EMPTY).getCount();
+        ShuffledDeckSelector selector = new ShuffledDeckSelector(new SplittableRandom(5));
+
+        selector.randomOrderSelector(catalog());
+        selector.randomOrderSelector(new Orders());
+        selector.selectMany(catalog(), 6);
+        selector.selectMany(new Orders(), 2);
+
+        assertEquals(selections + 2, metrics.histogram(Metrics.SELECTION_LATENCY).getCount());
+        assertEquals(batches + 2, metrics.histogram(Metrics.SELECTION_BATCH_LATENCY).getCount());
+        assertEquals(empty + 2, metrics.counter(Metrics.SELECTION_EMPTY).getCount());
+    }
+
+    @Test
+    void deal_isUniformPerDraw() {
+        FairnessVerifier verifier = new FairnessVerifier(FairnessVerifier.Strategy.single(),
+                ShuffledDeckSelector::new, 2);
+
+        FairnessReport report = verifier.verify(catalog(), FairnessVerifier.proportional(catalog().snapshot(),
+                new double[]{1, 1, 0, 1, 1}), 400_000, 9);
+
+        assertTrue(report.passes(0.001), report::toString);
+    }
+}
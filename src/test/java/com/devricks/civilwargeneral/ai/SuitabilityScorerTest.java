@@ -0,0 +1,110 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SuitabilityScorerTest {
+
+    private static final TacticalContext.Condition[] CONDITIONS = {
+            TacticalContext.Weather.CLEAR, TacticalContext.Weather.RAIN, TacticalContext.Weather.SNOW,
+            TacticalContext.Weather.FOG, TacticalContext.Terrain.OPEN, TacticalContext.Terrain.FOREST,
+            TacticalContext.Terrain.HILL, TacticalContext.Terrain.SWAMP, TacticalContext.TimeOfDay.DAY,
+            TacticalContext.TimeOfDay.NIGHT, TacticalContext.Morale.HIGH, TacticalContext.Morale.AVERAGE,
+            TacticalContext.Morale.LOW, TacticalContext.Fatigue.FRESH, TacticalContext.Fatigue.WEARY,
+            TacticalContext.Fatigue.EXHAUSTED, TacticalContext.Supply.PLENTIFUL, TacticalContext.Supply.LIMITED,
+            TacticalContext.Supply.CRITICAL
+    };
+
+    /** A catalog whose size is not a multiple of any vector width, with one invalid order. */
+    private static Orders catalog(SuitabilityWeights weights, int size) {
+        SplittableRandom random = new SplittableRandom(17);
+        List<Order> orders = new ArrayList<>();
+        for (int id = 1; id <= size; id++) {
+            orders.add(new Order(id == 5 ? "" : "Order " + id, "Description " + id, id));
+            for (TacticalContext.Condition condition : CONDITIONS) {
+                if (random.nextInt(3) > 0) {
+                    weights.setWeight(id, condition, random.nextInt(-50, 51));
+                }
+            }
+        }
+        return new Orders(orders);
+    }
+
+    private static void assertMatchesWeights(SuitabilityScorer scorer, SuitabilityWeights weights) {
+        int[] scores = new int[scorer.size()];
+        for (int ordinal = 0; ordinal < TacticalContext.CONTEXT_COUNT; ordinal++) {
+            TacticalContext context = TacticalContext.fromOrdinal(ordinal);
+            scorer.score(context, scores);
+            for (int i = 0; i < scorer.size(); i++) {
+                assertEquals(weights.score(scorer.getOrder(i).getId(), context), scores[i],
+                        context + " order " + scorer.getOrder(i).getId());
+            }
+        }
+    }
+
+    @Test
+    void score_scalarKernel_matchesPerOrderScores() {
+        SuitabilityWeights weights = new SuitabilityWeights();
+        OrdersSnapshot snapshot = catalog(weights, 37).snapshot();
+
+        SuitabilityScorer scorer = SuitabilityScorer.compile(snapshot, weights, ScalarScoringKernel.INSTANCE);
+
+        assertEquals(36, scorer.size());
+        assertMatchesWeights(scorer, weights);
+    }
+
+    @Test
+    void score_preferredKernel_matchesPerOrderScores() {
+        SuitabilityWeights weights = new SuitabilityWeights();
+        OrdersSnapshot snapshot = catalog(weights, 101).snapshot();
+
+        assertMatchesWeights(SuitabilityScorer.compile(snapshot, weights), weights);
+    }
+
+    @Test
+    void preferredKernel_isVectorised_whenTheModuleIsResolved() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        assumeTrue(!Boolean.getBoolean(ScoringKernel.SCALAR_PROPERTY));
+
+        assertTrue(SuitabilityScorer.kernelName().startsWith("vector-"), SuitabilityScorer.kernelName());
+    }
+
+    @Test
+    void scoreAll_scoresEachContext_andUnweightedOrdersScoreZero() {
+        SuitabilityWeights weights = new SuitabilityWeights();
+        weights.setWeight(1, TacticalContext.Weather.RAIN, 4);
+        weights.setWeight(1, TacticalContext.Terrain.HILL, 3);
+        Orders orders = new Orders(List.of(new Order("Attack", "Attack the enemy", 1),
+                new Order("Defend", "Defend the base", 2)));
+        TacticalContext rainOnHill = new TacticalContext(TacticalContext.Weather.RAIN, TacticalContext.Terrain.HILL,
+                TacticalContext.TimeOfDay.DAY, TacticalContext.Morale.HIGH, TacticalContext.Fatigue.FRESH,
+                TacticalContext.Supply.PLENTIFUL);
+        TacticalContext clearOnHill = new TacticalContext(TacticalContext.Weather.CLEAR, TacticalContext.Terrain.HILL,
+                TacticalContext.TimeOfDay.DAY, TacticalContext.Morale.HIGH, TacticalContext.Fatigue.FRESH,
+                TacticalContext.Supply.PLENTIFUL);
+
+        int[][] scores = SuitabilityScorer.compile(orders.snapshot(), weights).scoreAll(List.of(rainOnHill, clearOnHill));
+
+        assertArrayEquals(new int[]{7, 0}, scores[0]);
+        assertArrayEquals(new int[]{3, 0}, scores[1]);
+    }
+
+    @Test
+    void score_rejectsShortArray_andHandlesEmptyCatalog() {
+        SuitabilityWeights weights = new SuitabilityWeights();
+        SuitabilityScorer scorer = SuitabilityScorer.compile(catalog(weights, 3).snapshot(), weights);
+        TacticalContext context = TacticalContext.fromOrdinal(0);
+
+        assertThrows(IllegalArgumentException.class, () -> scorer.score(context, new int[2]));
+        assertEquals(0, SuitabilityScorer.compile(new Orders().snapshot(), weights).score(context).length);
+    }
+}
@@ -0,0 +1,102 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.ai.TacticalContext.*;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TacticalAISelectorTest {
+
+    private static final TacticalContext SWAMP_EXHAUSTED =
+            new TacticalContext(Weather.RAIN, Terrain.SWAMP, TimeOfDay.DAY, Morale.AVERAGE, Fatigue.EXHAUSTED, Supply.LIMITED);
+    private static final TacticalContext OPEN_FRESH =
+            new TacticalContext(Weather.CLEAR, Terrain.OPEN, TimeOfDay.DAY, Morale.HIGH, Fatigue.FRESH, Supply.PLENTIFUL);
+
+    private Orders orders;
+    private SuitabilityWeights weights;
+    private TacticalAISelector selector;
+
+    @BeforeEach
+    void setUp() {
+        orders = new Orders();
+        orders.addOrder(new Order("Attack Forward", "Attack in force", 1));
+        orders.addOrder(new Order("Defend Forward", "Prepare defenses", 3));
+        orders.addOrder(new Order("Retreat Backward", "Retreat hastily", 4));
+        weights = new SuitabilityWeights();
+        weights.setWeight(1, Terrain.OPEN, 5);
+        weights.setWeight(1, Fatigue.FRESH, 3);
+        weights.setWeight(1, Terrain.SWAMP, -5);
+        weights.setWeight(4, Fatigue.EXHAUSTED, 4);
+        selector = new TacticalAISelector(weights, new SplittableRandom(1));
+    }
+
+    @Test
+    void select_picksHighestScoringOrder() {
+        assertEquals(1, selector.select(orders, OPEN_FRESH).getId());
+        assertEquals(4, selector.select(orders, SWAMP_EXHAUSTED).getId());
+    }
+
+    @Test
+    void select_breaksTiesRandomly() {
+        TacticalContext neutral =
+                new TacticalContext(Weather.SNOW, Terrain.HILL, TimeOfDay.NIGHT, Morale.LOW, Fatigue.WEARY, Supply.CRITICAL);
+        assertEquals(3, selector.tieCount(orders, neutral));
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            seen.add(selector.select(orders, neutral).getId());
+        }
+        assertEquals(Set.of(1, 3, 4), seen);
+    }
+
+    @Test
+    void compile_sharesEqualTieSetsBetweenContexts() {
+        List<Order> catalog = new ArrayList<>();
+        SuitabilityWeights tied = new SuitabilityWeights();
+        for (int id = 1; id <= 10_000; id++) {
+            catalog.add(new Order("Order " + id, "Tied order", id));
+            tied.setWeight(id, Supply.PLENTIFUL, 1);
+        }
+
+        DecisionTable table = DecisionTable.compile(catalog, tied);
+
+        assertEquals(10_000, table.storedTies());
+        assertEquals(10_000, table.tieCount(OPEN_FRESH));
+        assertEquals(10_000, table.tieCount(SWAMP_EXHAUSTED));
+        assertNotNull(table.select(SWAMP_EXHAUSTED, new SplittableRandom(1)));
+    }
+
+    @Test
+    void select_rebuildsWhenWeightsChange() {
+        assertEquals(1, selector.select(orders, OPEN_FRESH).getId());
+        weights.setWeight(3, Morale.HIGH, 100);
+        assertEquals(3, selector.select(orders, OPEN_FRESH).getId());
+    }
+
+    @Test
+    void select_rebuildsWhenOrdersChange() {
+        assertEquals(1, selector.select(orders, OPEN_FRESH).getId());
+        orders.removeOrderById(1);
+        Order selected = selector.select(orders, OPEN_FRESH);
+        assertNotNull(selected);
+        assertNotEquals(1, selected.getId());
+    }
+
+    @Test
+    void select_skipsInvalidOrders_andReturnsNullWhenNoneAreValid() {
+        Orders invalidOnly = new Orders();
+        invalidOnly.addOrder(null);
+        invalidOnly.addOrder(new Order("", "", 0));
+        assertNull(selector.select(invalidOnly, OPEN_FRESH));
+        assertNull(selector.select(null, OPEN_FRESH));
+        assertNull(selector.select(orders, null));
+    }
+}
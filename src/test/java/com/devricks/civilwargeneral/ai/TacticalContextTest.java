@@ -0,0 +1,51 @@
+package com.devricks.civilwargeneral.ai;
+
+import com.devricks.civilwargeneral.ai.TacticalContext.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TacticalContextTest {
+
+    @Test
+    void contextSpace_has864Combinations() {
+        assertEquals(864, TacticalContext.CONTEXT_COUNT);
+        assertEquals(19, TacticalContext.FEATURE_COUNT);
+    }
+
+    @Test
+    void ordinal_roundTripsForEveryContext() {
+        for (int ordinal = 0; ordinal < TacticalContext.CONTEXT_COUNT; ordinal++) {
+            assertEquals(ordinal, TacticalContext.fromOrdinal(ordinal).ordinal());
+        }
+        assertThrows(IllegalArgumentException.class, () -> TacticalContext.fromOrdinal(-1));
+        assertThrows(IllegalArgumentException.class, () -> TacticalContext.fromOrdinal(TacticalContext.CONTEXT_COUNT));
+    }
+
+    @Test
+    void featureIndices_areDistinctAcrossConditions() {
+        Set<Integer> seen = new HashSet<>();
+        for (TacticalContext.Condition[] values : new TacticalContext.Condition[][]{
+                Weather.values(), Terrain.values(), TimeOfDay.values(),
+                Morale.values(), Fatigue.values(), Supply.values()}) {
+            for (TacticalContext.Condition value : values) {
+                int index = value.featureIndex();
+                assertTrue(index >= 0 && index < TacticalContext.FEATURE_COUNT);
+                assertTrue(seen.add(index), "duplicate feature index for " + value);
+            }
+        }
+    }
+
+    @Test
+    void equals_comparesAllConditions() {
+        var a = new TacticalContext(Weather.FOG, Terrain.HILL, TimeOfDay.NIGHT, Morale.LOW, Fatigue.WEARY, Supply.LIMITED);
+        var b = new TacticalContext(Weather.FOG, Terrain.HILL, TimeOfDay.NIGHT, Morale.LOW, Fatigue.WEARY, Supply.LIMITED);
+        var c = new TacticalContext(Weather.FOG, Terrain.HILL, TimeOfDay.DAY, Morale.LOW, Fatigue.WEARY, Supply.LIMITED);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, c);
+    }
+}
@@ -0,0 +1,75 @@
+package com.devricks.civilwargeneral.controllers;
+
+import com.devricks.civilwargeneral.ai.TacticalContext;
+import com.devricks.civilwargeneral.history.CommandJournal;
+import com.devricks.civilwargeneral.history.HistoryIndex;
+import com.devricks.civilwargeneral.orders.Order;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilteredHistoryModelTest {
+
+    private static final Order ATTACK = new Order("Attack", "Attack the enemy", 1);
+    private static final Order DEFEND = new Order("Defend", "Defend the base", 2);
+    private static final int FOGGY_NIGHT = new TacticalContext(TacticalContext.Weather.FOG, TacticalContext.Terrain.OPEN,
+            TacticalContext.TimeOfDay.NIGHT, TacticalContext.Morale.LOW, TacticalContext.Fatigue.FRESH,
+            TacticalContext.Supply.PLENTIFUL).ordinal();
+
+    @Test
+    void setFilter_replacesContentsInOneChange() {
+        HistoryIndex index = new HistoryIndex();
+        index.append(ATTACK, FOGGY_NIGHT);
+        index.append(DEFEND, FOGGY_NIGHT);
+        index.append(ATTACK, CommandJournal.NO_CONTEXT);
+        FilteredHistoryModel model = new FilteredHistoryModel(index);
+        List<String> changes = new ArrayList<>();
+        model.addListener((ListChangeListener<Order>) c -> {
+            while (c.next()) {
+                changes.add(c.getRemovedSize() + "/" + c.getAddedSize());
+            }
+        });
+
+        model.setFilter(1, TacticalContext.Weather.FOG);
+
+        assertEquals(List.of("3/1"), changes);
+        assertEquals(List.of(ATTACK), model);
+    }
+
+    @Test
+    void unfilteredView_followsTheIndex_andCanBeRestored() {
+        HistoryIndex index = new HistoryIndex();
+        index.append(ATTACK, FOGGY_NIGHT);
+        FilteredHistoryModel model = new FilteredHistoryModel(index);
+
+        model.appendAll(List.of(DEFEND, ATTACK), CommandJournal.NO_CONTEXT);
+        assertEquals(List.of(ATTACK, DEFEND, ATTACK), model);
+
+        model.setFilter(2);
+        assertEquals(List.of(DEFEND), model);
+        model.setFilter(HistoryIndex.ANY_ORDER);
+        assertEquals(List.of(ATTACK, DEFEND, ATTACK), model);
+    }
+
+    @Test
+    void appendAll_addsOnlyMatchingCommands() {
+        FilteredHistoryModel model = new FilteredHistoryModel(new HistoryIndex());
+        model.setFilter(HistoryIndex.ANY_ORDER, TacticalContext.TimeOfDay.NIGHT);
+        List<Integer> added = new ArrayList<>();
+        model.addListener((ListChangeListener<Order>) c -> {
+            while (c.next()) {
+                added.add(c.getAddedSize());
+            }
+        });
+
+        model.appendAll(List.of(ATTACK, DEFEND), FOGGY_NIGHT);
+        model.append(ATTACK, CommandJournal.NO_CONTEXT);
+
+        assertEquals(List.of(2), added);
+        assertEquals(List.of(ATTACK, DEFEND), model);
+    }
+}
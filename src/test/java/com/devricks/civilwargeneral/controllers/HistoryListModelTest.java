@@ -0,0 +1,119 @@
+package com.devricks.civilwargeneral.controllers;
+
+import com.devricks.civilwargeneral.history.CommandHistory;
+import com.devricks.civilwargeneral.orders.Order;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryListModelTest {
+
+    private static Order order(int id) {
+        return new Order("Order " + id, "Description " + id, id);
+    }
+
+    @Test
+    void append_firesSingleAddition_untilFull() {
+        HistoryListModel model = new HistoryListModel(new CommandHistory(2));
+        List<String> changes = new ArrayList<>();
+        model.addListener((ListChangeListener<Order>) c -> {
+            while (c.next()) {
+                changes.add((c.wasRemoved() ? "-" + c.getRemoved() : "") + (c.wasAdded() ? "+" + c.getAddedSubList() : ""));
+            }
+        });
+
+        model.append(order(1));
+
+        assertEquals(List.of("+" + List.of(order(1))), changes);
+        assertEquals(List.of(order(1)), model);
+    }
+
+    @Test
+    void append_whenFull_reportsEvictionAndAddition() {
+        HistoryListModel model = new HistoryListModel(new CommandHistory(2));
+        model.append(order(1));
+        model.append(order(2));
+        List<ListChangeListener.Change<? extends Order>> seen = new ArrayList<>();
+        List<Order> removed = new ArrayList<>();
+        List<Order> added = new ArrayList<>();
+        model.addListener((ListChangeListener<Order>) c -> {
+            seen.add(c);
+            while (c.next()) {
+                removed.addAll(c.getRemoved());
+                added.addAll(c.getAddedSubList());
+            }
+        });
+
+        model.append(order(3));
+
+        assertEquals(1, seen.size());
+        assertEquals(List.of(order(1)), removed);
+        assertEquals(List.of(order(3)), added);
+        assertEquals(List.of(order(2), order(3)), model);
+    }
+
+    @Test
+    void clear_removesEverything() {
+        HistoryListModel model = new HistoryListModel(new CommandHistory(3));
+        model.append(order(1));
+        model.append(order(2));
+        List<Order> removed = new ArrayList<>();
+        model.addListener((ListChangeListener<Order>) c -> {
+            while (c.next()) {
+                removed.addAll(c.getRemoved());
+            }
+        });
+
+        model.clear();
+
+        assertTrue(model.isEmpty());
+        assertEquals(List.of(order(1), order(2)), removed);
+    }
+
+    @Test
+    void appendAll_firesOneChange_forEvictionsAndAdditions() {
+        HistoryListModel model = new HistoryListModel(new CommandHistory(4));
+        model.append(order(1));
+        model.append(order(2));
+        model.append(order(3));
+        List<String> changes = new ArrayList<>();
+        model.addListener((ListChangeListener<Order>) c -> {
+            StringBuilder change = new StringBuilder();
+            while (c.next()) {
+                change.append(c.getRemoved().stream().map(Order::getId).toList())
+                        .append(c.getAddedSubList().stream().map(Order::getId).toList());
+            }
+            changes.add(change.toString());
+        });
+
+        model.appendAll(Arrays.asList(order(4), null, order(5), order(6)));
+
+        assertEquals(List.of("[1, 2][][][4, 5, 6]"), changes);
+        assertEquals(List.of(order(3), order(4), order(5), order(6)), model);
+    }
+
+    @Test
+    void appendAll_largerThanCapacity_keepsNewestEntries() {
+        HistoryListModel model = new HistoryListModel(new CommandHistory(2));
+        model.append(order(1));
+        List<Order> removed = new ArrayList<>();
+        List<Order> added = new ArrayList<>();
+        model.addListener((ListChangeListener<Order>) c -> {
+            while (c.next()) {
+                removed.addAll(c.getRemoved());
+                added.addAll(c.getAddedSubList());
+            }
+        });
+
+        model.appendAll(List.of(order(2), order(3), order(4)));
+
+        assertEquals(List.of(order(1)), removed);
+        assertEquals(List.of(order(3), order(4)), added);
+        assertEquals(List.of(order(3), order(4)), model);
+    }
+}
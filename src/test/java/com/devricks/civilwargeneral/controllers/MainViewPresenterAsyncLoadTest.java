@@ -0,0 +1,144 @@
+package com.devricks.civilwargeneral.controllers;
+
+import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersLoadException;
+import com.devricks.civilwargeneral.orders.OrdersLoader;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MainViewPresenterAsyncLoadTest {
+    @Mock
+    MainViewUI ui;
+    @Mock
+    OrdersLoader loader;
+    @Mock
+    Orders orders;
+    @Mock
+    CommandSelector selector;
+
+    final Queue<Runnable> uiTasks = new ArrayDeque<>();
+    final Executor uiExecutor = uiTasks::add;
+    final Executor loadExecutor = Runnable::run;
+    MainViewPresenter presenter;
+
+    @BeforeEach
+    void setUp() {
+        presenter = new MainViewPresenter(ui, loader, selector, loadExecutor, uiExecutor);
+    }
+
+    private void runUiTasks() {
+        Runnable task;
+        while ((task = uiTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    void initialize_keepsGenerationDisabled_untilLoadCompletes() {
+        CompletableFuture<Orders> pending = new CompletableFuture<>();
+        when(loader.loadDefaultsAsync(loadExecutor)).thenReturn(pending);
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(new Order("A", "D", 1), new Order("B", "D", 2)), 1));
+
+        presenter.initialize();
+
+        InOrder inOrder = inOrder(ui);
+        inOrder.verify(ui).clearList();
+        inOrder.verify(ui).setGeneratedEnabled(false);
+        inOrder.verify(ui).showStatus("Loading orders...");
+        presenter.onGenerateClicked();
+        verifyNoInteractions(selector);
+
+        pending.complete(orders);
+        runUiTasks();
+
+        verify(ui).setGeneratedEnabled(true);
+        verify(ui).showStatus("Loaded 2 orders");
+    }
+
+    @Test
+    void initialize_reportsSkippedInvalidOrders_inStatus() {
+        when(loader.loadDefaultsAsync(loadExecutor)).thenReturn(CompletableFuture.completedFuture(orders));
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(
+                List.of(new Order("A", "D", 1), new Order("", "D", 2), new Order("C", "D", 3)), 1));
+
+        presenter.initialize();
+        runUiTasks();
+
+        verify(ui).setGeneratedEnabled(true);
+        verify(ui).showStatus("Loaded 2 orders (1 invalid skipped)");
+    }
+
+    @Test
+    void initialize_keepsButtonDisabled_whenNoLoadedOrderIsValid() {
+        when(loader.loadDefaultsAsync(loadExecutor)).thenReturn(CompletableFuture.completedFuture(orders));
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(new Order("", "D", 1)), 1));
+
+        presenter.initialize();
+        runUiTasks();
+
+        verify(ui, never()).setGeneratedEnabled(true);
+        verify(ui).showStatus("Loaded 0 orders (1 invalid skipped)");
+    }
+
+    @Test
+    void initialize_surfacesFailure_onUiExecutor() {
+        when(loader.loadDefaultsAsync(loadExecutor))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(new OrdersLoadException("boom"))));
+
+        presenter.initialize();
+        verify(ui, never()).showStatus(startsWith("Failed"));
+        runUiTasks();
+
+        verify(ui, times(2)).setGeneratedEnabled(false);
+        verify(ui).showStatus("Failed to load orders: boom");
+    }
+
+    @Test
+    void initialize_ignoresSupersededLoad() {
+        CompletableFuture<Orders> first = new CompletableFuture<>();
+        CompletableFuture<Orders> second = new CompletableFuture<>();
+        when(loader.loadDefaultsAsync(loadExecutor)).thenReturn(first, second);
+
+        presenter.initialize();
+        presenter.initialize();
+        first.complete(orders);
+        runUiTasks();
+
+        verify(ui, never()).setGeneratedEnabled(true);
+        verify(orders, never()).snapshot();
+    }
+
+    @Test
+    void loadDefaultsAsync_runsLoaderOnExecutor_andWrapsFailures() throws Exception {
+        OrdersLoader failing = () -> {
+            throw new OrdersLoadException("missing");
+        };
+        Queue<Runnable> background = new ArrayDeque<>();
+
+        CompletableFuture<Orders> future = failing.loadDefaultsAsync(background::add);
+
+        assertFalse(future.isDone());
+        background.poll().run();
+        CompletionException ex = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(OrdersLoadException.class, ex.getCause());
+    }
+}
@@ -4,13 +4,18 @@ import com.devricks.civilwargeneral.ai.CommandSelector;
 import com.devricks.civilwargeneral.orders.Order;
 import com.devricks.civilwargeneral.orders.Orders;
 import com.devricks.civilwargeneral.orders.OrdersLoader;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.Mockito.*;
 
@@ -36,7 +41,7 @@ class MainViewPresenterGenerateTest {
     void onGenerateClicked_appends_selected_order_when_available() throws Exception {
         var order = new Order();
         when(loader.loadDefaults()).thenReturn(orders);
-        when(orders.getAllOrders()).thenReturn(List.of(order));
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(order), 1));
         when(selector.randomOrderSelector(orders)).thenReturn(order);
 
         presenter.initialize();
@@ -48,7 +53,7 @@ class MainViewPresenterGenerateTest {
     @Test
     void onGenerateClicked_does_nothing_when_no_orders() throws Exception {
         when(loader.loadDefaults()).thenReturn(orders);
-        when(orders.getAllOrders()).thenReturn(List.of());
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(), 1));
 
         presenter.initialize();
         presenter.onGenerateClicked();
@@ -60,7 +65,7 @@ class MainViewPresenterGenerateTest {
     void onGenerateClicked_ignores_null_selection() throws Exception {
         var order = new Order();
         when(loader.loadDefaults()).thenReturn(orders);
-        when(orders.getAllOrders()).thenReturn(List.of(order));
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(order), 1));
         when(selector.randomOrderSelector(orders)).thenReturn(null);
 
         presenter.initialize();
@@ -68,4 +73,37 @@ class MainViewPresenterGenerateTest {
 
         verify(ui, never()).addOrder(any());
     }
+
+    @Test
+    void onGenerateBatch_addsAllDrawsInOneUpdate() throws Exception {
+        var first = new Order("A", "D", 1);
+        var second = new Order("B", "D", 2);
+        when(loader.loadDefaults()).thenReturn(orders);
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(first, second), 1));
+        when(selector.selectMany(orders, 3)).thenReturn(Arrays.asList(first, null, second));
+
+        presenter.initialize();
+        presenter.onGenerateBatch(3);
+
+        verify(ui).addOrders(Arrays.asList(first, null, second));
+        verify(ui, never()).addOrder(any());
+    }
+
+    @Test
+    void onGenerateBatch_async_deliversThroughDispatcher() throws Exception {
+        var first = new Order("A", "D", 1);
+        Queue<Runnable> pulses = new ArrayDeque<>();
+        presenter = new MainViewPresenter(ui, loader, selector, Runnable::run, pulses::add);
+        when(loader.loadDefaultsAsync(any())).thenReturn(CompletableFuture.completedFuture(orders));
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(first), 1));
+        when(selector.selectMany(orders, 2)).thenReturn(List.of(first, first));
+        presenter.initialize();
+        pulses.poll().run();
+
+        presenter.onGenerateBatch(2);
+
+        verify(ui, never()).addOrders(any());
+        pulses.poll().run();
+        verify(ui).addOrders(List.of(first, first));
+    }
 }
@@ -5,6 +5,7 @@ import com.devricks.civilwargeneral.orders.Order;
 import com.devricks.civilwargeneral.orders.Orders;
 import com.devricks.civilwargeneral.orders.OrdersLoadException;
 import com.devricks.civilwargeneral.orders.OrdersLoader;
+import com.devricks.civilwargeneral.orders.OrdersSnapshot;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
@@ -32,7 +33,7 @@ class MainViewPresenterInitializeTest {
 
     @Test
     void initialize_clearsList_and_enablesButton_whenDefaultsPresent() throws Exception {
-        when(orders.getAllOrders()).thenReturn(List.of(new Order(/*...*/)));
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(new Order("A", "D", 1)), 1));
         when(loader.loadDefaults()).thenReturn(orders);
 
         presenter.initialize();
@@ -45,7 +46,7 @@ class MainViewPresenterInitializeTest {
 
     @Test
     void initialize_disablesButton_whenNoOrdersLoaded() throws Exception {
-        when(orders.getAllOrders()).thenReturn(List.of());
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(), 1));
         when(loader.loadDefaults()).thenReturn(orders);
 
         presenter.initialize();
@@ -54,6 +55,16 @@ class MainViewPresenterInitializeTest {
         verify(ui).setGeneratedEnabled(false);
     }
 
+    @Test
+    void initialize_disablesButton_whenNoLoadedOrderIsValid() throws Exception {
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(new Order("", "D", 1), new Order("B", "", 2)), 1));
+        when(loader.loadDefaults()).thenReturn(orders);
+
+        presenter.initialize();
+
+        verify(ui).setGeneratedEnabled(false);
+    }
+
     @Test
     void initialize_disablesButton_onLoadFailure() throws Exception {
         when(loader.loadDefaults()).thenThrow(new OrdersLoadException("boom", null));
@@ -66,7 +77,7 @@ class MainViewPresenterInitializeTest {
 
     @Test
     void initialize_is_idempotent_calls_loader_each_time() throws Exception {
-        when(orders.getAllOrders()).thenReturn(List.of(new Order(/*...*/)));
+        when(orders.snapshot()).thenReturn(new OrdersSnapshot(List.of(new Order(/*...*/)), 1));
         when(loader.loadDefaults()).thenReturn(orders);
 
         presenter.initialize();
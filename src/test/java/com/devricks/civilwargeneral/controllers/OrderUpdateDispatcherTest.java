@@ -0,0 +1,121 @@
+package com.devricks.civilwargeneral.controllers;
+
+import com.devricks.civilwargeneral.orders.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderUpdateDispatcherTest {
+    @Mock
+    MainViewUI ui;
+
+    final Queue<Runnable> uiTasks = new ConcurrentLinkedQueue<>();
+
+    private static Order order(int id) {
+        return new Order("Order " + id, "Description " + id, id);
+    }
+
+    private void runUiTasks() {
+        Runnable task;
+        while ((task = uiTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    void submissionsBeforeAFlush_areDeliveredAsOneBatch() {
+        OrderUpdateDispatcher dispatcher = new OrderUpdateDispatcher(ui, uiTasks::add);
+
+        dispatcher.submit(order(1));
+        dispatcher.submitAll(Arrays.asList(order(2), null, order(3)));
+        dispatcher.submit(null);
+
+        assertEquals(1, uiTasks.size());
+        runUiTasks();
+        verify(ui).addOrders(List.of(order(1), order(2), order(3)));
+        verifyNoMoreInteractions(ui);
+    }
+
+    @Test
+    void submissionsAfterAFlush_scheduleANewFlush() {
+        OrderUpdateDispatcher dispatcher = new OrderUpdateDispatcher(ui, uiTasks::add);
+        dispatcher.submit(order(1));
+        runUiTasks();
+
+        dispatcher.submit(order(2));
+
+        assertEquals(1, uiTasks.size());
+        runUiTasks();
+        verify(ui).addOrders(List.of(order(2)));
+    }
+
+    @Test
+    void nothingSubmitted_schedulesNothing() {
+        OrderUpdateDispatcher dispatcher = new OrderUpdateDispatcher(ui, uiTasks::add);
+
+        dispatcher.submitAll(Arrays.asList(null, null));
+
+        assertTrue(uiTasks.isEmpty());
+    }
+
+    @Test
+    void concurrentProducers_loseNoOrders() throws Exception {
+        List<Order> delivered = new ArrayList<>();
+        MainViewUI collecting = new MainViewUI() {
+            @Override
+            public void clearList() {
+            }
+
+            @Override
+            public void setGeneratedEnabled(boolean enabled) {
+            }
+
+            @Override
+            public void showStatus(String message) {
+            }
+
+            @Override
+            public void addOrder(Order order) {
+                delivered.add(order);
+            }
+        };
+        ExecutorService uiThread = Executors.newSingleThreadExecutor();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        try {
+            OrderUpdateDispatcher dispatcher = new OrderUpdateDispatcher(collecting, uiThread);
+            CountDownLatch done = new CountDownLatch(4);
+            for (int p = 0; p < 4; p++) {
+                int base = p * 1000;
+                producers.execute(() -> {
+                    for (int i = 1; i <= 1000; i++) {
+                        dispatcher.submit(order(base + i));
+                    }
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            uiThread.submit(() -> { }).get(10, TimeUnit.SECONDS);
+            uiThread.submit(() -> { }).get(10, TimeUnit.SECONDS);
+        } finally {
+            producers.shutdownNow();
+            uiThread.shutdown();
+            assertTrue(uiThread.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(4000, delivered.size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.devricks.civilwargeneral.events;
+
+import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.controllers.MainView;
+import com.devricks.civilwargeneral.controllers.MainViewPresenter;
+import com.devricks.civilwargeneral.controllers.MainViewUI;
+import com.devricks.civilwargeneral.orders.BinaryCatalog;
+import com.devricks.civilwargeneral.orders.BinaryOrdersLoader;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.devricks.civilwargeneral.orders.OrdersLoadException;
+import com.devricks.civilwargeneral.orders.OrdersLoaderImplementation;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FlightEventsTest {
+
+    @TempDir
+    Path dir;
+
+    private List<RecordedEvent> record(Class<? extends Event> type, ThrowingRunnable action) throws Exception {
+        Path file = dir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(type).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        String name = type.getAnnotation(jdk.jfr.Name.class).value();
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .toList();
+    }
+
+    @Test
+    void selection_recordsCatalogSizeAndChosenId() throws Exception {
+        Orders orders = new Orders(List.of(new Order("Attack", "Attack the enemy", 7)));
+        CommandSelector selector = new CommandSelector(new SplittableRandom(1));
+
+        List<RecordedEvent> events = record(OrderSelectionEvent.class, () -> {
+            selector.randomOrderSelector(orders);
+            selector.selectMany(orders, 5);
+        });
+
+        assertEquals(2, events.size());
+        assertEquals(1, events.get(0).getInt("catalogSize"));
+        assertEquals(7, events.get(0).getInt("orderId"));
+        assertEquals(1, events.get(0).getInt("count"));
+        assertEquals(5, events.get(1).getInt("count"));
+        assertEquals(0, events.get(1).getInt("orderId"));
+    }
+
+    @Test
+    void catalogLoad_recordsSourceBytesAndRecords() throws Exception {
+        Path catalog = dir.resolve("orders.cwgc");
+        BinaryCatalog.write(List.of(new Order("Attack", "Attack the enemy", 1),
+                new Order("Defend", "Defend the base", 2)), catalog);
+
+        List<RecordedEvent> events = record(CatalogLoadEvent.class, () -> {
+            new BinaryOrdersLoader(catalog).loadDefaults();
+            new OrdersLoaderImplementation().loadDefaults();
+            assertThrows(OrdersLoadException.class, () -> new BinaryOrdersLoader(dir.resolve("missing")).loadDefaults());
+        });
+
+        assertEquals(3, events.size());
+        assertEquals(catalog.toString(), events.get(0).getString("source"));
+        assertEquals(Files.size(catalog), events.get(0).getLong("bytes"));
+        assertEquals(2, events.get(0).getInt("records"));
+        assertNull(events.get(0).getString("failure"));
+        assertTrue(events.get(1).getLong("bytes") > 0);
+        assertTrue(events.get(1).getInt("records") > 0);
+        assertNotNull(events.get(2).getString("failure"));
+    }
+
+    @Test
+    void historyAppend_recordsBatchSizeAndEvictions() throws Exception {
+        MainView view = new MainView();
+
+        List<RecordedEvent> events = record(HistoryAppendEvent.class, () -> {
+            view.addOrder(new Order("Attack", "Attack the enemy", 1));
+            view.addOrders(List.of(new Order("Defend", "Defend the base", 2), new Order("Hold", "Hold the line", 3)));
+        });
+
+        assertEquals(2, events.size());
+        assertEquals(1, events.get(0).getInt("batchSize"));
+        assertEquals(2, events.get(1).getInt("batchSize"));
+        assertEquals(0, events.get(1).getInt("evicted"));
+        assertEquals(3, events.get(1).getInt("historyLength"));
+    }
+
+    @Test
+    void presenterInitialize_recordsCatalogSize() throws Exception {
+        MainViewPresenter presenter = new MainViewPresenter(mock(MainViewUI.class),
+                () -> new Orders(List.of(new Order("Attack", "Attack the enemy", 1))), new CommandSelector());
+
+        List<RecordedEvent> events = record(PresenterInitializeEvent.class, presenter::initialize);
+
+        assertEquals(1, events.size());
+        assertFalse(events.get(0).getBoolean("asynchronous"));
+        assertTrue(events.get(0).getBoolean("succeeded"));
+        assertEquals(1, events.get(0).getInt("catalogSize"));
+    }
+
+    @Test
+    void disabledEvents_areNotCommitted() {
+        OrderSelectionEvent event = new OrderSelectionEvent();
+        event.begin();
+        event.complete(1, 1, 1);
+
+        assertFalse(event.isEnabled());
+        assertFalse(event.shouldCommit());
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
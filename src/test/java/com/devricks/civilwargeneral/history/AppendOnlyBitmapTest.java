@@ -0,0 +1,79 @@
+package com.devricks.civilwargeneral.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppendOnlyBitmapTest {
+
+    private static AppendOnlyBitmap randomBitmap(SplittableRandom random, int limit, double density, BitSet expected) {
+        AppendOnlyBitmap bitmap = new AppendOnlyBitmap();
+        for (int position = 0; position < limit; position++) {
+            if (random.nextDouble() < density) {
+                bitmap.add(position);
+                expected.set(position);
+            }
+        }
+        return bitmap;
+    }
+
+    @Test
+    void add_and_contains_acrossChunks() {
+        AppendOnlyBitmap bitmap = new AppendOnlyBitmap();
+        bitmap.add(3);
+        bitmap.add(70_000);
+        bitmap.add(1 << 30);
+
+        assertTrue(bitmap.contains(3));
+        assertTrue(bitmap.contains(70_000));
+        assertTrue(bitmap.contains(1 << 30));
+        assertFalse(bitmap.contains(4));
+        assertEquals(3, bitmap.cardinality());
+        assertArrayEquals(new int[]{3, 70_000, 1 << 30}, bitmap.toArray());
+    }
+
+    @Test
+    void add_requiresIncreasingPositions() {
+        AppendOnlyBitmap bitmap = new AppendOnlyBitmap();
+        bitmap.add(5);
+
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(5));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(2));
+    }
+
+    @Test
+    void denseChunks_switchToWords_withoutLosingEntries() {
+        AppendOnlyBitmap bitmap = new AppendOnlyBitmap();
+        for (int position = 0; position < 10_000; position += 2) {
+            bitmap.add(position);
+        }
+
+        assertEquals(5_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_998));
+        assertFalse(bitmap.contains(9_999));
+        assertEquals(5_000, bitmap.toArray().length);
+    }
+
+    @Test
+    void and_matchesBitSetIntersection_forMixedDensities() {
+        SplittableRandom random = new SplittableRandom(7);
+        BitSet sparse = new BitSet();
+        BitSet dense = new BitSet();
+        BitSet denser = new BitSet();
+        AppendOnlyBitmap a = randomBitmap(random, 300_000, 0.01, sparse);
+        AppendOnlyBitmap b = randomBitmap(random, 300_000, 0.4, dense);
+        AppendOnlyBitmap c = randomBitmap(random, 300_000, 0.7, denser);
+
+        BitSet expected = (BitSet) sparse.clone();
+        expected.and(dense);
+        expected.and(denser);
+        assertArrayEquals(expected.stream().toArray(), AppendOnlyBitmap.and(new AppendOnlyBitmap[]{a, b, c}));
+
+        BitSet denseOnly = (BitSet) dense.clone();
+        denseOnly.and(denser);
+        assertArrayEquals(denseOnly.stream().toArray(), AppendOnlyBitmap.and(new AppendOnlyBitmap[]{b, c}));
+    }
+}
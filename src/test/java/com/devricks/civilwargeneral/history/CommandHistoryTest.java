@@ -0,0 +1,131 @@
+package com.devricks.civilwargeneral.history;
+
+import com.devricks.civilwargeneral.orders.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandHistoryTest {
+
+    @TempDir
+    Path dir;
+
+    private static Order order(int id) {
+        return new Order("Order " + id, "Description " + id, id);
+    }
+
+    @Test
+    void append_keepsEntriesOldestFirst_untilFull() {
+        CommandHistory history = new CommandHistory(3);
+
+        assertNull(history.append(order(1)));
+        assertNull(history.append(order(2)));
+
+        assertEquals(2, history.size());
+        assertEquals(order(1), history.get(0));
+        assertEquals(2, history.getId(1));
+    }
+
+    @Test
+    void append_evictsOldest_whenFull() {
+        CommandHistory history = new CommandHistory(3);
+        for (int id = 1; id <= 3; id++) {
+            history.append(order(id));
+        }
+
+        Order evicted = history.append(order(4));
+
+        assertEquals(order(1), evicted);
+        assertEquals(3, history.size());
+        assertEquals(order(2), history.get(0));
+        assertEquals(order(4), history.get(2));
+        assertEquals(4, history.totalAppended());
+    }
+
+    @Test
+    void append_sameId_keepsEachAppendedInstance() {
+        CommandHistory history = new CommandHistory(4);
+        Order attack = new Order("Attack", "Attack the enemy", 3);
+        Order retreat = new Order("Retreat", "Fall back", 3);
+
+        history.append(attack);
+        history.append(retreat);
+
+        assertSame(attack, history.get(0));
+        assertSame(retreat, history.get(1));
+        assertEquals(3, history.getId(0));
+    }
+
+    @Test
+    void append_afterReloadEditedOrder_evictsTheIssuedOrder() {
+        CommandHistory history = new CommandHistory(2);
+        Order original = order(7);
+        history.append(original);
+        history.append(order(8));
+
+        Order evicted = history.append(new Order("Edited", "Description 7", 7));
+
+        assertSame(original, evicted);
+        assertEquals("Edited", history.get(1).getName());
+    }
+
+    @Test
+    void get_outOfRange_throws() {
+        CommandHistory history = new CommandHistory(2);
+        history.append(order(1));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(1));
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CommandHistory(0));
+    }
+
+    @Test
+    void clear_emptiesHistory_withoutSpilling() throws Exception {
+        try (CommandHistory history = new CommandHistory(2, dir.resolve("history.bin"))) {
+            history.append(order(1));
+            history.append(order(2));
+
+            history.clear();
+
+            assertEquals(0, history.size());
+            assertEquals(0, history.spilledCount());
+        }
+    }
+
+    @Test
+    void evictedEntries_areSpilledAndReadable() throws Exception {
+        Path spill = dir.resolve("history.bin");
+        try (CommandHistory history = new CommandHistory(2, spill)) {
+            for (int id = 1; id <= 2000; id++) {
+                history.append(order(id));
+            }
+
+            assertEquals(1998, history.spilledCount());
+            assertArrayEquals(new int[] {1, 2, 3}, history.readSpilled(0, 3));
+            assertArrayEquals(new int[] {1998}, history.readSpilled(1997, 10));
+        }
+        assertEquals(1998L * Integer.BYTES, Files.size(spill));
+
+        try (CommandHistory reopened = new CommandHistory(2, spill)) {
+            assertEquals(1998, reopened.spilledCount());
+            reopened.append(order(1));
+            reopened.append(order(2));
+            reopened.append(order(3));
+            assertArrayEquals(new int[] {1998, 1}, reopened.readSpilled(1997, 2));
+        }
+    }
+
+    @Test
+    void readSpilled_withoutSpillFile_throws() {
+        CommandHistory history = new CommandHistory(2);
+
+        assertThrows(IllegalStateException.class, () -> history.readSpilled(0, 1));
+    }
+}
@@ -0,0 +1,133 @@
+package com.devricks.civilwargeneral.history;
+
+import com.devricks.civilwargeneral.orders.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<long[]> replayAll(Path dir) throws IOException {
+        List<long[]> records = new ArrayList<>();
+        CommandJournal.replay(dir, (timestamp, orderId, context, version) ->
+                records.add(new long[]{timestamp, orderId, context, version}));
+        return records;
+    }
+
+    private static long segmentCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void appendedRecords_areReplayedInOrder() throws Exception {
+        try (CommandJournal journal = CommandJournal.open(dir)) {
+            journal.append(1000, 7, CommandJournal.NO_CONTEXT, 1);
+            journal.append(2000, 8, 42, 2);
+            assertEquals(2, journal.size());
+        }
+
+        List<long[]> records = replayAll(dir);
+
+        assertEquals(2, records.size());
+        assertArrayEquals(new long[]{1000, 7, -1, 1}, records.get(0));
+        assertArrayEquals(new long[]{2000, 8, 42, 2}, records.get(1));
+    }
+
+    @Test
+    void fullSegments_rollToNewFiles() throws Exception {
+        try (CommandJournal journal = CommandJournal.open(dir, 4)) {
+            for (int i = 1; i <= 10; i++) {
+                journal.append(i, i, 0, 1);
+            }
+        }
+
+        assertEquals(3, segmentCount(dir));
+        List<long[]> records = replayAll(dir);
+        assertEquals(10, records.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + 1, records.get(i)[1]);
+        }
+    }
+
+    @Test
+    void reopening_continuesAfterLastRecord() throws Exception {
+        try (CommandJournal journal = CommandJournal.open(dir, 4)) {
+            journal.append(1, 1, 0, 1);
+            journal.append(2, 2, 0, 1);
+        }
+        try (CommandJournal journal = CommandJournal.open(dir, 4)) {
+            assertEquals(2, journal.size());
+            journal.append(3, 3, 0, 1);
+            journal.append(4, 4, 0, 1);
+            journal.append(5, 5, 0, 1);
+            assertEquals(5, journal.size());
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), replayAll(dir).stream().map(r -> r[1]).toList());
+    }
+
+    @Test
+    void replayTail_readsOnlyTheLastRecords() throws Exception {
+        try (CommandJournal journal = CommandJournal.open(dir, 4)) {
+            for (int i = 1; i <= 10; i++) {
+                journal.append(i, i, 0, 1);
+            }
+        }
+        List<Integer> ids = new ArrayList<>();
+
+        long visited = CommandJournal.replayTail(dir, 5, (timestamp, orderId, context, version) -> ids.add(orderId));
+
+        assertEquals(5, visited);
+        assertEquals(List.of(6, 7, 8, 9, 10), ids);
+    }
+
+    @Test
+    void replay_ofMissingDirectory_isEmpty() throws Exception {
+        assertEquals(0, CommandJournal.replay(dir.resolve("missing"), (t, o, c, v) -> fail()));
+    }
+
+    @Test
+    void nonJournalSegment_isRejected() throws Exception {
+        Files.write(dir.resolve("00000000000000000000.journal"), new byte[64]);
+
+        assertThrows(IOException.class, () -> CommandJournal.open(dir));
+    }
+
+    @Test
+    void nonPositiveTimestamp_isRejected() throws Exception {
+        try (CommandJournal journal = CommandJournal.open(dir)) {
+            assertThrows(IllegalArgumentException.class, () -> journal.append(0, 1, 0, 1));
+        }
+    }
+
+    @Test
+    void recorder_writesOffTheCallingThread_andFlushesOnClose() throws Exception {
+        Order attack = new Order("Attack", "Attack the enemy", 1);
+        Order defend = new Order("Defend", "Defend the base", 2);
+        try (CommandRecorder recorder = new CommandRecorder(CommandJournal.open(dir), 3)) {
+            recorder.record(attack, 5);
+            recorder.recordAll(Arrays.asList(defend, null, attack), CommandJournal.NO_CONTEXT);
+            recorder.record(null, 0);
+        }
+
+        List<long[]> records = replayAll(dir);
+        assertEquals(List.of(1L, 2L, 1L), records.stream().map(r -> r[1]).toList());
+        assertEquals(5, records.get(0)[2]);
+        assertEquals(3, records.get(2)[3]);
+        assertTrue(records.get(0)[0] > 0);
+    }
+}
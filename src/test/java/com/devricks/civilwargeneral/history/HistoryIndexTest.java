@@ -0,0 +1,110 @@
+package com.devricks.civilwargeneral.history;
+
+import com.devricks.civilwargeneral.ai.TacticalContext;
+import com.devricks.civilwargeneral.ai.TacticalContext.Fatigue;
+import com.devricks.civilwargeneral.ai.TacticalContext.Morale;
+import com.devricks.civilwargeneral.ai.TacticalContext.Supply;
+import com.devricks.civilwargeneral.ai.TacticalContext.Terrain;
+import com.devricks.civilwargeneral.ai.TacticalContext.TimeOfDay;
+import com.devricks.civilwargeneral.ai.TacticalContext.Weather;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryIndexTest {
+
+    private static final Order ATTACK = new Order("Attack", "Attack the enemy", 1);
+    private static final Order DEFEND = new Order("Defend", "Defend the base", 2);
+    private static final Order HOLD = new Order("Hold", "Hold the line", 3);
+
+    @TempDir
+    Path dir;
+
+    private static int context(Weather weather, TimeOfDay time, Morale morale) {
+        return new TacticalContext(weather, Terrain.OPEN, time, morale, Fatigue.FRESH, Supply.PLENTIFUL).ordinal();
+    }
+
+    @Test
+    void find_intersectsOrderAndConditions() {
+        HistoryIndex index = new HistoryIndex();
+        index.append(HOLD, context(Weather.FOG, TimeOfDay.NIGHT, Morale.LOW));
+        index.append(HOLD, context(Weather.FOG, TimeOfDay.DAY, Morale.LOW));
+        index.append(ATTACK, context(Weather.FOG, TimeOfDay.NIGHT, Morale.LOW));
+        index.append(HOLD, CommandJournal.NO_CONTEXT);
+        index.append(HOLD, context(Weather.FOG, TimeOfDay.NIGHT, Morale.LOW));
+
+        assertArrayEquals(new int[]{0, 4}, index.find(3, Weather.FOG, TimeOfDay.NIGHT, Morale.LOW));
+        assertArrayEquals(new int[]{0, 1, 3, 4}, index.find(3));
+        assertArrayEquals(new int[]{0, 2, 4}, index.find(HistoryIndex.ANY_ORDER, TimeOfDay.NIGHT));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, index.find(HistoryIndex.ANY_ORDER));
+        assertArrayEquals(new int[0], index.find(99));
+        assertSame(ATTACK, index.get(2));
+    }
+
+    @Test
+    void get_resolvesToTheInstanceAppendedAtThatPosition() {
+        HistoryIndex index = new HistoryIndex();
+        index.append(HOLD, CommandJournal.NO_CONTEXT);
+        Order edited = new Order("Hold fast", "Hold the line at all costs", HOLD.getId());
+
+        index.append(edited, CommandJournal.NO_CONTEXT);
+        index.append(HOLD, CommandJournal.NO_CONTEXT);
+
+        assertSame(HOLD, index.get(0));
+        assertSame(edited, index.get(1));
+        assertSame(HOLD, index.get(2));
+        assertEquals(HOLD.getId(), index.getOrderId(1));
+        assertArrayEquals(new int[]{0, 1, 2}, index.find(HOLD.getId()));
+    }
+
+    @Test
+    void matches_agreesWithFind() {
+        SplittableRandom random = new SplittableRandom(3);
+        HistoryIndex index = new HistoryIndex();
+        List<Order> orders = List.of(ATTACK, DEFEND, HOLD);
+        for (int i = 0; i < 50_000; i++) {
+            index.append(orders.get(random.nextInt(3)), random.nextInt(-1, TacticalContext.CONTEXT_COUNT));
+        }
+
+        int[] found = index.find(2, Weather.RAIN, Morale.HIGH);
+
+        int matching = 0;
+        for (int position = 0; position < index.size(); position++) {
+            if (index.matches(position, 2, Weather.RAIN, Morale.HIGH)) {
+                assertEquals(position, found[matching++]);
+            }
+        }
+        assertEquals(found.length, matching);
+        assertTrue(matching > 0);
+    }
+
+    @Test
+    void append_rejectsInvalidContext() {
+        HistoryIndex index = new HistoryIndex();
+
+        assertThrows(IllegalArgumentException.class, () -> index.append(ATTACK, TacticalContext.CONTEXT_COUNT));
+    }
+
+    @Test
+    void fromJournal_resolvesOrdersThroughCatalog() throws Exception {
+        try (CommandJournal journal = CommandJournal.open(dir)) {
+            journal.append(1, 1, context(Weather.SNOW, TimeOfDay.DAY, Morale.HIGH), 1);
+            journal.append(2, 42, CommandJournal.NO_CONTEXT, 1);
+            journal.append(3, 2, CommandJournal.NO_CONTEXT, 1);
+        }
+
+        HistoryIndex index = HistoryIndex.fromJournal(dir, new Orders(List.of(ATTACK, DEFEND)));
+
+        assertEquals(2, index.size());
+        assertEquals(ATTACK, index.get(0));
+        assertEquals(DEFEND, index.get(1));
+        assertArrayEquals(new int[]{0}, index.find(HistoryIndex.ANY_ORDER, Weather.SNOW));
+    }
+}
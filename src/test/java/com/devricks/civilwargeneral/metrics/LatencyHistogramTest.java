@@ -0,0 +1,58 @@
+package com.devricks.civilwargeneral.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogram_reportsZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.getP99Nanos());
+    }
+
+    @Test
+    void record_tracksCountMeanAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-5);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(133, histogram.getMeanNanos());
+        assertEquals(300, histogram.getMaxNanos());
+    }
+
+    @Test
+    void percentiles_areWithinAFactorOfTwo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(1_000_000);
+        histogram.record(2_000_000);
+
+        long p50 = histogram.getP50Nanos();
+        long p99 = histogram.getP99Nanos();
+
+        assertTrue(p50 >= 1_000 && p50 <= 2_000, "p50 " + p50);
+        assertTrue(p99 >= 1_000_000 && p99 <= 2_000_000, "p99 " + p99);
+        assertEquals(2_000_000, histogram.percentile(1.0));
+    }
+
+    @Test
+    void reset_discardsSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+    }
+}
@@ -0,0 +1,47 @@
+package com.devricks.civilwargeneral.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    void metricsAreCreatedOncePerName() {
+        Metrics metrics = new Metrics();
+
+        assertSame(metrics.histogram("a"), metrics.histogram("a"));
+        assertSame(metrics.counter("b"), metrics.counter("b"));
+        assertSame(metrics.gauge("c"), metrics.gauge("c"));
+    }
+
+    @Test
+    void nameClash_betweenTypes_isRejected() {
+        Metrics metrics = new Metrics();
+        metrics.counter("x");
+
+        assertThrows(IllegalArgumentException.class, () -> metrics.gauge("x"));
+    }
+
+    @Test
+    void publish_registersExistingAndLaterMetrics() throws Exception {
+        Metrics metrics = new Metrics();
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        metrics.counter("selection.invalid").add(3);
+
+        metrics.publish(server);
+        metrics.gauge("history.length").set(12);
+        metrics.histogram("load").record(1_000);
+        metrics.publish(server);
+
+        assertEquals(3L, server.getAttribute(
+                Metrics.objectName("selection.invalid", metrics.counter("selection.invalid")), "Count"));
+        assertEquals(12L, server.getAttribute(
+                Metrics.objectName("history.length", metrics.gauge("history.length")), "Value"));
+        assertEquals(1L, server.getAttribute(
+                Metrics.objectName("load", metrics.histogram("load")), "Count"));
+    }
+}
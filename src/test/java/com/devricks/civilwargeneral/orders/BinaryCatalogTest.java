@@ -0,0 +1,145 @@
+package com.devricks.civilwargeneral.orders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCatalogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void write_thenOpen_roundTripsOrders() throws Exception {
+        List<Order> orders = List.of(
+                new Order("Attack", "Advance on the enemy", 1),
+                new Order("Hold", "Hold the line", 2),
+                new Order("Feint", "Ünterstützung — fake an advance", 3));
+        Path file = dir.resolve("orders.cwgc");
+
+        BinaryCatalog.write(orders, file);
+        BinaryCatalog catalog = BinaryCatalog.open(file);
+
+        assertEquals(3, catalog.size());
+        assertEquals(2, catalog.getId(1));
+        assertEquals(orders, catalog.asList());
+    }
+
+    @Test
+    void write_deduplicatesStrings() throws Exception {
+        List<Order> orders = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            orders.add(new Order(id % 2 == 0 ? "Hold" : "Attack", "Shared description", id));
+        }
+        Path file = dir.resolve("orders.cwgc");
+
+        BinaryCatalog.write(orders, file);
+        BinaryCatalog catalog = BinaryCatalog.open(file);
+
+        assertEquals(3, catalog.stringCount());
+        assertSame(catalog.get(0).getDescription(), catalog.get(99).getDescription());
+    }
+
+    @Test
+    void convert_streamsValidatedJson() throws Exception {
+        Path json = dir.resolve("orders.json");
+        Files.writeString(json, "[{\"name\": \"A\", \"description\": \"D\", \"id\": 1}, {\"name\": \"B\", \"description\": \"D\", \"id\": 2}]");
+        Path file = dir.resolve("orders.cwgc");
+
+        int converted = BinaryCatalog.convert(json, file);
+
+        assertEquals(2, converted);
+        assertEquals(List.of(new Order("A", "D", 1), new Order("B", "D", 2)), BinaryCatalog.open(file).asList());
+    }
+
+    @Test
+    void convert_invalidJson_leavesNoOutput() throws Exception {
+        Path json = dir.resolve("orders.json");
+        Files.writeString(json, "[{\"name\": \"A\", \"description\": \"D\", \"id\": 1}, {\"name\": \"B\", \"description\": \"D\", \"id\": 1}]");
+        Path file = dir.resolve("orders.cwgc");
+
+        assertThrows(OrdersLoadException.class, () -> BinaryCatalog.convert(json, file));
+
+        assertFalse(Files.exists(file));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void open_rejectsFilesThatAreNotCatalogs() throws Exception {
+        Path file = dir.resolve("orders.json");
+        Files.writeString(file, "[{\"name\": \"A\", \"description\": \"D\", \"id\": 1}]", StandardCharsets.UTF_8);
+
+        OrdersLoadException ex = assertThrows(OrdersLoadException.class, () -> BinaryCatalog.open(file));
+
+        assertTrue(ex.getMessage().contains("bad magic"), ex.getMessage());
+    }
+
+    @Test
+    void open_rejectsTablesPointingOutsideTheFile() throws Exception {
+        Path file = dir.resolve("orders.cwgc");
+        BinaryCatalog.write(List.of(new Order("Hold", "Hold the line", 4)), file);
+        byte[] valid = Files.readAllBytes(file);
+        int stringsOffset = (int) ByteBuffer.wrap(valid).getLong(24);
+
+        byte[] badLength = valid.clone();
+        ByteBuffer.wrap(badLength).putInt(stringsOffset + 4, 1 << 20);
+        Files.write(file, badLength);
+        OrdersLoadException ex = assertThrows(OrdersLoadException.class, () -> BinaryCatalog.open(file));
+        assertTrue(ex.getMessage().contains("string 0"), ex.getMessage());
+
+        byte[] badIndex = valid.clone();
+        ByteBuffer.wrap(badIndex).putInt(32 + 4, 7);
+        Files.write(file, badIndex);
+        ex = assertThrows(OrdersLoadException.class, () -> new BinaryOrdersLoader(file).loadDefaults());
+        assertTrue(ex.getMessage().contains("record 0"), ex.getMessage());
+    }
+
+    @Test
+    void loader_readsCatalogInPlace_untilModified() throws Exception {
+        Path file = dir.resolve("orders.cwgc");
+        BinaryCatalog.write(List.of(
+                new Order("Hold", "Hold the line", 4),
+                new Order("", "No name", 5),
+                new Order("Attack", "Advance", 0),
+                new Order("Feint", "Fake an advance", 4)), file);
+
+        Orders orders = new BinaryOrdersLoader(file).loadDefaults();
+        OrdersSnapshot loaded = orders.snapshot();
+
+        assertEquals(4, loaded.size());
+        assertEquals(2, loaded.validCount());
+        assertEquals(5, loaded.getId(1));
+        assertEquals(2, loaded.getValidationReport().getInvalidCount());
+        assertArrayEquals(new int[]{4}, orders.getDuplicateIds());
+        assertEquals("Hold", orders.getOrderById(4).orElseThrow().getName());
+        assertSame(loaded, orders.snapshot());
+
+        orders.addOrder(new Order("Flank", "Go around", 6));
+        orders.removeOrderById(5);
+
+        assertEquals(4, loaded.size());
+        assertEquals(List.of(4, 0, 4, 6), orders.getAllOrders().stream().map(Order::getId).toList());
+        assertEquals("Go around", orders.getOrderById(6).orElseThrow().getDescription());
+    }
+
+    @Test
+    void loader_returnsOrdersFromCatalog() throws Exception {
+        Path file = dir.resolve("orders.cwgc");
+        BinaryCatalog.write(List.of(new Order("Hold", "Hold the line", 4)), file);
+
+        Orders orders = new BinaryOrdersLoader(file).loadDefaults();
+
+        assertEquals(List.of(new Order("Hold", "Hold the line", 4)), orders.getAllOrders());
+        assertTrue(orders.getOrderById(4).isPresent());
+    }
+}
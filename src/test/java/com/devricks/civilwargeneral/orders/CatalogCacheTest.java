@@ -0,0 +1,198 @@
+package com.devricks.civilwargeneral.orders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCacheTest {
+
+    private static final String DEFAULTS_PATH = "/com/devricks/civilwargeneral/default-orders.json";
+
+    @TempDir
+    Path dir;
+
+    private static List<Order> catalog(int size) {
+        List<Order> orders = new ArrayList<>();
+        for (int id = 1; id <= size; id++) {
+            orders.add(new Order("Order " + id, "Description " + id, id));
+        }
+        return orders;
+    }
+
+    @Test
+    void sameSourceAndStamp_isParsedOnce() throws Exception {
+        CatalogCache cache = new CatalogCache(4);
+        AtomicInteger parses = new AtomicInteger();
+
+        OrdersSnapshot first = cache.get("a", 1, () -> { parses.incrementAndGet(); return catalog(2); });
+        OrdersSnapshot second = cache.get("a", 1, () -> { parses.incrementAndGet(); return catalog(2); });
+
+        assertSame(first, second);
+        assertEquals(1, parses.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void newStamp_replacesTheEntry() throws Exception {
+        CatalogCache cache = new CatalogCache(4);
+        cache.get("a", 1, () -> catalog(1));
+
+        OrdersSnapshot updated = cache.get("a", 2, () -> catalog(3));
+
+        assertEquals(3, updated.size());
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void leastRecentlyUsed_isEvicted() throws Exception {
+        CatalogCache cache = new CatalogCache(2);
+        AtomicInteger parses = new AtomicInteger();
+        CatalogCache.Parser parser = () -> { parses.incrementAndGet(); return catalog(1); };
+        cache.get("a", 0, parser);
+        cache.get("b", 0, parser);
+        cache.get("a", 0, parser);
+
+        cache.get("c", 0, parser);
+        cache.get("a", 0, parser);
+        cache.get("b", 0, parser);
+
+        assertEquals(4, parses.get());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void failedParse_isNotCached() throws Exception {
+        CatalogCache cache = new CatalogCache(2);
+
+        assertThrows(OrdersLoadException.class, () -> cache.get("a", 0, () -> { throw new OrdersLoadException("bad"); }));
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.get("a", 0, () -> catalog(1)).size());
+    }
+
+    @Test
+    void parserError_isNotCached_andReleasesWaiters() throws Exception {
+        CatalogCache cache = new CatalogCache(2);
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newCachedThreadPool()) {
+            Future<?> owner = executor.submit(() -> cache.get("a", 0, () -> {
+                parsing.countDown();
+                while (waiting.getCount() > 0) {
+                    Thread.onSpinWait();
+                }
+                throw new StackOverflowError("deep");
+            }));
+            parsing.await();
+            Future<?> waiter = executor.submit(() -> cache.get("a", 0, () -> catalog(1)));
+            while (cache.getHitCount() == 0) {
+                Thread.sleep(1);
+            }
+            waiting.countDown();
+
+            assertInstanceOf(StackOverflowError.class,
+                    assertThrows(ExecutionException.class, () -> owner.get(5, TimeUnit.SECONDS)).getCause());
+            assertInstanceOf(StackOverflowError.class,
+                    assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS)).getCause());
+        }
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.get("a", 0, () -> catalog(1)).size());
+    }
+
+    @Test
+    void concurrentRequests_waitForOneParse() throws Exception {
+        CatalogCache cache = new CatalogCache(2);
+        AtomicInteger parses = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<OrdersSnapshot>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> cache.get("a", 0, () -> {
+                    parses.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new OrdersLoadException("interrupted", e);
+                    }
+                    return catalog(5);
+                })));
+            }
+            Thread.sleep(50);
+            release.countDown();
+            OrdersSnapshot first = results.get(0).get();
+            for (Future<OrdersSnapshot> result : results) {
+                assertSame(first, result.get());
+            }
+            assertEquals(1, parses.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void getFile_reparsesWhenTheFileChanges() throws Exception {
+        CatalogCache cache = new CatalogCache(2);
+        Path file = Files.writeString(dir.resolve("orders.json"),
+                "[{\"id\":1,\"name\":\"Attack\",\"description\":\"Attack the enemy\"}]");
+        assertEquals(1, cache.getFile(file).size());
+        assertEquals(1, cache.getFile(file).size());
+
+        Files.writeString(file, "[{\"id\":1,\"name\":\"Attack\",\"description\":\"Attack the enemy\"},"
+                + "{\"id\":2,\"name\":\"Defend\",\"description\":\"Defend the base\"}]");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+
+        assertEquals(2, cache.getFile(file).size());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void cachingLoader_returnsIndependentOrders_overOneParse() throws Exception {
+        CatalogCache cache = new CatalogCache(2);
+        OrdersLoader loader = new OrdersLoaderImplementation(DEFAULTS_PATH, cache);
+
+        Orders first = loader.loadDefaults();
+        Orders second = new OrdersLoaderImplementation(DEFAULTS_PATH, cache).loadDefaults();
+        first.removeOrderById(first.snapshot().get(0).getId());
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(first.snapshot().size() + 1, second.snapshot().size());
+    }
+
+    @Test
+    void cachingLoader_sharesSnapshotAndReport_untilModified() throws Exception {
+        CatalogCache cache = new CatalogCache(2);
+
+        Orders first = new OrdersLoaderImplementation(DEFAULTS_PATH, cache).loadDefaults();
+        Orders second = new OrdersLoaderImplementation(DEFAULTS_PATH, cache).loadDefaults();
+        OrdersSnapshot shared = first.snapshot();
+
+        assertSame(shared, second.snapshot());
+        assertSame(shared.getValidationReport(), second.snapshot().getValidationReport());
+        assertSame(shared.get(0), first.getOrderById(shared.get(0).getId()).orElseThrow());
+
+        first.addOrder(new Order("Hold", "Hold the line", 10_000));
+
+        assertNotSame(shared, first.snapshot());
+        assertEquals(shared.size() + 1, first.snapshot().size());
+        assertSame(shared, second.snapshot());
+    }
+}
@@ -0,0 +1,63 @@
+package com.devricks.civilwargeneral.orders;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIdIndexTest {
+
+    @Test
+    void putIfAbsent_keepsFirstSlot() {
+        OrderIdIndex index = new OrderIdIndex(0);
+        assertEquals(-1, index.putIfAbsent(7, 0));
+        assertEquals(0, index.putIfAbsent(7, 5));
+        assertEquals(0, index.get(7));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void handlesZeroAndNegativeIds() {
+        OrderIdIndex index = new OrderIdIndex(4);
+        index.putIfAbsent(0, 1);
+        index.putIfAbsent(-1, 2);
+        assertEquals(1, index.get(0));
+        assertEquals(2, index.get(-1));
+        assertEquals(-1, index.get(1));
+    }
+
+    @Test
+    void randomOperations_matchHashMap() {
+        OrderIdIndex index = new OrderIdIndex(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(99);
+        for (int i = 0; i < 200_000; i++) {
+            int id = random.nextInt(5_000) - 100;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    Integer previous = expected.putIfAbsent(id, i);
+                    assertEquals(previous == null ? -1 : previous, index.putIfAbsent(id, i));
+                }
+                case 1 -> {
+                    Integer previous = expected.remove(id);
+                    assertEquals(previous == null ? -1 : previous, index.remove(id));
+                }
+                default -> assertEquals(expected.getOrDefault(id, -1), index.get(id));
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        expected.forEach((id, slot) -> assertEquals(slot, index.get(id)));
+    }
+
+    @Test
+    void replace_repointsExistingId() {
+        OrderIdIndex index = new OrderIdIndex(0);
+        index.putIfAbsent(3, 0);
+        index.replace(3, 9);
+        assertEquals(9, index.get(3));
+        assertThrows(IllegalStateException.class, () -> index.replace(4, 1));
+    }
+}
@@ -0,0 +1,148 @@
+package com.devricks.civilwargeneral.orders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderTableTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void table_storesOrdersByValue_andPoolsRepeatedStrings() {
+        List<Order> source = new ArrayList<>();
+        for (int id = 1; id <= 1000; id++) {
+            source.add(new Order("Order " + id, "Boilerplate description " + (id % 3), id));
+        }
+
+        OrderTable table = new OrderTable(source);
+
+        assertEquals(source, table);
+        assertEquals(1003, table.distinctStrings());
+        assertNotSame(table.get(0), table.get(0));
+        assertEquals("Order 7", table.getName(6));
+        assertEquals("Boilerplate description 1", table.getDescription(6));
+        assertEquals(7, table.getId(6));
+    }
+
+    @Test
+    void table_keepsNullsInvalidOrdersAndUnicode() {
+        OrderTable table = new OrderTable(Arrays.asList(
+                new Order("Défendre", "Tenir la ligne — à tout prix", 1),
+                null,
+                new Order(null, "", 3),
+                new Order("Empty", "", 4)));
+
+        assertEquals("Défendre", table.get(0).getName());
+        assertEquals("Tenir la ligne — à tout prix", table.getDescription(0));
+        assertNull(table.get(1));
+        assertNull(table.get(2).getName());
+        assertEquals("", table.get(2).getDescription());
+        assertTrue(table.isValid(0));
+        assertFalse(table.isValid(1));
+        assertFalse(table.isValid(2));
+        assertFalse(table.isValid(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(4));
+    }
+
+    @Test
+    void table_supportsListModifications() {
+        OrderTable table = new OrderTable();
+        table.add(new Order("A", "D", 1));
+        table.add(new Order("C", "D", 3));
+        table.add(1, new Order("B", "D", 2));
+
+        assertEquals(new Order("A", "D", 1), table.set(0, new Order("Z", "D", 26)));
+        assertEquals(new Order("B", "D", 2), table.remove(1));
+        assertTrue(table.removeIf(order -> order.getId() == 3));
+        assertFalse(table.removeIf(order -> order.getId() == 3));
+
+        assertEquals(List.of(new Order("Z", "D", 26)), table);
+    }
+
+    @Test
+    void frozen_isUnaffectedByLaterChanges() {
+        OrderTable table = new OrderTable(List.of(new Order("A", "D", 1), new Order("B", "D", 2)));
+        List<Order> frozen = table.frozen();
+
+        table.set(0, new Order("X", "Y", 9));
+        for (int id = 10; id < 5000; id++) {
+            table.add(new Order("Name " + id, "Text " + id, id));
+        }
+        table.remove(1);
+
+        assertEquals(List.of(new Order("A", "D", 1), new Order("B", "D", 2)), frozen);
+        assertThrows(UnsupportedOperationException.class, () -> frozen.add(new Order("C", "D", 3)));
+    }
+
+    @Test
+    void columnarOrders_behaveLikeOrders() {
+        Orders orders = Orders.columnar();
+        assertTrue(orders.isColumnar());
+        assertTrue(orders.addOrder(new Order("A", "D", 1)));
+        assertTrue(orders.addOrder(new Order("B", "D", 2)));
+        assertFalse(orders.addOrder(new Order("C", "D", 1)));
+        orders.addOrder(null);
+        OrdersSnapshot before = orders.snapshot();
+
+        assertEquals("A", orders.getOrderById(1).orElseThrow().getName());
+        assertArrayEquals(new int[]{1}, orders.getDuplicateIds());
+        orders.removeOrderById(1);
+
+        assertEquals(4, before.size());
+        assertEquals(List.of(new Order("B", "D", 2)), orders.snapshot().getOrders().subList(0, 1));
+        assertEquals(2, orders.snapshot().size());
+        assertTrue(orders.getOrderById(1).isEmpty());
+    }
+
+    @Test
+    void columnarOrders_applyDiffsAndLoadFromFiles() throws Exception {
+        Orders orders = Orders.columnar(List.of(new Order("A", "D", 1), new Order("B", "D", 2)));
+
+        orders.apply(OrdersDiff.between(orders.snapshot().getOrders(),
+                List.of(new Order("A2", "D", 1), new Order("C", "D", 3))));
+
+        assertEquals(2, orders.snapshot().size());
+        assertEquals("A2", orders.getOrderById(1).orElseThrow().getName());
+        assertEquals("C", orders.getOrderById(3).orElseThrow().getName());
+        assertTrue(orders.getOrderById(2).isEmpty());
+
+        Path file = dir.resolve("orders.json");
+        Files.writeString(file, "[{\"name\":\"Hold\",\"description\":\"Hold the line\",\"id\":5}]");
+        orders.loadFromPath(file);
+
+        assertEquals(List.of(new Order("Hold", "Hold the line", 5)), orders.snapshot().getOrders());
+        assertEquals(5, orders.getOrderById(5).orElseThrow().getId());
+    }
+
+    @Test
+    void loaders_createColumnarOrders_whenConfigured() throws Exception {
+        Path file = dir.resolve("orders.json");
+        Files.writeString(file, "[{\"name\":\"Hold\",\"description\":\"Hold the line\",\"id\":5}]");
+
+        System.setProperty(Orders.COLUMNAR_PROPERTY, "true");
+        try (WatchingOrdersLoader loader = new WatchingOrdersLoader(file)) {
+            assertTrue(Orders.createDefault().isColumnar());
+            Orders loaded = loader.loadDefaults();
+            assertTrue(loaded.isColumnar());
+            assertEquals(5, loaded.snapshot().getId(0));
+
+            Orders cached = new OrdersLoaderImplementation("/com/devricks/civilwargeneral/default-orders.json",
+                    new CatalogCache(1)).loadDefaults();
+            assertTrue(cached.isColumnar());
+            cached.addOrder(new Order("Hold", "Hold the line", 10_000));
+            assertEquals("Hold", cached.getOrderById(10_000).orElseThrow().getName());
+        } finally {
+            System.clearProperty(Orders.COLUMNAR_PROPERTY);
+        }
+        assertFalse(Orders.createDefault().isColumnar());
+    }
+}
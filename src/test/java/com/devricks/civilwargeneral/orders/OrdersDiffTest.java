@@ -0,0 +1,106 @@
+package com.devricks.civilwargeneral.orders;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdersDiffTest {
+
+    private static Order order(int id, String name) {
+        return new Order(name, "Description " + id, id);
+    }
+
+    @Test
+    void between_findsAddedRemovedAndChangedById() {
+        List<Order> current = List.of(order(1, "Attack"), order(2, "Defend"), order(3, "Hold"));
+        List<Order> next = List.of(order(3, "Hold"), order(2, "Retreat"), order(4, "Flank"));
+
+        OrdersDiff diff = OrdersDiff.between(current, next);
+
+        assertEquals(List.of(order(4, "Flank")), diff.getAdded());
+        assertArrayEquals(new int[]{1}, diff.getRemovedIds());
+        assertEquals(List.of(order(2, "Retreat")), diff.getChanged());
+        assertEquals("+1 -1 ~1", diff.toString());
+    }
+
+    @Test
+    void between_identicalCatalogs_isEmpty() {
+        List<Order> current = List.of(order(1, "Attack"), order(2, "Defend"));
+
+        OrdersDiff diff = OrdersDiff.between(current, List.of(order(2, "Defend"), order(1, "Attack")));
+
+        assertTrue(diff.isEmpty());
+        assertSame(OrdersDiff.empty(), diff);
+    }
+
+    @Test
+    void between_withNullsOrDuplicates_replacesTheWholeList() {
+        List<Order> current = Arrays.asList(order(1, "Attack"), null);
+        List<Order> next = Arrays.asList(null, order(1, "Attack"), order(1, "Other"));
+
+        OrdersDiff diff = OrdersDiff.between(current, next);
+
+        assertTrue(diff.isReplacement());
+        assertFalse(diff.isEmpty());
+        assertEquals(next, diff.replacement());
+        assertEquals("+0 -0 ~0 (replaced 3)", diff.toString());
+        assertTrue(OrdersDiff.between(next, next).isEmpty());
+    }
+
+    @Test
+    void apply_replacement_convergesOnTheNextCatalog() {
+        Orders orders = new Orders(List.of(order(1, "Attack"), order(2, "Defend"), order(2, "Hold")));
+        long version = orders.getVersion();
+        List<Order> next = List.of(order(1, "Attack"), order(2, "Defend"));
+
+        orders.apply(OrdersDiff.between(orders.snapshot().getOrders(), next));
+
+        assertEquals(version + 1, orders.getVersion());
+        assertEquals(next, orders.getAllOrders());
+        assertEquals(0, orders.getDuplicateIds().length);
+        assertTrue(OrdersDiff.between(orders.snapshot().getOrders(), next).isEmpty());
+    }
+
+    @Test
+    void apply_touchesOnlyAffectedEntries_inOneVersion() {
+        Order kept = order(3, "Hold");
+        Orders orders = new Orders(List.of(order(1, "Attack"), order(2, "Defend"), kept));
+        long version = orders.getVersion();
+        List<Order> next = List.of(kept, order(2, "Retreat"), order(4, "Flank"));
+
+        orders.apply(OrdersDiff.between(orders.snapshot().getOrders(), next));
+
+        assertEquals(version + 1, orders.getVersion());
+        assertTrue(orders.getOrderById(1).isEmpty());
+        assertEquals("Retreat", orders.getOrderById(2).orElseThrow().getName());
+        assertSame(kept, orders.getOrderById(3).orElseThrow());
+        assertEquals("Flank", orders.getOrderById(4).orElseThrow().getName());
+        assertEquals(3, orders.snapshot().size());
+        assertTrue(OrdersDiff.between(orders.snapshot().getOrders(), next).isEmpty());
+    }
+
+    @Test
+    void apply_emptyDiff_doesNotChangeVersion() {
+        Orders orders = new Orders(List.of(order(1, "Attack")));
+        long version = orders.getVersion();
+
+        orders.apply(OrdersDiff.empty());
+
+        assertEquals(version, orders.getVersion());
+    }
+
+    @Test
+    void apply_withDuplicateIds_replacesEveryCopy() {
+        Orders orders = new Orders(List.of(order(1, "Attack"), order(1, "Attack again"), order(2, "Defend")));
+        List<Order> next = List.of(order(1, "Charge"), order(2, "Defend"));
+
+        orders.apply(OrdersDiff.between(orders.snapshot().getOrders(), next));
+
+        assertEquals(2, orders.snapshot().size());
+        assertEquals("Charge", orders.getOrderById(1).orElseThrow().getName());
+        assertEquals(0, orders.getDuplicateIds().length);
+    }
+}
@@ -0,0 +1,154 @@
+package com.devricks.civilwargeneral.orders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdersJsonReaderTest {
+
+    private static final String DEFAULTS_PATH = "/com/devricks/civilwargeneral/default-orders.json";
+
+    private static int read(String json, OrderSink sink) throws OrdersLoadException {
+        return OrdersJsonReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "test", sink);
+    }
+
+    @Test
+    void readResource_streamsEveryDefaultOrder() throws Exception {
+        List<Order> orders = new ArrayList<>();
+
+        int accepted = OrdersJsonReader.readResource(DEFAULTS_PATH, orders::add);
+
+        assertEquals(4, accepted);
+        assertEquals(new Order("Attack Forward", "Take your unit and attack in force in a forward direction.", 1),
+                orders.get(0));
+    }
+
+    @Test
+    void read_skipsUnknownFields() throws Exception {
+        List<Order> orders = new ArrayList<>();
+
+        read("[{\"id\": 7, \"weights\": {\"FOG\": [1, 2]}, \"name\": \"Hold\", \"description\": \"Hold the line\"}]",
+                orders::add);
+
+        assertEquals(List.of(new Order("Hold", "Hold the line", 7)), orders);
+    }
+
+    @Test
+    void read_rejectsInvalidRecord_withLineAndColumn() {
+        String json = "[\n  {\"name\": \"A\", \"description\": \"D\", \"id\": 1},\n  {\"name\": \"\", \"description\": \"D\", \"id\": 2}\n]";
+
+        OrdersLoadException ex = assertThrows(OrdersLoadException.class, () -> read(json, order -> { }));
+
+        assertEquals(3, ex.getLine());
+        assertEquals(3, ex.getColumn());
+        assertTrue(ex.getMessage().contains("Order 2 has no name"), ex.getMessage());
+    }
+
+    @Test
+    void read_rejectsDuplicateIds() {
+        String json = "[{\"name\": \"A\", \"description\": \"D\", \"id\": 1}, {\"name\": \"B\", \"description\": \"D\", \"id\": 1}]";
+
+        OrdersLoadException ex = assertThrows(OrdersLoadException.class, () -> read(json, order -> { }));
+
+        assertTrue(ex.getMessage().contains("Duplicate order id: 1"), ex.getMessage());
+        assertEquals(1, ex.getLine());
+    }
+
+    @Test
+    void read_reportsMalformedJson_withPosition() {
+        OrdersLoadException ex = assertThrows(OrdersLoadException.class,
+                () -> read("[\n{\"name\": \"A\", \"id\": oops}]", order -> { }));
+
+        assertEquals(2, ex.getLine());
+        assertTrue(ex.getColumn() > 0);
+    }
+
+    @Test
+    void read_letsSinkSkipRejectedRecords() throws Exception {
+        List<Order> accepted = new ArrayList<>();
+        List<String> rejected = new ArrayList<>();
+        OrderSink lenient = new OrderSink() {
+            @Override
+            public void accept(Order order) {
+                accepted.add(order);
+            }
+
+            @Override
+            public void reject(Order order, String reason, long line, int column) {
+                rejected.add(reason);
+            }
+        };
+
+        int count = read("[null, {\"name\": \"A\", \"description\": \"D\", \"id\": -1}, {\"name\": \"B\", \"description\": \"D\", \"id\": 2}]",
+                lenient);
+
+        assertEquals(1, count);
+        assertEquals(2, accepted.get(0).getId());
+        assertEquals(List.of("Null order in test", "Order id must be positive: -1 in test"), rejected);
+    }
+
+    @Test
+    void readFile_readsFromFilesystem(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("orders.json");
+        Files.writeString(file, "[{\"name\": \"A\", \"description\": \"D\", \"id\": 5}]");
+        Orders orders = new Orders();
+
+        orders.loadFromPath(file);
+
+        assertEquals("A", orders.getOrderById(5).orElseThrow().getName());
+        assertThrows(OrdersLoadException.class, () -> orders.loadFromPath(dir.resolve("missing.json")));
+    }
+
+    @Test
+    void loadFromPath_keepsRejectedRecords_forTheValidationReport(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("orders.json");
+        Files.writeString(file, "[{\"name\": \"A\", \"description\": \"D\", \"id\": 1}, null,"
+                + " {\"name\": \"\", \"description\": \"D\", \"id\": 2},"
+                + " {\"name\": \"B\", \"description\": \"D\", \"id\": 1},"
+                + " {\"name\": \"C\", \"description\": \"D\", \"id\": 3}]");
+        Orders orders = new Orders();
+
+        orders.loadFromPath(file);
+
+        ValidationReport report = orders.snapshot().getValidationReport();
+        assertEquals(5, report.getTotal());
+        assertEquals(3, report.getValidCount());
+        assertEquals(List.of(1, 2, 3), report.getIssues().stream().map(ValidationReport.Issue::getPosition).toList());
+        assertArrayEquals(new int[]{1}, report.getDuplicateIds());
+        assertEquals("C", orders.snapshot().getValid(2).getName());
+    }
+
+    @Test
+    void loadFromPath_inStrictMode_failsOnFirstRejectedRecord(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("orders.json");
+        Files.writeString(file, "[{\"name\": \"A\", \"description\": \"D\", \"id\": 1}, null]");
+        Orders orders = new Orders();
+
+        System.setProperty(OrdersJsonReader.STRICT_PROPERTY, "true");
+        try {
+            OrdersLoadException ex = assertThrows(OrdersLoadException.class, () -> orders.loadFromPath(file));
+            assertTrue(ex.getMessage().contains("Null order in " + file), ex.getMessage());
+        } finally {
+            System.clearProperty(OrdersJsonReader.STRICT_PROPERTY);
+        }
+        assertTrue(orders.getAllOrders().isEmpty());
+    }
+
+    @Test
+    void loadFromFile_wrapsValidationFailureAsCause() {
+        Orders orders = new Orders();
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> orders.loadFromFile("/com/devricks/civilwargeneral/does-not-exist.json"));
+
+        assertInstanceOf(OrdersLoadException.class, ex.getCause());
+    }
+}
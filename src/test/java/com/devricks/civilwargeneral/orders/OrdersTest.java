@@ -2,6 +2,10 @@ package com.devricks.civilwargeneral.orders;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class OrdersTest {
@@ -40,6 +44,174 @@ class OrdersTest {
         assertTrue(orders.getOrderById(99).isEmpty());
     }
 
+    @Test
+    void addOrder_reportsDuplicateIds() {
+        Orders orders = new Orders();
+
+        assertTrue(orders.addOrder(new Order("A", "D", 1)));
+        assertTrue(orders.addOrder(new Order("B", "D", 2)));
+        assertFalse(orders.addOrder(new Order("C", "D", 1)));
+
+        assertArrayEquals(new int[]{1}, orders.getDuplicateIds());
+        assertEquals("A", orders.getOrderById(1).orElseThrow().getName());
+        assertEquals(3, orders.getAllOrders().size());
+    }
+
+    @Test
+    void removeOrderById_removesAllDuplicates() {
+        Orders orders = new Orders();
+        orders.addOrder(new Order("A", "D", 1));
+        orders.addOrder(new Order("B", "D", 2));
+        orders.addOrder(new Order("C", "D", 1));
+
+        orders.removeOrderById(1);
+
+        assertEquals(1, orders.getAllOrders().size());
+        assertTrue(orders.getOrderById(1).isEmpty());
+        assertEquals(0, orders.getDuplicateIds().length);
+        assertEquals("B", orders.getOrderById(2).orElseThrow().getName());
+    }
+
+    @Test
+    void removeOrderById_keepsIndexInSyncForMovedOrders() {
+        Orders orders = new Orders();
+        for (int id = 1; id <= 100; id++) {
+            orders.addOrder(new Order("Order " + id, "D", id));
+        }
+        orders.addOrder(null);
+
+        for (int id = 1; id <= 100; id += 3) {
+            orders.removeOrderById(id);
+        }
+        orders.removeOrderById(999);
+
+        assertEquals(67, orders.getAllOrders().size());
+        for (int id = 1; id <= 100; id++) {
+            if (id % 3 == 1) {
+                assertTrue(orders.getOrderById(id).isEmpty(), "id " + id);
+            } else {
+                assertEquals("Order " + id, orders.getOrderById(id).orElseThrow().getName());
+            }
+        }
+    }
+
+    @Test
+    void removeOrderById_keepsInsertionOrder_inEitherLayout() {
+        for (Orders orders : List.of(new Orders(), Orders.columnar())) {
+            for (int id = 1; id <= 6; id++) {
+                orders.addOrder(new Order("Order " + id, "D", id));
+            }
+            orders.addOrder(null);
+            orders.removeOrderById(2);
+            orders.removeOrderById(5);
+            orders.addOrder(new Order("Order 7", "D", 7));
+            orders.removeOrderById(1);
+
+            assertEquals(List.of(3, 4, 6, 0, 7), orders.getAllOrders().stream()
+                    .map(order -> order == null ? 0 : order.getId()).toList());
+            assertEquals("Order 6", orders.getOrderById(6).orElseThrow().getName());
+
+            orders.removeOrderById(4);
+            orders.addOrder(new Order("Order 4 again", "D", 4));
+            assertEquals(List.of(3, 6, 0, 7, 4), orders.getAllOrders().stream()
+                    .map(order -> order == null ? 0 : order.getId()).toList());
+            assertEquals("Order 4 again", orders.getOrderById(4).orElseThrow().getName());
+            assertEquals(4, orders.snapshot().positionOf(4));
+        }
+    }
+
+    @Test
+    void removeOrderById_withoutSnapshots_keepsBackingListBounded() {
+        Orders orders = new Orders();
+        for (int id = 1; id <= 1000; id++) {
+            orders.addOrder(new Order("Order " + id, "D", id));
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            int id = 1 + i % 1000;
+            orders.removeOrderById(id);
+            orders.addOrder(new Order("Order " + id, "D", id));
+            assertTrue(orders.storedSize() <= 2000, "stored " + orders.storedSize());
+        }
+
+        assertEquals(1000, orders.snapshot().size());
+        assertEquals("Order 500", orders.getOrderById(500).orElseThrow().getName());
+    }
+
+    @Test
+    void getVersion_increasesOnEveryModification() {
+        Orders orders = new Orders();
+        long initial = orders.getVersion();
+        orders.addOrder(new Order("A", "D", 1));
+        long afterAdd = orders.getVersion();
+        orders.removeOrderById(42);
+        assertEquals(afterAdd, orders.getVersion(), "Removing a missing ID is not a modification");
+        orders.removeOrderById(1);
+
+        assertTrue(afterAdd > initial);
+        assertTrue(orders.getVersion() > afterAdd);
+    }
+
+    @Test
+    void loadFromFile_indexesLoadedOrders() {
+        Orders orders = new Orders();
+        orders.loadFromFile("/com/devricks/civilwargeneral/default-orders.json");
+
+        for (Order order : orders.getAllOrders()) {
+            assertEquals(order, orders.getOrderById(order.getId()).orElseThrow());
+        }
+        assertEquals(0, orders.getDuplicateIds().length);
+    }
+
+    @Test
+    void snapshot_isReusedUntilTheNextModification() {
+        Orders orders = new Orders(List.of(new Order("A", "D", 1)));
+
+        OrdersSnapshot first = orders.snapshot();
+        assertSame(first, orders.snapshot());
+        assertEquals(1, first.size());
+
+        orders.addOrder(new Order("B", "D", 2));
+        OrdersSnapshot second = orders.snapshot();
+
+        assertNotSame(first, second);
+        assertTrue(second.getVersion() > first.getVersion());
+        assertEquals(1, first.size(), "Published snapshots never change");
+        assertEquals(2, second.size());
+        assertThrows(UnsupportedOperationException.class, () -> second.getOrders().clear());
+    }
+
+    @Test
+    void snapshot_readersSeeConsistentVersionsWhileWriterMutates() throws Exception {
+        Orders orders = new Orders();
+        int writes = 20_000;
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            long lastVersion = -1;
+            while (!done.get()) {
+                OrdersSnapshot snapshot = orders.snapshot();
+                if (snapshot.getVersion() < lastVersion) {
+                    failure.set("version went backwards");
+                }
+                // Each add bumps the version by one, so the size always equals the version.
+                if (snapshot.size() != snapshot.getVersion()) {
+                    failure.set("size " + snapshot.size() + " at version " + snapshot.getVersion());
+                }
+                lastVersion = snapshot.getVersion();
+            }
+        });
+        reader.start();
+        for (int id = 1; id <= writes; id++) {
+            orders.addOrder(new Order("Order", "D", id));
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(writes, orders.snapshot().size());
+    }
+
     @Test
     void getAllOrders() {
         Orders orders = new Orders();
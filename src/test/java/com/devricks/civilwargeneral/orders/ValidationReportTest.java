@@ -0,0 +1,144 @@
+package com.devricks.civilwargeneral.orders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationReportTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<Order> mixed() {
+        return Arrays.asList(
+                new Order("Attack", "Attack the enemy", 1),
+                null,
+                new Order("", "No name", 2),
+                new Order("Defend", "Defend the base", 3),
+                new Order(null, null, -4),
+                new Order("Attack again", "Same ID as the first", 1),
+                new Order("Hold", "", 5));
+    }
+
+    @Test
+    void compile_reportsEveryProblem_andIndexesOnlySelectableOrders() {
+        OrdersSnapshot snapshot = new Orders(mixed()).snapshot();
+
+        ValidationReport report = snapshot.getValidationReport();
+
+        assertEquals(7, report.getTotal());
+        assertEquals(3, report.getValidCount());
+        assertEquals(4, report.getInvalidCount());
+        assertFalse(report.isClean());
+        assertArrayEquals(new int[]{1}, report.getDuplicateIds());
+        List<ValidationReport.Issue> issues = report.getIssues();
+        assertEquals(List.of(1, 2, 4, 5, 6), issues.stream().map(ValidationReport.Issue::getPosition).toList());
+        assertEquals(Set.of(ValidationReport.Problem.NULL_ORDER), issues.get(0).getProblems());
+        assertEquals(Set.of(ValidationReport.Problem.MISSING_NAME), issues.get(1).getProblems());
+        assertEquals(EnumSet.of(ValidationReport.Problem.INVALID_ID, ValidationReport.Problem.MISSING_NAME,
+                ValidationReport.Problem.MISSING_DESCRIPTION), issues.get(2).getProblems());
+        assertEquals(-4, issues.get(2).getId());
+        assertEquals(Set.of(ValidationReport.Problem.DUPLICATE_ID), issues.get(3).getProblems());
+        assertFalse(issues.get(3).isSkipped());
+        assertTrue(issues.get(4).isSkipped());
+
+        assertEquals(3, snapshot.validCount());
+        assertEquals(List.of(0, 3, 5), List.of(snapshot.validPosition(0), snapshot.validPosition(1),
+                snapshot.validPosition(2)));
+        assertEquals(snapshot.get(3), snapshot.getValid(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getValid(3));
+    }
+
+    @Test
+    void compile_isCachedPerSnapshot_andRedoneAfterModification() {
+        Orders orders = new Orders(mixed());
+        OrdersSnapshot first = orders.snapshot();
+
+        assertSame(first.getValidationReport(), orders.snapshot().getValidationReport());
+
+        orders.addOrder(new Order("Flank", "Go around", 6));
+        assertEquals(4, orders.snapshot().validCount());
+        assertEquals(3, first.validCount());
+    }
+
+    @Test
+    void compile_emptyAndCleanCatalogs() {
+        assertEquals(0, OrdersSnapshot.empty().validCount());
+        assertTrue(OrdersSnapshot.empty().getValidationReport().isClean());
+
+        ValidationReport clean = new Orders(List.of(new Order("Attack", "Attack the enemy", 1),
+                new Order("Defend", "Defend the base", 2))).snapshot().getValidationReport();
+        assertTrue(clean.isClean());
+        assertEquals(2, clean.getValidCount());
+    }
+
+    @Test
+    void compile_columnarCatalog_matchesListCatalog() {
+        ValidationReport list = new Orders(mixed()).snapshot().getValidationReport();
+        ValidationReport columnar = Orders.columnar(mixed()).snapshot().getValidationReport();
+
+        assertEquals(list.getValidCount(), columnar.getValidCount());
+        assertEquals(list.getIssues().toString(), columnar.getIssues().toString());
+        assertArrayEquals(list.getDuplicateIds(), columnar.getDuplicateIds());
+    }
+
+    @Test
+    void getId_readsPositionsOfEitherLayout() {
+        OrdersSnapshot list = new Orders(mixed()).snapshot();
+        OrdersSnapshot columnar = Orders.columnar(mixed()).snapshot();
+
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(list.getId(i), columnar.getId(i), "position " + i);
+        }
+        assertEquals(0, columnar.getId(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> columnar.getId(7));
+    }
+
+    @Test
+    void positionOf_findsTheOrderGetOrderByIdResolves() {
+        Orders orders = new Orders(mixed());
+        OrdersSnapshot snapshot = orders.snapshot();
+
+        assertEquals(0, snapshot.positionOf(1));
+        assertSame(orders.getOrderById(1).orElseThrow(), snapshot.get(snapshot.positionOf(1)));
+        assertEquals(4, snapshot.positionOf(-4));
+        assertEquals(-1, snapshot.positionOf(9));
+        assertEquals(-1, OrdersSnapshot.empty().positionOf(1));
+        assertEquals(3, Orders.columnar(mixed()).snapshot().positionOf(3));
+    }
+
+    @Test
+    void jsonLoader_reportsMalformedRows_andSelectionSkipsThem() throws Exception {
+        Path file = dir.resolve("orders.json");
+        Files.writeString(file, "[{\"name\": \"Attack\", \"description\": \"Attack the enemy\", \"id\": 1},"
+                + " null, {\"name\": \"Hold\", \"description\": \"\", \"id\": 0}]");
+
+        try (WatchingOrdersLoader loader = new WatchingOrdersLoader(file)) {
+            OrdersSnapshot snapshot = loader.loadDefaults().snapshot();
+
+            assertFalse(snapshot.getValidationReport().isClean());
+            assertEquals(2, snapshot.getValidationReport().getInvalidCount());
+            assertEquals(1, snapshot.validCount());
+            assertEquals("Attack", snapshot.getValid(0).getName());
+        }
+    }
+
+    @Test
+    void binaryLoader_returnsCompiledSnapshot() throws Exception {
+        Path file = dir.resolve("orders.cwgc");
+        BinaryCatalog.write(mixed().stream().filter(order -> order != null).toList(), file);
+
+        OrdersSnapshot snapshot = new BinaryOrdersLoader(file).loadDefaults().snapshot();
+
+        assertEquals(3, snapshot.validCount());
+        assertEquals(3, snapshot.getValidationReport().getInvalidCount());
+    }
+}
@@ -0,0 +1,136 @@
+package com.devricks.civilwargeneral.orders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchingOrdersLoaderTest {
+
+    private static final String TWO_ORDERS = """
+            [{"id":1,"name":"Attack","description":"Attack the enemy"},
+             {"id":2,"name":"Defend","description":"Defend the base"}]
+            """;
+    private static final String EDITED = """
+            [{"id":2,"name":"Retreat","description":"Fall back"},
+             {"id":3,"name":"Flank","description":"Go around"}]
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reload_appliesDiffToTheSameOrders() throws Exception {
+        Path file = Files.writeString(dir.resolve("orders.json"), TWO_ORDERS);
+        try (WatchingOrdersLoader loader = new WatchingOrdersLoader(file)) {
+            Orders orders = loader.loadDefaults();
+            Files.writeString(file, EDITED);
+
+            OrdersDiff diff = loader.reload();
+
+            assertEquals("+1 -1 ~1", diff.toString());
+            assertSame(orders, loader.loadDefaults());
+            assertTrue(orders.getOrderById(1).isEmpty());
+            assertEquals("Retreat", orders.getOrderById(2).orElseThrow().getName());
+            assertTrue(orders.getOrderById(3).isPresent());
+        }
+    }
+
+    @Test
+    void reload_ofInvalidFile_keepsCurrentOrders() throws Exception {
+        Path file = Files.writeString(dir.resolve("orders.json"), TWO_ORDERS);
+        try (WatchingOrdersLoader loader = new WatchingOrdersLoader(file)) {
+            Orders orders = loader.loadDefaults();
+            long version = orders.getVersion();
+            Files.writeString(file, "[{\"id\":1,");
+
+            assertThrows(OrdersLoadException.class, loader::reload);
+            assertEquals(version, orders.getVersion());
+            assertEquals(2, orders.snapshot().size());
+        }
+    }
+
+    @Test
+    void reload_ofDuplicateAndNullRows_convergesOnTheFile() throws Exception {
+        Path file = Files.writeString(dir.resolve("orders.json"), """
+                [{"name": "Attack", "description": "Attack the enemy", "id": 1},
+                 {"name": "Defend", "description": "Defend the base", "id": 2},
+                 {"name": "Retreat", "description": "Same ID as Defend", "id": 2},
+                 null]
+                """);
+        try (WatchingOrdersLoader loader = new WatchingOrdersLoader(file)) {
+            Orders orders = loader.loadDefaults();
+            Files.writeString(file, TWO_ORDERS);
+
+            OrdersDiff diff = loader.reload();
+
+            assertTrue(diff.isReplacement());
+            assertFalse(diff.isEmpty());
+            assertEquals(new WatchingOrdersLoader(file).loadDefaults().getAllOrders(), orders.getAllOrders());
+            assertEquals(0, orders.getDuplicateIds().length);
+            assertTrue(loader.reload().isEmpty());
+        }
+    }
+
+    @Test
+    void reload_beforeLoad_isRejected() {
+        WatchingOrdersLoader loader = new WatchingOrdersLoader(dir.resolve("orders.json"));
+
+        assertThrows(IllegalStateException.class, loader::reload);
+    }
+
+    @Test
+    void fileChange_isPickedUpByTheWatcher() throws Exception {
+        Path file = Files.writeString(dir.resolve("orders.json"), TWO_ORDERS);
+        BlockingQueue<OrdersDiff> reloads = new ArrayBlockingQueue<>(8);
+        try (WatchingOrdersLoader loader = new WatchingOrdersLoader(file, Duration.ofMillis(50))) {
+            loader.setListener(reloads::add);
+            Orders orders = loader.loadDefaults();
+
+            // Replace the file the way editors that save atomically do
+            Path temp = Files.writeString(dir.resolve("orders.json.tmp"), EDITED);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            OrdersDiff diff = reloads.poll(10, TimeUnit.SECONDS);
+            assertNotNull(diff, "watcher did not reload the catalog");
+            assertFalse(diff.isEmpty());
+            assertEquals("Flank", orders.getOrderById(3).orElseThrow().getName());
+        }
+    }
+
+    @Test
+    void watcher_keepsRunning_afterTheListenerThrows() throws Exception {
+        Path file = Files.writeString(dir.resolve("orders.json"), TWO_ORDERS);
+        BlockingQueue<OrdersDiff> reloads = new ArrayBlockingQueue<>(8);
+        try (WatchingOrdersLoader loader = new WatchingOrdersLoader(file, Duration.ofMillis(50))) {
+            loader.setListener(diff -> {
+                reloads.add(diff);
+                throw new IllegalStateException("listener failed");
+            });
+            Orders orders = loader.loadDefaults();
+
+            Files.writeString(file, EDITED);
+            assertNotNull(reloads.poll(10, TimeUnit.SECONDS), "watcher did not reload the catalog");
+            Files.writeString(file, TWO_ORDERS);
+            assertNotNull(reloads.poll(10, TimeUnit.SECONDS), "watcher stopped after the listener threw");
+            assertEquals("Attack", orders.getOrderById(1).orElseThrow().getName());
+        }
+    }
+
+    @Test
+    void loadDefaults_afterClose_fails() throws Exception {
+        Path file = Files.writeString(dir.resolve("orders.json"), TWO_ORDERS);
+        WatchingOrdersLoader loader = new WatchingOrdersLoader(file);
+        loader.close();
+
+        assertThrows(OrdersLoadException.class, loader::loadDefaults);
+    }
+}
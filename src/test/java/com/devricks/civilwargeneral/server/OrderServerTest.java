@@ -0,0 +1,187 @@
+package com.devricks.civilwargeneral.server;
+
+import com.devricks.civilwargeneral.ai.CommandSelector;
+import com.devricks.civilwargeneral.orders.Order;
+import com.devricks.civilwargeneral.orders.Orders;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderServerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private OrderServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private static Orders catalog() {
+        return new Orders(Arrays.asList(
+                new Order("Attack", "Attack the enemy", 1),
+                new Order("Defend", "Defend the base", 2),
+                new Order("", "invalid", 3),
+                new Order("Retreat", "Fall back", 4),
+                new Order("Flank", "Go around", 5)));
+    }
+
+    private OrderServer start(Orders orders) throws IOException {
+        server = OrderServer.start(orders, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        return server;
+    }
+
+    private int status(String method, String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) server.getUri().resolve(path).toURL().openConnection();
+        connection.setRequestMethod(method);
+        int status = connection.getResponseCode();
+        connection.disconnect();
+        return status;
+    }
+
+    private JsonNode get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) server.getUri().resolve(path).toURL().openConnection();
+        assertEquals(200, connection.getResponseCode(), path);
+        assertTrue(connection.getContentType().startsWith("application/json"));
+        try (InputStream in = connection.getInputStream()) {
+            return MAPPER.readTree(in);
+        }
+    }
+
+    @Test
+    void select_returnsValidOrders_withRandomAndDeckStrategies() throws IOException {
+        start(catalog());
+
+        JsonNode one = get("/select");
+        assertEquals(1, one.size());
+        assertNotEquals(3, one.get(0).get("id").asInt());
+
+        JsonNode many = get("/select?count=200");
+        assertEquals(200, many.size());
+        for (JsonNode order : many) {
+            assertNotEquals(3, order.get("id").asInt());
+            assertFalse(order.get("name").asText().isEmpty());
+        }
+
+        Set<Integer> dealt = new HashSet<>();
+        for (JsonNode order : get("/select?strategy=deck&count=4")) {
+            dealt.add(order.get("id").asInt());
+        }
+        assertEquals(Set.of(1, 2, 4, 5), dealt);
+    }
+
+    @Test
+    void catalogEndpoints_describeTheSharedOrders() throws IOException {
+        Orders orders = catalog();
+        start(orders);
+
+        assertEquals(5, get("/orders").size());
+        assertEquals("Defend", get("/orders/2").get("name").asText());
+
+        JsonNode health = get("/health");
+        assertEquals("ok", health.get("status").asText());
+        assertEquals(5, health.get("orders").asInt());
+        assertEquals(4, health.get("valid").asInt());
+        assertEquals(List.of("random", "deck"), server.getStrategies());
+
+        JsonNode validation = get("/validation");
+        assertEquals(1, validation.get("invalid").asInt());
+        assertEquals(2, validation.get("issues").get(0).get("position").asInt());
+        assertEquals("MISSING_NAME", validation.get("issues").get(0).get("problems").get(0).asText());
+
+        orders.addOrder(new Order("Hold", "Hold the line", 6));
+        assertEquals(6, get("/orders").size());
+    }
+
+    @Test
+    void badRequests_areAnsweredWithErrorStatuses() throws IOException {
+        start(catalog());
+
+        assertEquals(400, status("GET", "/select?count=0"));
+        assertEquals(400, status("GET", "/select?count=" + (OrderServer.MAX_COUNT + 1)));
+        assertEquals(400, status("GET", "/select?count=many"));
+        assertEquals(400, status("GET", "/select?strategy=loaded"));
+        assertEquals(400, status("GET", "/orders/first"));
+        assertEquals(404, status("GET", "/orders/99"));
+        assertEquals(404, status("GET", "/nowhere"));
+        assertEquals(405, status("POST", "/select"));
+    }
+
+    @Test
+    void select_withoutValidOrders_isUnavailable() throws IOException {
+        start(new Orders(List.of(new Order("", "", 0))));
+
+        assertEquals(503, status("GET", "/select"));
+    }
+
+    @Test
+    void start_requiresDefaultStrategy() {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderServer.start(catalog(), address, Map.of("other", new CommandSelector())));
+    }
+
+    @Test
+    void concurrentClients_allReceiveValidOrders() throws Exception {
+        server = OrderServer.start(catalog(), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                Map.of(OrderServer.DEFAULT_STRATEGY, new CommandSelector(new SplittableRandom(1))));
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int client = 0; client < 32; client++) {
+                results.add(clients.submit(() -> {
+                    int received = 0;
+                    for (int i = 0; i < 20; i++) {
+                        for (JsonNode order : get("/select?count=3")) {
+                            assertNotEquals(3, order.get("id").asInt());
+                            received++;
+                        }
+                    }
+                    return received;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(60, result.get());
+            }
+        }
+    }
+
+    @Test
+    void close_isIdempotent_andReleasesWaiters() throws Exception {
+        start(catalog());
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                server.awaitClose();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        server.close();
+        server.close();
+        waiter.join(5_000);
+
+        assertFalse(waiter.isAlive());
+    }
+}